@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datacollection.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads telemetry logs written by {@link TelemetryWriter}, with random access to any record and export to CSV or to
+ * one binary file per column.
+ * <p>
+ * Like the writer, the records are mapped one large region at a time, so logs of any length can be read without
+ * mapping the whole file. A {@link TelemetryReader} must only be used from one thread.
+ */
+public class TelemetryReader implements Closeable {
+    private static final int FIXED_HEADER_SIZE = 32;
+    private static final long DEFAULT_REGION_SIZE = 4 << 20;
+    private static final int EXPORT_BUFFER_SIZE = 64 << 10;
+
+    private final FileChannel channel;
+    private final TelemetrySchema schema;
+    private final long headerSize;
+    private final long recordCount;
+    private final long regionRecords;
+    private MappedByteBuffer region;
+    private long regionIndex = -1;
+
+    /**
+     * Opens a telemetry log.
+     *
+     * @param file the log file
+     * @throws IOException if the file can not be read or is not a telemetry log
+     */
+    public TelemetryReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FIXED_HEADER_SIZE) {
+                throw new IOException(file + " is not a telemetry log");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong() != TelemetryWriter.MAGIC) {
+                throw new IOException(file + " is not a telemetry log");
+            }
+            int version = header.getInt();
+            if (version != TelemetryWriter.VERSION) {
+                throw new IOException("Unsupported telemetry log version " + version);
+            }
+            this.headerSize = header.getInt();
+            long storedRecordCount = header.getLong();
+            int recordSize = header.getInt();
+            int columnCount = header.getInt();
+            if (headerSize < FIXED_HEADER_SIZE || headerSize > size || recordSize <= 0 || columnCount < 0) {
+                throw new IOException("Corrupt telemetry log header");
+            }
+
+            header = channel.map(FileChannel.MapMode.READ_ONLY, 0, headerSize);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.position(FIXED_HEADER_SIZE);
+            TelemetrySchema.ColumnType[] types = TelemetrySchema.ColumnType.values();
+            TelemetrySchema.Column[] columns = new TelemetrySchema.Column[columnCount];
+            try {
+                for (int i = 0; i < columnCount; i++) {
+                    int type = header.get();
+                    if (type < 0 || type >= types.length) {
+                        throw new IOException("Unknown telemetry column type " + type);
+                    }
+                    byte[] name = new byte[header.getShort() & 0xffff];
+                    header.get(name);
+                    columns[i] = new TelemetrySchema.Column(new String(name, StandardCharsets.UTF_8), types[type]);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Corrupt telemetry log header", e);
+            }
+            this.schema = new TelemetrySchema(columns);
+            if (schema.getRecordSize() != recordSize) {
+                throw new IOException("Corrupt telemetry log header");
+            }
+            long availableRecords = (size - headerSize) / recordSize;
+            this.recordCount = Math.max(0, Math.min(storedRecordCount, availableRecords));
+            //Keep each region a whole number of records so no record spans two regions
+            this.regionRecords = Math.max(1, DEFAULT_REGION_SIZE / recordSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the byte position of a value within its mapped region, mapping the region holding the record if it
+     * isn't already.
+     */
+    private int position(long record, int column) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " out of bounds for " + recordCount + " records");
+        }
+        long index = record / regionRecords;
+        if (index != regionIndex) {
+            long start = headerSize + index * regionRecords * schema.getRecordSize();
+            long length = Math.min(regionRecords, recordCount - index * regionRecords) * schema.getRecordSize();
+            try {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            regionIndex = index;
+        }
+        return (int) (record - index * regionRecords) * schema.getRecordSize() + schema.getOffset(column);
+    }
+
+    /**
+     * Returns a value of a record, converted to a double.
+     *
+     * @param record the index of the record
+     * @param column the index of the column
+     * @return the value
+     * @throws UncheckedIOException if the region of the file holding the record can not be mapped
+     */
+    public double get(long record, int column) {
+        int position = position(record, column);
+        switch (schema.getColumn(column).getType()) {
+            case FLOAT:
+                return region.getFloat(position);
+            case LONG:
+                return region.getLong(position);
+            case INT:
+                return region.getInt(position);
+            default:
+                return region.getDouble(position);
+        }
+    }
+
+    /**
+     * Copies a record into <code>out</code>.
+     *
+     * @param record the index of the record
+     * @param out    array of at least one element per column
+     */
+    public void readRecord(long record, double[] out) {
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            out[i] = get(record, i);
+        }
+    }
+
+    /**
+     * Returns every value of a column.
+     *
+     * @param name the name of the column
+     * @return the values of the column
+     * @throws ArithmeticException if the log has more records than fit in an array
+     */
+    public double[] getColumn(String name) {
+        int column = schema.indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("No telemetry column named " + name);
+        }
+        double[] values = new double[Math.toIntExact(recordCount)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i, column);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the log as CSV with a header row of column names.
+     *
+     * @param writer the {@link Writer} to write to
+     * @throws IOException if writing fails
+     */
+    public void exportCsv(Writer writer) throws IOException {
+        BufferedWriter out = new BufferedWriter(writer);
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(schema.getColumn(i).getName());
+        }
+        out.newLine();
+        for (long record = 0; record < recordCount; record++) {
+            for (int i = 0; i < schema.getColumnCount(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                TelemetrySchema.ColumnType type = schema.getColumn(i).getType();
+                double value = get(record, i);
+                if (type == TelemetrySchema.ColumnType.LONG || type == TelemetrySchema.ColumnType.INT) {
+                    out.write(Long.toString((long) value));
+                } else {
+                    out.write(Double.toString(value));
+                }
+            }
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    public void exportCsv(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            exportCsv(writer);
+        }
+    }
+
+    /**
+     * Writes each column to its own file in <code>directory</code>, named after the column with a <code>.bin</code>
+     * extension, as little endian values of the column's type. Columnar files can be loaded straight into analysis
+     * tools without parsing.
+     *
+     * @param directory the directory to write the column files to
+     * @throws IOException if writing fails
+     */
+    public void exportColumns(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ByteBuffer out = ByteBuffer.allocate(EXPORT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (int column = 0; column < schema.getColumnCount(); column++) {
+            TelemetrySchema.Column info = schema.getColumn(column);
+            int size = info.getType().getSize();
+            try (FileChannel file = FileChannel.open(directory.resolve(info.getName() + ".bin"),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                out.clear();
+                for (long record = 0; record < recordCount; record++) {
+                    if (out.remaining() < size) {
+                        writeFully(file, out);
+                    }
+                    int position = position(record, column);
+                    for (int b = 0; b < size; b++) {
+                        out.put(region.get(position + b));
+                    }
+                }
+                writeFully(file, out);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel file, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            file.write(out);
+        }
+        out.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public TelemetrySchema getSchema() {
+        return schema;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datacollection.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * The columns of a telemetry log. Every record holds one fixed width value per column.
+ */
+public class TelemetrySchema {
+    private final Column[] columns;
+    private final int[] offsets;
+    private final int recordSize;
+
+    public TelemetrySchema(Column... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("A telemetry schema needs at least one column");
+        }
+        this.columns = columns.clone();
+        this.offsets = new int[columns.length];
+        int offset = 0;
+        for (int i = 0; i < columns.length; i++) {
+            offsets[i] = offset;
+            offset += columns[i].getType().getSize();
+        }
+        this.recordSize = offset;
+    }
+
+    /**
+     * Creates a {@link TelemetrySchema} where every column is a {@link ColumnType#DOUBLE}.
+     *
+     * @param names the names of the columns
+     * @return the {@link TelemetrySchema}
+     */
+    public static TelemetrySchema ofDoubles(String... names) {
+        Column[] columns = new Column[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = new Column(names[i], ColumnType.DOUBLE);
+        }
+        return new TelemetrySchema(columns);
+    }
+
+    /**
+     * Returns the index of the column with <code>name</code>.
+     *
+     * @param name the name of the column
+     * @return the index of the column, or -1 if there is none
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Returns the byte offset of a column within a record.
+     *
+     * @param index the index of the column
+     * @return the byte offset of the column
+     */
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Returns the size of a record in bytes.
+     *
+     * @return the record size in bytes
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TelemetrySchema && Arrays.equals(columns, ((TelemetrySchema) o).columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(columns);
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetrySchema" + Arrays.toString(columns);
+    }
+
+    /**
+     * The storage type of a column.
+     */
+    public enum ColumnType {
+        DOUBLE(8), FLOAT(4), LONG(8), INT(4);
+
+        private final int size;
+
+        ColumnType(int size) {
+            this.size = size;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * A named, typed column of a {@link TelemetrySchema}.
+     */
+    public static class Column {
+        private final String name;
+        private final ColumnType type;
+
+        public Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Column && name.equals(((Column) o).name) && type == ((Column) o).type;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + type.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + type;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datacollection.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes fixed width telemetry records to a memory mapped file.
+ * <p>
+ * The file starts with a header describing the {@link TelemetrySchema}, followed by the records back to back. The
+ * file is mapped in large regions, so writing a record is a handful of stores into memory and the operating system
+ * flushes it to disk in the background. The record count in the header is updated after every record, so a log cut
+ * short by a crash is still readable up to its last record. Read logs with {@link TelemetryReader}.
+ * <p>
+ * A {@link TelemetryWriter} must only be used from one thread.
+ */
+public class TelemetryWriter implements Closeable {
+    static final long MAGIC = 0x544b4f544c4d3031L;
+    static final int VERSION = 1;
+    static final int RECORD_COUNT_OFFSET = 16;
+
+    private static final long DEFAULT_REGION_SIZE = 4 << 20;
+
+    private final TelemetrySchema schema;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final long headerSize;
+    private final long regionSize;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long recordCount;
+
+    public TelemetryWriter(Path file, TelemetrySchema schema) throws IOException {
+        this(file, schema, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates a new telemetry log at <code>file</code>, replacing any existing file.
+     *
+     * @param file       the file to write to
+     * @param schema     the {@link TelemetrySchema} of the records
+     * @param regionSize the number of bytes mapped at a time
+     * @throws IOException if the file can not be created
+     */
+    public TelemetryWriter(Path file, TelemetrySchema schema, long regionSize) throws IOException {
+        this.schema = schema;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        //Header: magic, version, header size, record count, record size, column count, then each column's type and
+        //name. Records start on an 8 byte boundary after the header.
+        long size = 8 + 4 + 4 + 8 + 4 + 4;
+        byte[][] names = new byte[schema.getColumnCount()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = schema.getColumn(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += 1 + 2 + names[i].length;
+        }
+        this.headerSize = (size + 7) & ~7L;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerSize);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putInt((int) headerSize);
+        header.putLong(0);
+        header.putInt(schema.getRecordSize());
+        header.putInt(names.length);
+        for (int i = 0; i < names.length; i++) {
+            header.put((byte) schema.getColumn(i).getType().ordinal());
+            header.putShort((short) names[i].length);
+            header.put(names[i]);
+        }
+
+        //Keep each region a whole number of records so no record spans two regions
+        this.regionSize = Math.max(1, regionSize / schema.getRecordSize()) * schema.getRecordSize();
+        this.regionStart = headerSize;
+        mapRegion();
+    }
+
+    private void mapRegion() throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a record, converting each value to the type of its column.
+     *
+     * @param values one value per column of the {@link TelemetrySchema}
+     * @throws IOException if the next region of the file can not be mapped
+     */
+    public void write(double[] values) throws IOException {
+        if (!region.hasRemaining()) {
+            regionStart += regionSize;
+            mapRegion();
+        }
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            switch (schema.getColumn(i).getType()) {
+                case DOUBLE:
+                    region.putDouble(values[i]);
+                    break;
+                case FLOAT:
+                    region.putFloat((float) values[i]);
+                    break;
+                case LONG:
+                    region.putLong((long) values[i]);
+                    break;
+                case INT:
+                    region.putInt((int) values[i]);
+                    break;
+            }
+        }
+        recordCount++;
+        header.putLong(RECORD_COUNT_OFFSET, recordCount);
+    }
+
+    /**
+     * Forces the written records to disk.
+     */
+    public void flush() {
+        region.force();
+        header.force();
+    }
+
+    /**
+     * Flushes the log and trims the unused end of the last mapped region where the platform allows it.
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        flush();
+        try {
+            channel.truncate(headerSize + recordCount * schema.getRecordSize());
+        } catch (IOException e) {
+            //Some platforms can't truncate a mapped file, the reader only uses the record count
+        }
+        channel.close();
+    }
+
+    public TelemetrySchema getSchema() {
+        return schema;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+}
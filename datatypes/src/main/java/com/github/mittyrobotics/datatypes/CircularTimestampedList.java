@@ -24,13 +24,31 @@
 
 package com.github.mittyrobotics.datatypes;
 
+import com.github.mittyrobotics.datatypes.interfaces.Interpolator;
+
+/**
+ * A fixed capacity list of {@link TimestampedElement}s stored in a circular array. Index 0 is the latest element and
+ * the highest index is the oldest. Once the list is full, adding an element to the front overwrites the oldest one.
+ * <p>
+ * Elements are expected to be added with non-decreasing timestamps. The timestamp queries rely on this to binary
+ * search the list.
+ */
 public class CircularTimestampedList<E> {
     private final int circularSize;
+    private final TimestampedElement<E>[] elements;
+    /**
+     * Array index of the latest element.
+     */
+    private int head;
+    private int size;
 
-    private TimestampedList<E> timestampedList = new TimestampedList<>();
-
+    @SuppressWarnings("unchecked")
     public CircularTimestampedList(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Circular size must be positive");
+        }
         this.circularSize = size;
+        this.elements = (TimestampedElement<E>[]) new TimestampedElement<?>[size];
     }
 
     public int getCircularSize() {
@@ -38,45 +56,120 @@ public class CircularTimestampedList<E> {
     }
 
     public void addFront(TimestampedElement<E> timestampedElement) {
-        timestampedList.addFront(timestampedElement);
-        if (timestampedList.size() > circularSize) {
-            double oversize = timestampedList.size() - circularSize;
-            for (int i = 0; i < oversize; i++) {
-                timestampedList.remove(timestampedList.size() - 1);
-            }
+        head = head == 0 ? circularSize - 1 : head - 1;
+        elements[head] = timestampedElement;
+        if (size < circularSize) {
+            size++;
         }
     }
 
     public void setObject(int index, E object) {
-        if (timestampedList.get(index) != null) {
-            timestampedList.set(index, new TimestampedElement<>(object, get(index).getTimestamp()));
+        if (index >= 0 && index < size) {
+            int i = arrayIndex(index);
+            elements[i] = new TimestampedElement<>(object, elements[i].getTimestamp());
         }
     }
 
     public TimestampedElement<E> get(int index) {
-        //Cap index by the current list size and the circular size
-        index = Math.min(size(), Math.min(circularSize, index));
-        return timestampedList.get(index);
+        //Cap index by the current list size
+        if (size == 0 || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[arrayIndex(Math.min(size - 1, index))];
     }
 
     public TimestampedElement<E> getLatest() {
-        return timestampedList.getLatest();
+        return get(0);
     }
 
     public TimestampedElement<E> getLast() {
-        return timestampedList.get(timestampedList.size() - 1);
+        return get(size - 1);
     }
 
+    /**
+     * Returns the element with the timestamp closest to <code>timestamp</code>.
+     *
+     * @param timestamp the timestamp to find.
+     * @return the element with the timestamp closest to <code>timestamp</code>, or <code>null</code> if the list is
+     * empty.
+     */
     public E getElementFromTimestamp(double timestamp) {
-        return timestampedList.getElementFromTimestamp(timestamp);
+        if (size == 0) {
+            return null;
+        }
+        int older = indexAtOrBefore(timestamp);
+        if (older == 0) {
+            return get(0).getObject();
+        }
+        if (older == size) {
+            return get(size - 1).getObject();
+        }
+        TimestampedElement<E> olderElement = get(older);
+        TimestampedElement<E> newerElement = get(older - 1);
+        return timestamp - olderElement.getTimestamp() < newerElement.getTimestamp() - timestamp ?
+                olderElement.getObject() : newerElement.getObject();
     }
 
-    public double getTimestampFromElement(int elementIndex) {
-        return timestampedList.getTimestampFromElement(elementIndex);
+    /**
+     * Returns the element at <code>timestamp</code>, interpolated between the two elements before and after it with
+     * <code>interpolator</code>. Timestamps outside of the list return the latest or oldest element.
+     * <p>
+     * For example, {@link com.github.mittyrobotics.datatypes.positioning.Transform#interpolate} interpolates the
+     * heading along the shortest arc, and {@link
+     * com.github.mittyrobotics.datatypes.positioning.Transform#linearInterpolate} interpolates every value linearly.
+     *
+     * @param timestamp    the timestamp to find.
+     * @param interpolator the {@link Interpolator} between the two elements.
+     * @return the interpolated element at <code>timestamp</code>, or <code>null</code> if the list is empty.
+     */
+    public E getElementFromTimestamp(double timestamp, Interpolator<E> interpolator) {
+        if (size == 0) {
+            return null;
+        }
+        int older = indexAtOrBefore(timestamp);
+        if (older == 0) {
+            return get(0).getObject();
+        }
+        if (older == size) {
+            return get(size - 1).getObject();
+        }
+        TimestampedElement<E> olderElement = get(older);
+        TimestampedElement<E> newerElement = get(older - 1);
+        double span = newerElement.getTimestamp() - olderElement.getTimestamp();
+        double fraction = span > 0 ? (timestamp - olderElement.getTimestamp()) / span : 0;
+        return interpolator.interpolate(olderElement.getObject(), newerElement.getObject(), fraction);
     }
 
+    public double getTimestampFromElement(int elementIndex) {
+        return get(elementIndex).getTimestamp();
+    }
 
     public int size() {
-        return timestampedList.size();
+        return size;
+    }
+
+    /**
+     * Binary searches for the lowest index with a timestamp at or before <code>timestamp</code>.
+     *
+     * @return the lowest index with a timestamp at or before <code>timestamp</code>, or <code>size</code> if every
+     * element is after <code>timestamp</code>.
+     */
+    private int indexAtOrBefore(double timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (elements[arrayIndex(mid)].getTimestamp() <= timestamp) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int arrayIndex(int index) {
+        int i = head + index;
+        return i >= circularSize ? i - circularSize : i;
     }
 }
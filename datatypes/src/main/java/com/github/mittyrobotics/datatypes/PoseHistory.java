@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes;
+
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+/**
+ * A fixed capacity history of timestamped robot poses stored in parallel primitive columns.
+ * <p>
+ * Each sample is a timestamp, an x and y position, and a heading in radians, stored in four <code>double[]</code>
+ * ring buffers. A sample takes 32 bytes instead of the four objects of a {@link TimestampedElement} holding a {@link
+ * Transform}, so minutes of high rate history can be kept. Once full, adding a sample overwrites the oldest one.
+ * <p>
+ * The heading column is interpolated along the shortest arc by default. A history of velocities, where that column
+ * holds an angular velocity, should be created with <code>linearHeading</code> so it is interpolated linearly instead.
+ * <p>
+ * Unlike {@link CircularTimestampedList}, indices are chronological: index 0 is the oldest sample and
+ * <code>size() - 1</code> is the latest. Samples are expected to be added with non-decreasing timestamps.
+ */
+public class PoseHistory {
+    private final int capacity;
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final boolean linearHeading;
+    /**
+     * Array index of the oldest sample.
+     */
+    private int start;
+    private int size;
+
+    public PoseHistory(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates a {@link PoseHistory}.
+     *
+     * @param capacity      the maximum number of samples to keep.
+     * @param linearHeading whether the heading column is interpolated linearly instead of along the shortest arc,
+     *                      for columns that are not wrapped angles such as angular velocity.
+     */
+    public PoseHistory(int capacity, boolean linearHeading) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.timestamps = new double[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.headings = new double[capacity];
+        this.linearHeading = linearHeading;
+    }
+
+    /**
+     * Adds a sample to the history.
+     *
+     * @param timestamp the timestamp of the sample.
+     * @param x         the x position.
+     * @param y         the y position.
+     * @param heading   the heading in radians.
+     */
+    public void add(double timestamp, double x, double y, double heading) {
+        int i;
+        if (size < capacity) {
+            i = arrayIndex(size);
+            size++;
+        } else {
+            i = start;
+            start = start + 1 == capacity ? 0 : start + 1;
+        }
+        timestamps[i] = timestamp;
+        xs[i] = x;
+        ys[i] = y;
+        headings[i] = heading;
+    }
+
+    /**
+     * Adds a {@link Transform} sample to the history.
+     *
+     * @param timestamp the timestamp of the sample.
+     * @param transform the {@link Transform} of the robot.
+     */
+    public void add(double timestamp, Transform transform) {
+        add(timestamp, transform.getPosition().getX(), transform.getPosition().getY(),
+                transform.getRotation().getRadians());
+    }
+
+    /**
+     * Removes all samples from the history.
+     */
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isLinearHeading() {
+        return linearHeading;
+    }
+
+    public double getTimestamp(int index) {
+        return timestamps[checkedIndex(index)];
+    }
+
+    public double getX(int index) {
+        return xs[checkedIndex(index)];
+    }
+
+    public double getY(int index) {
+        return ys[checkedIndex(index)];
+    }
+
+    public double getHeading(int index) {
+        return headings[checkedIndex(index)];
+    }
+
+    public Transform getTransform(int index) {
+        int i = checkedIndex(index);
+        return new Transform(xs[i], ys[i], headings[i]);
+    }
+
+    public Transform getLatestTransform() {
+        return getTransform(size - 1);
+    }
+
+    public double getLatestTimestamp() {
+        return getTimestamp(size - 1);
+    }
+
+    /**
+     * Samples the pose at <code>timestamp</code> without allocating. The position is interpolated linearly and the
+     * heading is interpolated along the shortest arc between the two samples around <code>timestamp</code>, or
+     * linearly if this history has a linear heading.
+     * Timestamps outside of the history return the oldest or latest sample.
+     *
+     * @param timestamp the timestamp to sample.
+     * @param out       array that <code>{x, y, heading}</code> is written to.
+     * @return whether a pose was written, which is false if the history is empty.
+     */
+    public boolean sample(double timestamp, double[] out) {
+        if (size == 0) {
+            return false;
+        }
+        int after = indexAtOrAfter(timestamp);
+        if (after == 0 || after == size) {
+            int i = arrayIndex(after == 0 ? 0 : size - 1);
+            out[0] = xs[i];
+            out[1] = ys[i];
+            out[2] = headings[i];
+            return true;
+        }
+        int a = arrayIndex(after - 1);
+        int b = arrayIndex(after);
+        double span = timestamps[b] - timestamps[a];
+        double fraction = span > 0 ? (timestamp - timestamps[a]) / span : 1;
+        double deltaHeading = headings[b] - headings[a];
+        if (!linearHeading) {
+            deltaHeading = Math.atan2(Math.sin(deltaHeading), Math.cos(deltaHeading));
+        }
+        out[0] = xs[a] + (xs[b] - xs[a]) * fraction;
+        out[1] = ys[a] + (ys[b] - ys[a]) * fraction;
+        out[2] = headings[a] + deltaHeading * fraction;
+        return true;
+    }
+
+    /**
+     * Returns the interpolated {@link Transform} at <code>timestamp</code>.
+     *
+     * @param timestamp the timestamp to sample.
+     * @return the interpolated {@link Transform}, or <code>null</code> if the history is empty.
+     * @see #sample(double, double[])
+     */
+    public Transform getTransformAtTimestamp(double timestamp) {
+        double[] out = new double[3];
+        return sample(timestamp, out) ? new Transform(out[0], out[1], out[2]) : null;
+    }
+
+    /**
+     * Binary searches for the first sample with a timestamp at or after <code>timestamp</code>.
+     *
+     * @param timestamp the timestamp to find.
+     * @return the index of the first sample at or after <code>timestamp</code>, or <code>size()</code> if there is
+     * none.
+     */
+    public int indexAtOrAfter(double timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[arrayIndex(mid)] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Calls <code>consumer</code> with every sample with a timestamp between <code>startTimestamp</code> and
+     * <code>endTimestamp</code>, inclusive, in chronological order.
+     *
+     * @param startTimestamp the start of the range.
+     * @param endTimestamp   the end of the range.
+     * @param consumer       the {@link PoseConsumer} of each sample.
+     * @return the number of samples in the range.
+     */
+    public int forEachInRange(double startTimestamp, double endTimestamp, PoseConsumer consumer) {
+        int count = 0;
+        for (int index = indexAtOrAfter(startTimestamp); index < size; index++) {
+            int i = arrayIndex(index);
+            if (timestamps[i] > endTimestamp) {
+                break;
+            }
+            consumer.accept(timestamps[i], xs[i], ys[i], headings[i]);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Exports the history without copying by passing the backing arrays to <code>consumer</code>. Since the history
+     * is a ring buffer, the samples are split into at most two contiguous segments, which are passed in chronological
+     * order. The arrays must not be modified and are only valid until the next sample is added.
+     *
+     * @param consumer the {@link SegmentConsumer} of each segment.
+     */
+    public void exportSegments(SegmentConsumer consumer) {
+        int firstLength = Math.min(size, capacity - start);
+        if (firstLength > 0) {
+            consumer.accept(timestamps, xs, ys, headings, start, firstLength);
+        }
+        if (size > firstLength) {
+            consumer.accept(timestamps, xs, ys, headings, 0, size - firstLength);
+        }
+    }
+
+    /**
+     * Copies the samples between <code>fromIndex</code> (inclusive) and <code>toIndex</code> (exclusive) into
+     * chronological arrays. Any output array may be <code>null</code> to skip that column.
+     *
+     * @param fromIndex  the index of the first sample to copy.
+     * @param toIndex    the index after the last sample to copy.
+     * @param timestamps the array that the timestamps are copied to.
+     * @param xs         the array that the x positions are copied to.
+     * @param ys         the array that the y positions are copied to.
+     * @param headings   the array that the headings are copied to.
+     */
+    public void copyTo(int fromIndex, int toIndex, double[] timestamps, double[] xs, double[] ys,
+                       double[] headings) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range: [" + fromIndex + ", " + toIndex + "), Size: " + size);
+        }
+        int length = toIndex - fromIndex;
+        int first = arrayIndex(fromIndex);
+        int firstLength = Math.min(length, capacity - first);
+        copyColumn(this.timestamps, timestamps, first, firstLength, length);
+        copyColumn(this.xs, xs, first, firstLength, length);
+        copyColumn(this.ys, ys, first, firstLength, length);
+        copyColumn(this.headings, headings, first, firstLength, length);
+    }
+
+    private static void copyColumn(double[] source, double[] destination, int first, int firstLength, int length) {
+        if (destination == null) {
+            return;
+        }
+        System.arraycopy(source, first, destination, 0, firstLength);
+        System.arraycopy(source, 0, destination, firstLength, length - firstLength);
+    }
+
+    private int checkedIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return arrayIndex(index);
+    }
+
+    private int arrayIndex(int index) {
+        int i = start + index;
+        return i >= capacity ? i - capacity : i;
+    }
+
+    /**
+     * Consumer of a single pose sample.
+     */
+    @FunctionalInterface
+    public interface PoseConsumer {
+        void accept(double timestamp, double x, double y, double heading);
+    }
+
+    /**
+     * Consumer of a contiguous segment of the backing columns.
+     */
+    @FunctionalInterface
+    public interface SegmentConsumer {
+        void accept(double[] timestamps, double[] xs, double[] ys, double[] headings, int offset, int length);
+    }
+}
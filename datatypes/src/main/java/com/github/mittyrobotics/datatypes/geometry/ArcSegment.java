@@ -33,7 +33,7 @@ import java.util.Optional;
 /**
  * Represents a 2d arc segment on a standard cartesian coordinate plane with two end points.
  */
-public class ArcSegment extends Circle {
+public class ArcSegment extends Circle implements Segment {
 
     private Position startPoint;
     private Position endPoint;
@@ -59,6 +59,7 @@ public class ArcSegment extends Circle {
      *
      * @return the length of the arc segment.
      */
+    @Override
     public double getSegmentLength() {
         return getDistanceToPoint(endPoint);
     }
@@ -94,6 +95,7 @@ public class ArcSegment extends Circle {
      * @return an {@link Optional} containing the closest {@link Position} to the <code>referencePosition</code> that is
      * <code>distanceShift</code> away.
      */
+    @Override
     public Optional<Transform> getClosestPointOnSegment(Transform referenceTransform, double distanceShift,
                                                         RoundMode roundMode) {
         //Get the actual closest point on the arc
@@ -180,6 +182,89 @@ public class ArcSegment extends Circle {
                 getTangentLineAtPoint(currentClosestPosition).getLineRotation()));
     }
 
+    /**
+     * Finds the closest point on this {@link ArcSegment} to the <code>referencePosition</code>. This is the closest
+     * point on the circle if it falls on the arc, and the closest end point otherwise.
+     *
+     * @param referencePosition the {@link Position} to find the closest point to.
+     * @return the closest {@link Position} on this {@link ArcSegment}.
+     */
+    @Override
+    public Position getClosestPointOnSegment(Position referencePosition) {
+        double dx = referencePosition.getX() - getCenter().getX();
+        double dy = referencePosition.getY() - getCenter().getY();
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance > 0) {
+            Position onCircle = new Position(getCenter().getX() + dx / distance * getRadius(),
+                    getCenter().getY() + dy / distance * getRadius());
+            if (isWithinSweep(onCircle.getX(), onCircle.getY())) {
+                return onCircle;
+            }
+        }
+        return getClosestEndPoint(referencePosition);
+    }
+
+    /**
+     * Writes the axis aligned bounding box of this {@link ArcSegment} into <code>out</code> as
+     * <code>{minX, minY, maxX, maxY}</code>. The box covers both end points and any of the four axis extremes of the
+     * circle that fall on the arc.
+     *
+     * @param out array of at least 4 elements to write the bounding box to.
+     */
+    @Override
+    public void getBoundingBox(double[] out) {
+        out[0] = Math.min(startPoint.getX(), endPoint.getX());
+        out[1] = Math.min(startPoint.getY(), endPoint.getY());
+        out[2] = Math.max(startPoint.getX(), endPoint.getX());
+        out[3] = Math.max(startPoint.getY(), endPoint.getY());
+        double centerX = getCenter().getX();
+        double centerY = getCenter().getY();
+        double r = getRadius();
+        if (isWithinSweep(centerX - r, centerY)) {
+            out[0] = centerX - r;
+        }
+        if (isWithinSweep(centerX, centerY - r)) {
+            out[1] = centerY - r;
+        }
+        if (isWithinSweep(centerX + r, centerY)) {
+            out[2] = centerX + r;
+        }
+        if (isWithinSweep(centerX, centerY + r)) {
+            out[3] = centerY + r;
+        }
+    }
+
+    /**
+     * Returns whether the direction from the center to <code>(x, y)</code> is within the angular sweep of the arc,
+     * going from the start point through the intermediate point to the end point.
+     * <p>
+     * Unlike {@link #isOnSegment(Position)}, this doesn't compare chord distances, so it holds for arcs sweeping more
+     * than half a circle.
+     */
+    private boolean isWithinSweep(double x, double y) {
+        double centerX = getCenter().getX();
+        double centerY = getCenter().getY();
+        double startAngle = Math.atan2(startPoint.getY() - centerY, startPoint.getX() - centerX);
+        double sweep = counterClockwiseAngle(startAngle,
+                Math.atan2(endPoint.getY() - centerY, endPoint.getX() - centerX));
+        double intermediate = counterClockwiseAngle(startAngle,
+                Math.atan2(intermediatePoint.getY() - centerY, intermediatePoint.getX() - centerX));
+        double point = counterClockwiseAngle(startAngle, Math.atan2(y - centerY, x - centerX));
+        if (intermediate <= sweep) {
+            return point <= sweep;
+        }
+        //The arc goes clockwise, covering the angles counterclockwise of the end point
+        return point == 0 || point >= sweep;
+    }
+
+    /**
+     * Returns the counterclockwise angle from <code>from</code> to <code>to</code>, between 0 and 2 pi.
+     */
+    private static double counterClockwiseAngle(double from, double to) {
+        double angle = to - from;
+        return angle < 0 ? angle + 2 * Math.PI : angle;
+    }
+
     /**
      * Gets the closest end point of the {@link ArcSegment} to the <code>referencePosition</code>.
      *
@@ -205,6 +290,7 @@ public class ArcSegment extends Circle {
      * @param point the {@link Position} to determine if it is on the arc or not
      * @return whether or not <code>point</code> is on this {@link ArcSegment} segment.
      */
+    @Override
     public boolean isOnSegment(Position point) {
         double intermediateToPoint = intermediatePoint.distance(point);
         double pointToStart = point.distance(startPoint);
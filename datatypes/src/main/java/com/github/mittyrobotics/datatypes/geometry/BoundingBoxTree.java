@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.geometry;
+
+/**
+ * A bounding volume hierarchy over the axis aligned bounding boxes of a fixed set of items, such as the segments of a
+ * path.
+ * <p>
+ * The tree is built once by splitting the items at the median of their box centers along the longer axis, and is
+ * stored in primitive arrays. Nearest item queries walk the tree closest box first and skip every box that is further
+ * away than the best item found so far, so only the few items near the query point get an exact distance check.
+ */
+public class BoundingBoxTree {
+    private static final int LEAF_SIZE = 2;
+
+    private final int itemCount;
+    private final int[] items;
+    private final double[] itemCenterX;
+    private final double[] itemCenterY;
+    private final double[] itemMinX;
+    private final double[] itemMinY;
+    private final double[] itemMaxX;
+    private final double[] itemMaxY;
+
+    private final double[] nodeMinX;
+    private final double[] nodeMinY;
+    private final double[] nodeMaxX;
+    private final double[] nodeMaxY;
+    private final int[] nodeLeft;
+    private final int[] nodeRight;
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    private int nodeCount;
+
+    /**
+     * Builds a {@link BoundingBoxTree} over items with the given bounding boxes. Item <code>i</code> has the box from
+     * <code>(minX[i], minY[i])</code> to <code>(maxX[i], maxY[i])</code>.
+     *
+     * @param minX the minimum x of each item's bounding box
+     * @param minY the minimum y of each item's bounding box
+     * @param maxX the maximum x of each item's bounding box
+     * @param maxY the maximum y of each item's bounding box
+     */
+    public BoundingBoxTree(double[] minX, double[] minY, double[] maxX, double[] maxY) {
+        this.itemCount = minX.length;
+        this.items = new int[itemCount];
+        this.itemCenterX = new double[itemCount];
+        this.itemCenterY = new double[itemCount];
+        this.itemMinX = minX.clone();
+        this.itemMinY = minY.clone();
+        this.itemMaxX = maxX.clone();
+        this.itemMaxY = maxY.clone();
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = i;
+            itemCenterX[i] = (minX[i] + maxX[i]) / 2;
+            itemCenterY[i] = (minY[i] + maxY[i]) / 2;
+        }
+
+        int maxNodes = Math.max(1, 2 * itemCount - 1);
+        this.nodeMinX = new double[maxNodes];
+        this.nodeMinY = new double[maxNodes];
+        this.nodeMaxX = new double[maxNodes];
+        this.nodeMaxY = new double[maxNodes];
+        this.nodeLeft = new int[maxNodes];
+        this.nodeRight = new int[maxNodes];
+        this.nodeStart = new int[maxNodes];
+        this.nodeEnd = new int[maxNodes];
+        if (itemCount > 0) {
+            build(0, itemCount);
+        }
+    }
+
+    /**
+     * Builds the node for the items between <code>start</code> (inclusive) and <code>end</code> (exclusive) and
+     * returns its index.
+     */
+    private int build(int start, int end) {
+        int node = nodeCount++;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double minCenterX = Double.POSITIVE_INFINITY;
+        double minCenterY = Double.POSITIVE_INFINITY;
+        double maxCenterX = Double.NEGATIVE_INFINITY;
+        double maxCenterY = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int item = items[i];
+            minX = Math.min(minX, itemMinX[item]);
+            minY = Math.min(minY, itemMinY[item]);
+            maxX = Math.max(maxX, itemMaxX[item]);
+            maxY = Math.max(maxY, itemMaxY[item]);
+            minCenterX = Math.min(minCenterX, itemCenterX[item]);
+            minCenterY = Math.min(minCenterY, itemCenterY[item]);
+            maxCenterX = Math.max(maxCenterX, itemCenterX[item]);
+            maxCenterY = Math.max(maxCenterY, itemCenterY[item]);
+        }
+        nodeMinX[node] = minX;
+        nodeMinY[node] = minY;
+        nodeMaxX[node] = maxX;
+        nodeMaxY[node] = maxY;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+
+        if (end - start <= LEAF_SIZE) {
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            return node;
+        }
+
+        //Split at the median box center along the longer axis
+        double[] centers = maxCenterX - minCenterX >= maxCenterY - minCenterY ? itemCenterX : itemCenterY;
+        int mid = (start + end) >>> 1;
+        select(centers, start, end - 1, mid);
+        nodeLeft[node] = build(start, mid);
+        nodeRight[node] = build(mid, end);
+        return node;
+    }
+
+    /**
+     * Partially sorts <code>items</code> between <code>left</code> and <code>right</code> (inclusive) so the item at
+     * <code>k</code> has the k-th smallest center, with smaller centers before it and larger centers after it.
+     */
+    private void select(double[] centers, int left, int right, int k) {
+        while (right > left) {
+            double pivot = centers[items[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (centers[items[i]] < pivot) {
+                    i++;
+                }
+                while (centers[items[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int temp = items[i];
+                    items[i] = items[j];
+                    items[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the item nearest to <code>(x, y)</code>.
+     * <p>
+     * <code>distance</code> is only called for items whose bounding box is closer than the best item found so far.
+     * It must return the exact distance from the point to the item, which can never be less than the distance to the
+     * item's bounding box.
+     *
+     * @param x        the x of the query point
+     * @param y        the y of the query point
+     * @param distance the exact distance from the query point to an item
+     * @return the index of the nearest item, or -1 if the tree is empty
+     */
+    public int nearest(double x, double y, ItemDistance distance) {
+        if (itemCount == 0) {
+            return -1;
+        }
+        int[] stack = new int[nodeCount];
+        double[] stackDistance = new double[nodeCount];
+        int size = 0;
+        stack[size] = 0;
+        stackDistance[size++] = boxDistance(0, x, y);
+
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        while (size > 0) {
+            size--;
+            int node = stack[size];
+            if (stackDistance[size] >= bestDistance) {
+                continue;
+            }
+            int left = nodeLeft[node];
+            if (left == -1) {
+                for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                    int item = items[i];
+                    double d = distance.distance(item, x, y);
+                    if (d < bestDistance) {
+                        bestDistance = d;
+                        best = item;
+                    }
+                }
+                continue;
+            }
+            int right = nodeRight[node];
+            double leftDistance = boxDistance(left, x, y);
+            double rightDistance = boxDistance(right, x, y);
+            //Push the further child first so the closer one is searched first
+            if (leftDistance <= rightDistance) {
+                if (rightDistance < bestDistance) {
+                    stack[size] = right;
+                    stackDistance[size++] = rightDistance;
+                }
+                if (leftDistance < bestDistance) {
+                    stack[size] = left;
+                    stackDistance[size++] = leftDistance;
+                }
+            } else {
+                if (leftDistance < bestDistance) {
+                    stack[size] = left;
+                    stackDistance[size++] = leftDistance;
+                }
+                if (rightDistance < bestDistance) {
+                    stack[size] = right;
+                    stackDistance[size++] = rightDistance;
+                }
+            }
+        }
+        return best;
+    }
+
+    private double boxDistance(int node, double x, double y) {
+        double dx = Math.max(0, Math.max(nodeMinX[node] - x, x - nodeMaxX[node]));
+        double dy = Math.max(0, Math.max(nodeMinY[node] - y, y - nodeMaxY[node]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Exact distance from a query point to an item of a {@link BoundingBoxTree}.
+     */
+    @FunctionalInterface
+    public interface ItemDistance {
+        double distance(int item, double x, double y);
+    }
+}
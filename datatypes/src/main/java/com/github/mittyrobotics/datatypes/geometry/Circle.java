@@ -175,57 +175,15 @@ public class Circle {
      * <p>
      * This returns an array, which could either contain 0, 1, or 2 points. Make sure to check how many points of
      * intersection there are in the array after using the function.
-     * <p>
-     * https://www.desmos.com/calculator/ymkxfwsa1k
      *
      * @param other the other {@link Circle}
      * @return an array containing the points of intersection between the two {@link Circle}s
      */
     public Position[] circleCircleIntersection(Circle other) {
-        double a = getCenter().getX();
-        double b = getCenter().getY();
-        double c = other.getCenter().getX();
-        double d = other.getCenter().getY();
-        double r = getRadius();
-        double s = other.getRadius();
-
-        double R = getCenter().distance(other.getCenter());
-
-        //If there are no points of intersection, return an empty array.
-        if (R > r + s) {
-            return new Position[]{};
-        }
-
-        double a1 = Math.acos((r * r + R * R - s * s) / (2 * r * R));
-        double v1 = Math.atan2(d - b, c - a);
-
-        double v = r * Math.cos(a1 + v1);
-        double g = r * Math.sin(a1 + v1);
-        double k = r * Math.cos(a1 - v1);
-        double j = r * Math.sin(a1 - v1);
-
-        //this center is on the left of other center
-        if (a < c) {
-            double x = a + v;
-            double y = b + g;
-            double x1 = a + k;
-            double y1 = b - j;
-            return new Position[]{
-                    new Position(x, y),
-                    new Position(x1, y1)
-            };
-        }
-        //this center is on the right of other center
-        else {
-            double x = a - v;
-            double y = b - g;
-            double x1 = a - k;
-            double y1 = b - j;
-            return new Position[]{
-                    new Position(x, y),
-                    new Position(x1, y1)
-            };
-        }
+        double[] points = new double[4];
+        int count = GeometryKernel.intersectCircles(getCenter().getX(), getCenter().getY(), getRadius(),
+                other.getCenter().getX(), other.getCenter().getY(), other.getRadius(), points);
+        return toPositions(points, count);
     }
 
     /**
@@ -272,51 +230,28 @@ public class Circle {
      * Finds the two {@link Position}s of intersection between this {@link Circle} and {@link Line} <code>other</code>.
      * <p>
      * This returns an array, which could either contain 0, 1, or 2 points. Make sure to check how many points of
-     * intersection there are in the array after using the function.
-     * <p>
-     * https://www.desmos.com/calculator/dwwixupcxt
+     * intersection there are in the array after using the function. A degenerate {@link Line} has no intersections.
      *
      * @param line the other {@link Line}
      * @return an array containing the points of intersection between the {@link Line} <code>other</code> and this
      * {@link Circle}
      */
     public Position[] circleLineIntersection(Line line) {
-        double a = getCenter().getX();
-        double b = getCenter().getY();
-        double r = getRadius();
-        double c = line.getFirstPoint().getX();
-        double d = line.getFirstPoint().getY();
-        double f = line.getSecondPoint().getX();
-        double g = line.getSecondPoint().getY();
-        double m = line.getSlope();
-
-
-        double v = (a + f * m * m + b * m - g * m) / (m * m + 1);
-        double v1 = (m * a + b * m * m + g - f * m) / (m * m + 1);
-        double sqrt = Math.sqrt(r * r - Math.pow(a - v, 2) - Math.pow(b - v1, 2));
-        double sqrt1 = Math.sqrt(Math.pow(g - d, 2) + Math.pow(f - c, 2));
-
-        Position pos1 = new Position(
-                v + (f - c) * sqrt / sqrt1,
-                v1 + (g - d) * sqrt / sqrt1
-        );
-        Position pos2 = new Position(
-                v - (f - c) * sqrt / sqrt1,
-                v1 - (g - d) * sqrt / sqrt1
-        );
-
-        //If any of these values look bad, it most likely means there is no intersection and we should return an empty
-        //array
-        if (Double.isNaN(pos1.getX()) || Double.isNaN(pos2.getX()) || Double.isNaN(pos1.getY()) ||
-                Double.isNaN(pos2.getY()) || Double.isInfinite(pos1.getX()) || Double.isInfinite(pos2.getX()) ||
-                Double.isInfinite(pos1.getY()) || Double.isInfinite(pos2.getY())) {
+        if (line.isDegenerate()) {
             return new Position[]{};
         }
+        double[] points = new double[4];
+        int count = GeometryKernel.intersectLineCircle(line.getImplicitLine(), getCenter().getX(),
+                getCenter().getY(), getRadius(), points);
+        return toPositions(points, count);
+    }
 
-        return new Position[]{
-                pos1,
-                pos2
-        };
+    private static Position[] toPositions(double[] points, int count) {
+        Position[] positions = new Position[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new Position(points[i * 2], points[i * 2 + 1]);
+        }
+        return positions;
     }
 
     /**
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.geometry;
+
+/**
+ * Allocation free line and circle routines on primitive coordinates.
+ * <p>
+ * Lines are {@link ImplicitLine}s and circles are a center and a radius. Intersection routines write their points
+ * into a caller owned <code>double[]</code> as <code>{x0, y0, x1, y1}</code> and return how many points were found,
+ * so no arrays or {@link java.util.Optional}s are created per call.
+ */
+public final class GeometryKernel {
+    /**
+     * Tolerance below which lines are treated as parallel and circles as tangent.
+     */
+    public static final double EPSILON = 1e-12;
+
+    private GeometryKernel() {
+    }
+
+    /**
+     * Intersects two lines.
+     *
+     * @param first  the first {@link ImplicitLine}
+     * @param second the second {@link ImplicitLine}
+     * @param out    array of at least 2 elements the intersection is written to
+     * @return 1 if the lines intersect, 0 if they are parallel
+     */
+    public static int intersectLines(ImplicitLine first, ImplicitLine second, double[] out) {
+        double det = first.getA() * second.getB() - second.getA() * first.getB();
+        if (Math.abs(det) < EPSILON) {
+            return 0;
+        }
+        out[0] = (first.getB() * second.getC() - second.getB() * first.getC()) / det;
+        out[1] = (second.getA() * first.getC() - first.getA() * second.getC()) / det;
+        return 1;
+    }
+
+    /**
+     * Intersects a line and a circle. With two points, they are ordered along the direction of the line.
+     *
+     * @param line    the {@link ImplicitLine}
+     * @param centerX the x of the circle center
+     * @param centerY the y of the circle center
+     * @param radius  the circle radius
+     * @param out     array of at least 4 elements the intersections are written to
+     * @return the number of intersections, 0, 1, or 2
+     */
+    public static int intersectLineCircle(ImplicitLine line, double centerX, double centerY, double radius,
+                                          double[] out) {
+        return intersectLineCircle(line.getA(), line.getB(), line.getC(), centerX, centerY, radius, out);
+    }
+
+    /**
+     * Intersects a line given by normalized coefficients and a circle.
+     */
+    private static int intersectLineCircle(double a, double b, double c, double centerX, double centerY,
+                                           double radius, double[] out) {
+        double distance = a * centerX + b * centerY + c;
+        double hSquared = radius * radius - distance * distance;
+        if (hSquared < -EPSILON) {
+            return 0;
+        }
+        //Foot of the perpendicular from the center, then step along the line direction (b, -a)
+        double footX = centerX - a * distance;
+        double footY = centerY - b * distance;
+        if (hSquared <= EPSILON) {
+            out[0] = footX;
+            out[1] = footY;
+            return 1;
+        }
+        double h = Math.sqrt(hSquared);
+        out[0] = footX - b * h;
+        out[1] = footY + a * h;
+        out[2] = footX + b * h;
+        out[3] = footY - a * h;
+        return 2;
+    }
+
+    /**
+     * Intersects two circles.
+     *
+     * @param out array of at least 4 elements the intersections are written to
+     * @return the number of intersections, 0, 1, or 2. Concentric circles return 0.
+     */
+    public static int intersectCircles(double centerX1, double centerY1, double radius1, double centerX2,
+                                       double centerY2, double radius2, double[] out) {
+        double dx = centerX2 - centerX1;
+        double dy = centerY2 - centerY1;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance < EPSILON) {
+            return 0;
+        }
+        //Both intersections lie on the radical line, which is perpendicular to the line between the centers
+        double a = dx / distance;
+        double b = dy / distance;
+        double c = -(a * centerX1 + b * centerY1) -
+                (distance * distance + radius1 * radius1 - radius2 * radius2) / (2 * distance);
+        return intersectLineCircle(a, b, c, centerX1, centerY1, radius1, out);
+    }
+
+    /**
+     * Intersects a line segment and a circle. Only intersections between the end points are returned, ordered from
+     * the start point to the end point.
+     *
+     * @param out array of at least 4 elements the intersections are written to
+     * @return the number of intersections on the segment, 0, 1, or 2
+     */
+    public static int intersectSegmentCircle(double startX, double startY, double endX, double endY,
+                                             double centerX, double centerY, double radius, double[] out) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared < EPSILON) {
+            return 0;
+        }
+        //Solve |start + t * d - center|^2 = r^2 for t in [0, 1]
+        double fx = startX - centerX;
+        double fy = startY - centerY;
+        double halfB = fx * dx + fy * dy;
+        double cTerm = fx * fx + fy * fy - radius * radius;
+        double discriminant = halfB * halfB - lengthSquared * cTerm;
+        if (discriminant < 0) {
+            return 0;
+        }
+        double root = Math.sqrt(discriminant);
+        double t0 = (-halfB - root) / lengthSquared;
+        double t1 = (-halfB + root) / lengthSquared;
+        int count = 0;
+        if (t0 >= 0 && t0 <= 1) {
+            out[0] = startX + t0 * dx;
+            out[1] = startY + t0 * dy;
+            count++;
+        }
+        if (t1 >= 0 && t1 <= 1 && root > 0) {
+            out[count * 2] = startX + t1 * dx;
+            out[count * 2 + 1] = startY + t1 * dy;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the signed curvature of the circle tangent to a pose that passes through a point, as used by pure
+     * pursuit. Positive curvature turns left. A point straight ahead or behind gives 0.
+     *
+     * @param x       the x of the pose
+     * @param y       the y of the pose
+     * @param cos     the cosine of the pose heading
+     * @param sin     the sine of the pose heading
+     * @param targetX the x of the point
+     * @param targetY the y of the point
+     * @return the signed curvature, or 0 if the point is at the pose
+     */
+    public static double curvatureThroughPoint(double x, double y, double cos, double sin, double targetX,
+                                               double targetY) {
+        double dx = targetX - x;
+        double dy = targetY - y;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared < EPSILON) {
+            return 0;
+        }
+        //Lateral offset of the point in the pose's frame
+        double lateral = cos * dy - sin * dx;
+        return 2 * lateral / distanceSquared;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.geometry;
+
+/**
+ * A mutable 2d line in implicit form <code>ax + by + c = 0</code>.
+ * <p>
+ * The coefficients are normalized so <code>(a, b)</code> is the unit normal pointing to the left of the line's
+ * direction. Evaluating the line at a point then gives the signed distance to it, and vertical lines need no special
+ * case, unlike the slope and intercept of {@link Line}.
+ */
+public class ImplicitLine {
+    private double a;
+    private double b;
+    private double c;
+
+    /**
+     * Constructs the line along the x axis.
+     */
+    public ImplicitLine() {
+        this(0, 1, 0);
+    }
+
+    public ImplicitLine(double a, double b, double c) {
+        set(a, b, c);
+    }
+
+    /**
+     * Constructs the line going from <code>(x1, y1)</code> to <code>(x2, y2)</code>.
+     *
+     * @return the new {@link ImplicitLine}
+     */
+    public static ImplicitLine fromPoints(double x1, double y1, double x2, double y2) {
+        return new ImplicitLine().setFromPoints(x1, y1, x2, y2);
+    }
+
+    /**
+     * Sets the coefficients of this line, normalizing them.
+     *
+     * @param a the x coefficient
+     * @param b the y coefficient
+     * @param c the constant
+     * @return this line
+     */
+    public ImplicitLine set(double a, double b, double c) {
+        double length = Math.sqrt(a * a + b * b);
+        if (length == 0) {
+            throw new IllegalArgumentException("a and b can not both be zero");
+        }
+        this.a = a / length;
+        this.b = b / length;
+        this.c = c / length;
+        return this;
+    }
+
+    /**
+     * Sets this line to go from <code>(x1, y1)</code> to <code>(x2, y2)</code>.
+     *
+     * @return this line
+     */
+    public ImplicitLine setFromPoints(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        return set(-dy, dx, dy * x1 - dx * y1);
+    }
+
+    /**
+     * Sets this line to go through <code>(x, y)</code> in the direction <code>(directionX, directionY)</code>, for
+     * example the cosine and sine of a heading.
+     *
+     * @return this line
+     */
+    public ImplicitLine setFromPointAndDirection(double x, double y, double directionX, double directionY) {
+        return set(-directionY, directionX, directionY * x - directionX * y);
+    }
+
+    /**
+     * Returns the signed distance from the point to this line, positive on the left side of the line's direction.
+     *
+     * @param x the x of the point
+     * @param y the y of the point
+     * @return the signed distance from the point to this line
+     */
+    public double signedDistance(double x, double y) {
+        return a * x + b * y + c;
+    }
+
+    /**
+     * Writes the closest point on this line to <code>(x, y)</code> into <code>out</code> as <code>{x, y}</code>.
+     *
+     * @param x   the x of the point
+     * @param y   the y of the point
+     * @param out array of at least 2 elements
+     */
+    public void project(double x, double y, double[] out) {
+        double distance = signedDistance(x, y);
+        out[0] = x - a * distance;
+        out[1] = y - b * distance;
+    }
+
+    public double getA() {
+        return a;
+    }
+
+    public double getB() {
+        return b;
+    }
+
+    public double getC() {
+        return c;
+    }
+
+    /**
+     * Returns the x component of the unit direction of this line.
+     *
+     * @return the x component of the direction
+     */
+    public double getDirectionX() {
+        return b;
+    }
+
+    /**
+     * Returns the y component of the unit direction of this line.
+     *
+     * @return the y component of the direction
+     */
+    public double getDirectionY() {
+        return -a;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImplicitLine(%sx + %sy + %s = 0)", a, b, c);
+    }
+}
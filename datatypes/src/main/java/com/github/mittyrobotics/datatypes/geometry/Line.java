@@ -81,47 +81,60 @@ public class Line {
     /**
      * Finds the intersection {@link Position} between this {@link Line} and <code>other</code>.
      * <p>
-     * If the two lines are parallel, it will return null.
+     * If the two lines are parallel, or either line is degenerate, it will return an empty {@link Optional}.
      *
      * @return the intersection {@link Position} between the two {@link Line}s.
      */
     public Optional<Position> getIntersection(Line other) {
-        double m1 = getSlope();
-        double m2 = other.getSlope();
-        double b1 = getYIntercept();
-        double b2 = other.getYIntercept();
-
-        //If the lines are parallel, return null
-        if (m1 == m2) {
+        if (isDegenerate() || other.isDegenerate()) {
             return Optional.empty();
         }
-
-        double x = (b2 - b1) / (m1 - m2);
-        double y = m1 * x + b1;
-
-        return Optional.of(new Position(x, y));
+        double[] point = new double[2];
+        if (GeometryKernel.intersectLines(getImplicitLine(), other.getImplicitLine(), point) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Position(point[0], point[1]));
     }
 
     /**
      * Finds the closest point on this {@link Line} to the <code>referencePosition</code>.
      * <p>
-     * This is done by finding the line parallel to this line that intersects with the <code>referenceTransform</code>.
-     * https://www.desmos.com/calculator/trqlffx7ha
+     * This is the projection of the <code>referencePosition</code> onto this line. If this line is degenerate, it is
+     * the single point of the line.
      *
      * @param referencePosition the {@link Position} to find the closest point to.
      * @return the closest {@link Position} to the <code>referencePosition</code>.
      */
     public Position getClosestPoint(Position referencePosition) {
-        double m = getSlope();
-
-        //Get parallel slope
-        double m1 = -1 / m;
+        if (isDegenerate()) {
+            return new Position(firstPoint.getX(), firstPoint.getY());
+        }
+        double[] point = new double[2];
+        getImplicitLine().project(referencePosition.getX(), referencePosition.getY(), point);
+        return new Position(point[0], point[1]);
+    }
 
-        //Create parallel line from position
-        Line parallelLine = getParallelLine(referencePosition);
+    /**
+     * Returns this {@link Line} in implicit form, going from the first point to the second point.
+     * <p>
+     * Unlike the slope and y intercept, the implicit form represents vertical lines exactly. A new
+     * {@link ImplicitLine} is built from the current points on each call.
+     *
+     * @return the {@link ImplicitLine} of this {@link Line}
+     * @throws IllegalArgumentException if this {@link Line} is degenerate
+     * @see #isDegenerate()
+     */
+    public ImplicitLine getImplicitLine() {
+        return ImplicitLine.fromPoints(firstPoint.getX(), firstPoint.getY(), secondPoint.getX(), secondPoint.getY());
+    }
 
-        //Return the intersection between the two lines
-        return getIntersection(parallelLine).get();
+    /**
+     * Returns whether or not both points of this {@link Line} are the same, in which case it has no direction.
+     *
+     * @return whether or not this {@link Line} is degenerate
+     */
+    public boolean isDegenerate() {
+        return firstPoint.getX() == secondPoint.getX() && firstPoint.getY() == secondPoint.getY();
     }
 
     /**
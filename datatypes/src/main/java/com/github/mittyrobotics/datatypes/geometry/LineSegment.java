@@ -33,7 +33,7 @@ import java.util.Optional;
 /**
  * Represents a 2d line segment on a standard cartesian coordinate plane with two end points.
  */
-public class LineSegment extends Line {
+public class LineSegment extends Line implements Segment {
     private Position startPoint;
     private Position endPoint;
 
@@ -54,6 +54,7 @@ public class LineSegment extends Line {
      *
      * @return the length of the line segment.
      */
+    @Override
     public double getSegmentLength() {
         return getDistanceToPoint(endPoint);
     }
@@ -90,6 +91,7 @@ public class LineSegment extends Line {
      * @return an {@link Optional} containing the closest {@link Position} to the <code>referencePosition</code> that is
      * <code>distanceShift</code> away.
      */
+    @Override
     public Optional<Transform> getClosestPointOnSegment(Transform referenceTransform, double distanceShift,
                                                         RoundMode roundMode) {
         //Get the actual closest point on the line segment
@@ -175,6 +177,35 @@ public class LineSegment extends Line {
         return Optional.of(new Transform(currentClosestPosition, currentClosestPosition.angleTo(endPoint)));
     }
 
+    /**
+     * Finds the closest point on this {@link LineSegment} to the <code>referencePosition</code> by projecting it onto
+     * the segment and clamping it between the end points.
+     *
+     * @param referencePosition the {@link Position} to find the closest point to.
+     * @return the closest {@link Position} on this {@link LineSegment}.
+     */
+    @Override
+    public Position getClosestPointOnSegment(Position referencePosition) {
+        double dx = endPoint.getX() - startPoint.getX();
+        double dy = endPoint.getY() - startPoint.getY();
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return startPoint;
+        }
+        double t = ((referencePosition.getX() - startPoint.getX()) * dx +
+                (referencePosition.getY() - startPoint.getY()) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        return new Position(startPoint.getX() + dx * t, startPoint.getY() + dy * t);
+    }
+
+    @Override
+    public void getBoundingBox(double[] out) {
+        out[0] = Math.min(startPoint.getX(), endPoint.getX());
+        out[1] = Math.min(startPoint.getY(), endPoint.getY());
+        out[2] = Math.max(startPoint.getX(), endPoint.getX());
+        out[3] = Math.max(startPoint.getY(), endPoint.getY());
+    }
+
     /**
      * Gets the closest end point of the {@link LineSegment} to the <code>referencePosition</code>.
      *
@@ -200,6 +231,7 @@ public class LineSegment extends Line {
      * @param point the {@link Position} to determine if it is on the segment or not.
      * @return whether or not the <code>point</code> is on this line segment.
      */
+    @Override
     public boolean isOnSegment(Position point) {
         boolean withinStartAndEnd = Math.abs(point.distance(getFirstPoint()) + point.distance(getSecondPoint()) -
                 getFirstPoint().distance(getSecondPoint())) < 0.001;
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.geometry;
+
+import com.github.mittyrobotics.datatypes.enums.RoundMode;
+import com.github.mittyrobotics.datatypes.positioning.Position;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+import java.util.Optional;
+
+/**
+ * A bounded piece of a path, such as a {@link LineSegment} or an {@link ArcSegment}.
+ */
+public interface Segment {
+    /**
+     * Gets the length of the segment.
+     *
+     * @return the length of the segment.
+     */
+    double getSegmentLength();
+
+    /**
+     * Returns whether or not <code>point</code> is on this segment.
+     *
+     * @param point the {@link Position} to check.
+     * @return whether or not <code>point</code> is on this segment.
+     */
+    boolean isOnSegment(Position point);
+
+    /**
+     * Finds the closest point on this segment to <code>referencePosition</code>, which is either its projection onto
+     * the segment or the closest end point.
+     *
+     * @param referencePosition the {@link Position} to find the closest point to.
+     * @return the closest {@link Position} on this segment.
+     */
+    Position getClosestPointOnSegment(Position referencePosition);
+
+    /**
+     * Finds the closest {@link Transform} on this segment that is <code>distanceShift</code> away from the
+     * <code>referenceTransform</code>.
+     *
+     * @param referenceTransform the {@link Transform} to find the closest point to.
+     * @param distanceShift      the distance away from the reference to find the closest point to.
+     * @param roundMode          the {@link RoundMode}
+     * @return an {@link Optional} containing the closest {@link Transform}, or empty if there is none.
+     */
+    Optional<Transform> getClosestPointOnSegment(Transform referenceTransform, double distanceShift,
+                                                 RoundMode roundMode);
+
+    /**
+     * Writes the axis aligned bounding box of this segment into <code>out</code> as
+     * <code>{minX, minY, maxX, maxY}</code>.
+     *
+     * @param out array of at least 4 elements to write the bounding box to.
+     */
+    void getBoundingBox(double[] out);
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.geometry;
+
+import com.github.mittyrobotics.datatypes.positioning.Position;
+
+import java.util.List;
+
+/**
+ * A spatial index over a fixed collection of {@link Segment}s, such as the {@link LineSegment}s and
+ * {@link ArcSegment}s of a path, for finding the segment closest to a point.
+ * <p>
+ * The segments' bounding boxes are put in a {@link BoundingBoxTree}, so a query only projects onto the segments whose
+ * boxes are closer than the best segment found so far instead of every segment.
+ *
+ * @param <S> the type of {@link Segment}
+ */
+public class SegmentIndex<S extends Segment> {
+    private final List<S> segments;
+    private final BoundingBoxTree tree;
+
+    /**
+     * Builds a {@link SegmentIndex} over <code>segments</code>. The segments should not change after the index is
+     * built.
+     *
+     * @param segments the segments to index
+     */
+    public SegmentIndex(List<S> segments) {
+        this.segments = segments;
+        int count = segments.size();
+        double[] minX = new double[count];
+        double[] minY = new double[count];
+        double[] maxX = new double[count];
+        double[] maxY = new double[count];
+        double[] box = new double[4];
+        for (int i = 0; i < count; i++) {
+            segments.get(i).getBoundingBox(box);
+            minX[i] = box[0];
+            minY[i] = box[1];
+            maxX[i] = box[2];
+            maxY[i] = box[3];
+        }
+        this.tree = new BoundingBoxTree(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Finds the index of the segment closest to <code>referencePosition</code>.
+     *
+     * @param referencePosition the {@link Position} to find the closest segment to.
+     * @return the index of the closest segment, or -1 if there are no segments.
+     */
+    public int getClosestSegmentIndex(Position referencePosition) {
+        return tree.nearest(referencePosition.getX(), referencePosition.getY(),
+                (item, x, y) -> segments.get(item).getClosestPointOnSegment(referencePosition)
+                        .distance(referencePosition));
+    }
+
+    /**
+     * Finds the segment closest to <code>referencePosition</code>.
+     *
+     * @param referencePosition the {@link Position} to find the closest segment to.
+     * @return the closest segment, or <code>null</code> if there are no segments.
+     */
+    public S getClosestSegment(Position referencePosition) {
+        int index = getClosestSegmentIndex(referencePosition);
+        return index == -1 ? null : segments.get(index);
+    }
+
+    /**
+     * Finds the closest point on any of the segments to <code>referencePosition</code>.
+     *
+     * @param referencePosition the {@link Position} to find the closest point to.
+     * @return the closest {@link Position}, or <code>null</code> if there are no segments.
+     */
+    public Position getClosestPoint(Position referencePosition) {
+        S segment = getClosestSegment(referencePosition);
+        return segment == null ? null : segment.getClosestPointOnSegment(referencePosition);
+    }
+
+    public List<S> getSegments() {
+        return segments;
+    }
+
+    public BoundingBoxTree getTree() {
+        return tree;
+    }
+}
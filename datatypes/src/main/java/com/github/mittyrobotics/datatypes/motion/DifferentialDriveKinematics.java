@@ -85,16 +85,10 @@ public class DifferentialDriveKinematics {
      */
     public static DrivetrainWheelState calculateFromLinearAndAngular(double linear, double angular,
                                                                      double trackWidth) {
-        if (linear == 0 && angular == 0) {
-            return new DrivetrainWheelState(0, 0);
-        }
-
-        //Calculate the radius given linear velocity and angular velocity
-        double radius = linear / angular;
-
-        //Return the calculated drivetrain velocities
-        return new DrivetrainWheelState(angular * (radius - (trackWidth / 2)),
-                angular * (radius + (trackWidth / 2)));
+        //Same as angular * (radius -/+ trackWidth / 2) with radius = linear / angular, without the division that
+        //breaks when driving straight
+        return new DrivetrainWheelState(linear - angular * (trackWidth / 2),
+                linear + angular * (trackWidth / 2));
     }
 
     public static double getRadiusFromWheelSpeeds(DrivetrainWheelState wheelSpeeds, double trackWidth) {
@@ -113,6 +107,19 @@ public class DifferentialDriveKinematics {
         return angularVelocity;
     }
 
+    /**
+     * Calculates the angular velocity of the robot from left and right wheel velocities without allocating. Passing
+     * wheel distances instead of velocities gives the change in heading over that distance.
+     *
+     * @param left       the left wheel velocity
+     * @param right      the right wheel velocity
+     * @param trackWidth the width between left and right wheels of the drivetrain.
+     * @return the angular velocity of the robot in radians per second
+     */
+    public static double getAngularVelocityFromWheelSpeeds(double left, double right, double trackWidth) {
+        return (right - left) / trackWidth;
+    }
+
     public static DrivetrainState calculateMaxStateFromPoint(Transform currentTransform, Transform desiredTransform,
                                                              double maxVelocity, double maxAngularVelocity,
                                                              double trackWidth) {
@@ -145,9 +152,7 @@ public class DifferentialDriveKinematics {
 
     public static Transform calculateVelocityTransform(DrivetrainState state){
         double deltaPos = (state.getLeft() + state.getRight()) / 2;
-        Rotation rotation =
-                Rotation.fromRadians(Math.atan2((state.getLeft() - state.getRight()),
-                                state.getTrackWidth()));
+        Rotation rotation = Rotation.fromCosSin(state.getTrackWidth(), state.getLeft() - state.getRight());
         Position position = new Position(rotation.cos() * deltaPos, rotation.sin() * deltaPos);
         return new Transform(position, rotation);
     }
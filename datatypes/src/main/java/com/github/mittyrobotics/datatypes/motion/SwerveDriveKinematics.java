@@ -24,9 +24,295 @@
 
 package com.github.mittyrobotics.datatypes.motion;
 
+import com.github.mittyrobotics.datatypes.positioning.Position;
 import org.ejml.simple.SimpleMatrix;
 
 public class SwerveDriveKinematics {
+    private final int moduleCount;
+    //Module positions relative to the robot center. Rectangular drivetrains use fr, fl, bl, br order
+    private final double[] moduleX;
+    private final double[] moduleY;
+    //Rows of the 3x2n pseudoinverse of the kinematics matrix, stored as {vx coefficient, vy coefficient} per module
+    private final double[] forwardVelX;
+    private final double[] forwardVelY;
+    private final double[] forwardAngular;
+
+    /**
+     * Creates a {@link SwerveDriveKinematics} for a rectangular four module swerve drivetrain. The inverse kinematics
+     * matrix and its pseudoinverse are computed once here and reused by every solve.
+     *
+     * @param length the length of the drivetrain (distance between the front and back modules)
+     * @param width  the width of the drivetrain (distance between the left and right modules)
+     */
+    public SwerveDriveKinematics(double length, double width) {
+        this(createRectangularModulePositions(length, width));
+    }
+
+    /**
+     * Creates a {@link SwerveDriveKinematics} for a swerve drivetrain with any number of modules at arbitrary
+     * positions. Module <code>i</code> contributes the rows <code>{1, 0, -y}</code> and <code>{0, 1, x}</code> to the
+     * kinematics matrix, the same convention as {@link #createSwerveKinematicsMatrix(double, double)}, so a module
+     * moves at <code>(velX - y * velRad, velY + x * velRad)</code>.
+     *
+     * @param modulePositions the {@link Position} of each module relative to the center of the robot
+     */
+    public SwerveDriveKinematics(Position... modulePositions) {
+        if (modulePositions.length < 2) {
+            throw new IllegalArgumentException("A swerve drivetrain needs at least two modules");
+        }
+        this.moduleCount = modulePositions.length;
+        this.moduleX = new double[moduleCount];
+        this.moduleY = new double[moduleCount];
+        this.forwardVelX = new double[moduleCount * 2];
+        this.forwardVelY = new double[moduleCount * 2];
+        this.forwardAngular = new double[moduleCount * 2];
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = modulePositions[i].getX();
+            moduleY[i] = modulePositions[i].getY();
+        }
+        computeForwardKinematicsMatrix();
+    }
+
+    /**
+     * Creates the module positions of a rectangular swerve drivetrain in fr, fl, bl, br order.
+     *
+     * @param length the length of the drivetrain
+     * @param width  the width of the drivetrain
+     * @return the four module positions
+     */
+    public static Position[] createRectangularModulePositions(double length, double width) {
+        double l2 = length / 2;
+        double w2 = width / 2;
+        //Same module layout as createSwerveKinematicsMatrix
+        return new Position[]{
+                new Position(l2, -w2),
+                new Position(l2, w2),
+                new Position(-l2, w2),
+                new Position(-l2, -w2)
+        };
+    }
+
+    /**
+     * Computes the pseudoinverse (A^T A)^-1 A^T of the 2n x 3 kinematics matrix in closed form. A has full column
+     * rank so this is the same least squares solution the SVD pseudoinverse gives.
+     */
+    private void computeForwardKinematicsMatrix() {
+        //Each module contributes the rows {1, 0, -y} and {0, 1, x}, so A^T A only needs a few sums
+        double sumX = 0;
+        double sumY = 0;
+        double sumSquares = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            sumX += moduleX[i];
+            sumY += moduleY[i];
+            sumSquares += moduleX[i] * moduleX[i] + moduleY[i] * moduleY[i];
+        }
+        double n = moduleCount;
+        //Symmetric 3x3 matrix [[n, 0, -sumY], [0, n, sumX], [-sumY, sumX, sumSquares]]
+        double a00 = n, a02 = -sumY, a11 = n, a12 = sumX, a22 = sumSquares;
+        //Cofactors of the symmetric matrix
+        double c00 = a11 * a22 - a12 * a12;
+        double c01 = a12 * a02;
+        double c02 = -a11 * a02;
+        double c11 = a00 * a22 - a02 * a02;
+        double c12 = -a00 * a12;
+        double c22 = a00 * a11;
+        double det = a00 * c00 + a02 * c02;
+        if (Math.abs(det) < 1e-12) {
+            throw new IllegalArgumentException("Swerve module positions do not define a solvable drivetrain");
+        }
+        double i00 = c00 / det, i01 = c01 / det, i02 = c02 / det;
+        double i11 = c11 / det, i12 = c12 / det, i22 = c22 / det;
+        //Multiply the inverse by A^T
+        for (int i = 0; i < moduleCount; i++) {
+            double x = moduleX[i];
+            double y = moduleY[i];
+            forwardVelX[i * 2] = i00 - i02 * y;
+            forwardVelX[i * 2 + 1] = i01 + i02 * x;
+            forwardVelY[i * 2] = i01 - i12 * y;
+            forwardVelY[i * 2 + 1] = i11 + i12 * x;
+            forwardAngular[i * 2] = i02 - i22 * y;
+            forwardAngular[i * 2 + 1] = i12 + i22 * x;
+        }
+    }
+
+    /**
+     * Solves the inverse kinematics, writing each module's wheel velocity and steer angle into the given arrays in
+     * module order. Does not allocate.
+     *
+     * @param velX        the robot x velocity
+     * @param velY        the robot y velocity
+     * @param velRad      the robot angular velocity in radians per second
+     * @param wheelStates output array with a wheel velocity for each module velocities
+     * @param steerStates output array with a steer angle in radians for each module
+     */
+    public void solveInverseKinematics(double velX, double velY, double velRad, double[] wheelStates,
+                                       double[] steerStates) {
+        for (int i = 0; i < moduleCount; i++) {
+            double vx = velX - moduleY[i] * velRad;
+            double vy = velY + moduleX[i] * velRad;
+            wheelStates[i] = Math.sqrt(vx * vx + vy * vy);
+            steerStates[i] = Math.atan2(vy, vx);
+        }
+    }
+
+    /**
+     * Solves the inverse kinematics for the robot velocity stored in <code>state</code>, updating its existing module
+     * states in place.
+     *
+     * @param state the {@link SwerveDriveState} to read the robot velocity from and write the module states to
+     */
+    public void solveInverseKinematics(SwerveDriveState state) {
+        double velX = state.getVelX();
+        double velY = state.getVelY();
+        double velRad = state.getAngularVel();
+        for (int i = 0; i < moduleCount; i++) {
+            setModuleState(state.getModuleState(i), velX, velY, velRad, i);
+        }
+    }
+
+    private void setModuleState(SwerveModuleState moduleState, double velX, double velY, double velRad, int i) {
+        double vx = velX - moduleY[i] * velRad;
+        double vy = velY + moduleX[i] * velRad;
+        moduleState.setWheelState(Math.sqrt(vx * vx + vy * vy));
+        moduleState.setSteerState(Math.atan2(vy, vx));
+    }
+
+    /**
+     * Solves the forward kinematics from module wheel velocities and steer angles in module order, writing
+     * the x velocity, y velocity, and angular velocity of the robot into <code>out</code>. Does not allocate.
+     *
+     * @param wheelStates the wheel velocity of each module
+     * @param steerStates the steer angle of each module in radians
+     * @param out         output array of at least 3 elements
+     */
+    public void solveForwardKinematics(double[] wheelStates, double[] steerStates, double[] out) {
+        double velX = 0;
+        double velY = 0;
+        double velRad = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            double vx = Math.cos(steerStates[i]) * wheelStates[i];
+            double vy = Math.sin(steerStates[i]) * wheelStates[i];
+            velX += forwardVelX[i * 2] * vx + forwardVelX[i * 2 + 1] * vy;
+            velY += forwardVelY[i * 2] * vx + forwardVelY[i * 2 + 1] * vy;
+            velRad += forwardAngular[i * 2] * vx + forwardAngular[i * 2 + 1] * vy;
+        }
+        out[0] = velX;
+        out[1] = velY;
+        out[2] = velRad;
+    }
+
+    /**
+     * Solves the forward kinematics for the module states stored in <code>state</code>, writing the robot velocity
+     * into it in place.
+     *
+     * @param state the {@link SwerveDriveState} to read the module states from and write the robot velocity to
+     */
+    public void solveForwardKinematics(SwerveDriveState state) {
+        double velX = 0;
+        double velY = 0;
+        double velRad = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            SwerveModuleState moduleState = state.getModuleState(i);
+            double vx = Math.cos(moduleState.getSteerState()) * moduleState.getWheelState();
+            double vy = Math.sin(moduleState.getSteerState()) * moduleState.getWheelState();
+            velX += forwardVelX[i * 2] * vx + forwardVelX[i * 2 + 1] * vy;
+            velY += forwardVelY[i * 2] * vx + forwardVelY[i * 2 + 1] * vy;
+            velRad += forwardAngular[i * 2] * vx + forwardAngular[i * 2 + 1] * vy;
+        }
+        state.setVelX(velX);
+        state.setVelY(velY);
+        state.setAngularVel(velRad);
+    }
+
+    /**
+     * Scales all wheel velocities down proportionally if any of them exceeds <code>maxWheelState</code>, keeping the
+     * direction of the robot's motion. Does not allocate.
+     *
+     * @param wheelStates   the wheel velocity of each module, modified in place
+     * @param maxWheelState the maximum wheel velocity of a module
+     */
+    public void desaturateWheelStates(double[] wheelStates, double maxWheelState) {
+        double max = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            max = Math.max(max, Math.abs(wheelStates[i]));
+        }
+        if (max > maxWheelState) {
+            double scale = maxWheelState / max;
+            for (int i = 0; i < moduleCount; i++) {
+                wheelStates[i] *= scale;
+            }
+        }
+    }
+
+    /**
+     * Scales the wheel states of <code>state</code> down proportionally if any of them exceeds
+     * <code>maxWheelState</code>. The robot velocity stored in <code>state</code> is scaled by the same amount.
+     *
+     * @param state         the {@link SwerveDriveState} to desaturate
+     * @param maxWheelState the maximum wheel velocity of a module
+     */
+    public void desaturateWheelStates(SwerveDriveState state, double maxWheelState) {
+        double max = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            max = Math.max(max, Math.abs(state.getModuleState(i).getWheelState()));
+        }
+        if (max > maxWheelState) {
+            double scale = maxWheelState / max;
+            for (int i = 0; i < moduleCount; i++) {
+                SwerveModuleState moduleState = state.getModuleState(i);
+                moduleState.setWheelState(moduleState.getWheelState() * scale);
+            }
+            state.setVelX(state.getVelX() * scale);
+            state.setVelY(state.getVelY() * scale);
+            state.setAngularVel(state.getAngularVel() * scale);
+        }
+    }
+
+    /**
+     * Optimizes every module's steer angle to minimize steering motion from its current angle, reversing the wheel
+     * velocity when turning to the opposite angle is shorter. See {@link SwerveModuleState#optimize(double)}.
+     *
+     * @param wheelStates        the wheel velocity of each module, modified in place
+     * @param steerStates        the desired steer angle of each module in radians, modified in place
+     * @param currentSteerStates the current steer angle of each module in radians
+     */
+    public void optimizeModuleStates(double[] wheelStates, double[] steerStates, double[] currentSteerStates) {
+        for (int i = 0; i < moduleCount; i++) {
+            wheelStates[i] = SwerveModuleState.optimizeWheelState(wheelStates[i], steerStates[i],
+                    currentSteerStates[i]);
+            steerStates[i] = SwerveModuleState.optimizeSteerState(steerStates[i], currentSteerStates[i]);
+        }
+    }
+
+    /**
+     * Optimizes the module states of <code>state</code> in place. See {@link SwerveModuleState#optimize(double)}.
+     *
+     * @param state              the {@link SwerveDriveState} with the desired module states
+     * @param currentSteerStates the current steer angle of each module in radians
+     */
+    public void optimizeModuleStates(SwerveDriveState state, double[] currentSteerStates) {
+        for (int i = 0; i < moduleCount; i++) {
+            state.getModuleState(i).optimize(currentSteerStates[i]);
+        }
+    }
+
+    /**
+     * Creates a zeroed {@link SwerveDriveState} with one module state per module of this drivetrain.
+     *
+     * @return a new {@link SwerveDriveState}
+     */
+    public SwerveDriveState createState() {
+        return new SwerveDriveState(moduleCount);
+    }
+
+    public int getModuleCount() {
+        return moduleCount;
+    }
+
+    public Position getModulePosition(int index) {
+        return new Position(moduleX[index], moduleY[index]);
+    }
+
     /**
      * Solves the forward kinematics for a swerve drivetrain.
      * From equation 12.17 in https://file.tavsys.net/control/controls-engineering-in-frc.pdf.
@@ -42,23 +328,9 @@ public class SwerveDriveKinematics {
     public static SwerveDriveState solveForwardKinematics(double l, double w, SwerveModuleState frState,
                                                           SwerveModuleState flState, SwerveModuleState blState,
                                                           SwerveModuleState brState) {
-        //Create kinematics matrix and pseudoinverse it to solve for forward kinematics instead of inverse kinematics
-        SimpleMatrix forwardKinematicsMatrix = createSwerveKinematicsMatrix(l, w).pseudoInverse();
-        double[] inputMatrixVals = new double[8];
-        SwerveModuleState[] swerveModuleStates = new SwerveModuleState[]{frState, flState, blState, brState};
-        //Map swerve module states into the 8x1 module velocity vector matrix
-        for (int i = 0; i < inputMatrixVals.length; i += 2) {
-            double vx = Math.cos(swerveModuleStates[i / 2].getSteerState()) * swerveModuleStates[i / 2].getWheelState();
-            double vy = Math.sin(swerveModuleStates[i / 2].getSteerState()) * swerveModuleStates[i / 2].getWheelState();
-            inputMatrixVals[i] = vx;
-            inputMatrixVals[i + 1] = vy;
-        }
-        SimpleMatrix inputMatrix = new SimpleMatrix(8, 1, true, inputMatrixVals);
-        //Solve the forward kinematics
-        SimpleMatrix solvedMatrix = forwardKinematicsMatrix.mult(inputMatrix);
-
-        return new SwerveDriveState(solvedMatrix.get(0), solvedMatrix.get(1), solvedMatrix.get(2), frState, flState,
-                blState, brState);
+        SwerveDriveState state = new SwerveDriveState(0, 0, 0, frState, flState, blState, brState);
+        new SwerveDriveKinematics(l, w).solveForwardKinematics(state);
+        return state;
     }
 
     /**
@@ -97,34 +369,14 @@ public class SwerveDriveKinematics {
      * @return
      */
     public static SwerveDriveState solveInverseKinematics(double l, double w, double velX, double velY, double velRad) {
-        //Create swerve drive kinematics matrix
-        SimpleMatrix inverseKinematicsMatrix = createSwerveKinematicsMatrix(l, w);
-        //Create input matrix, a 3x1 matrix that contains the x, y, and angualr velocity
-        SimpleMatrix inputMatrix = new SimpleMatrix(new double[][]{
-                {velX},
-                {velY},
-                {velRad}
-        });
-        //Solve the inverse kinematics
-        SimpleMatrix solvedMatrix = inverseKinematicsMatrix.mult(inputMatrix);
-
-        SwerveModuleState[] swerveModuleStates = new SwerveModuleState[4];
-        //Map x and y velocity vectors to respective swerve module states
-        for (int i = 0; i < solvedMatrix.getNumElements(); i += 2) {
-            double vx = solvedMatrix.get(i);
-            double vy = solvedMatrix.get(i + 1);
-            double v = Math.sqrt(vx * vx + vy * vy);
-            double theta = Math.atan2(vy, vx);
-            swerveModuleStates[i / 2] = new SwerveModuleState(v, theta);
-        }
-
-        return new SwerveDriveState(velX, velY, velRad, swerveModuleStates[0], swerveModuleStates[1],
-                swerveModuleStates[2], swerveModuleStates[3]);
+        SwerveDriveState state = new SwerveDriveState(velX, velY, velRad);
+        new SwerveDriveKinematics(l, w).solveInverseKinematics(state);
+        return state;
     }
 
     /**
      * Creates the swerve drive 8x3 inverse kinematics matrix. Maps x, y, and angular velocity to individual swerve
-     * module x and y velocity vectors.
+     * module x and y velocity vectors, with a module at (x, y) moving at (velX - y * velRad, velY + x * velRad).
      * From equation 12.14 in https://file.tavsys.net/control/controls-engineering-in-frc.pdf.
      *
      * @param l
@@ -143,13 +395,13 @@ public class SwerveDriveKinematics {
         double brX = -l2;
         double brY = -w2;
         return new SimpleMatrix(new double[][]{
-                {1, 0, frY},
+                {1, 0, -frY},
                 {0, 1, frX},
-                {1, 0, flY},
+                {1, 0, -flY},
                 {0, 1, flX},
-                {1, 0, blY},
+                {1, 0, -blY},
                 {0, 1, blX},
-                {1, 0, brY},
+                {1, 0, -brY},
                 {0, 1, brX}
         });
     }
@@ -25,10 +25,8 @@
 package com.github.mittyrobotics.datatypes.motion;
 
 public class SwerveDriveState {
-    private SwerveModuleState frState = new SwerveModuleState(0, 0);
-    private SwerveModuleState flState = new SwerveModuleState(0, 0);
-    private SwerveModuleState blState = new SwerveModuleState(0, 0);
-    private SwerveModuleState brState = new SwerveModuleState(0, 0);
+    //Module states, with the four module drivetrain stored in fr, fl, bl, br order
+    private final SwerveModuleState[] moduleStates;
     private double velX;
     private double velY;
     private double angularVel;
@@ -40,13 +38,35 @@ public class SwerveDriveState {
 
     public SwerveDriveState(double velX, double velY, double angularVel, SwerveModuleState frState,
                             SwerveModuleState flState, SwerveModuleState blState, SwerveModuleState brState) {
+        this(velX, velY, angularVel, new SwerveModuleState[]{frState, flState, blState, brState});
+    }
+
+    /**
+     * Creates a {@link SwerveDriveState} for a drivetrain with any number of modules.
+     *
+     * @param velX         the robot x velocity
+     * @param velY         the robot y velocity
+     * @param angularVel   the robot angular velocity
+     * @param moduleStates the module states, in the same order as the module positions of the
+     *                     {@link SwerveDriveKinematics} they are used with
+     */
+    public SwerveDriveState(double velX, double velY, double angularVel, SwerveModuleState[] moduleStates) {
         this.velX = velX;
         this.velY = velY;
         this.angularVel = angularVel;
-        this.frState = frState;
-        this.flState = flState;
-        this.blState = blState;
-        this.brState = brState;
+        this.moduleStates = moduleStates;
+    }
+
+    /**
+     * Creates a zeroed {@link SwerveDriveState} with <code>moduleCount</code> modules.
+     *
+     * @param moduleCount the number of swerve modules
+     */
+    public SwerveDriveState(int moduleCount) {
+        this(0, 0, 0, new SwerveModuleState[moduleCount]);
+        for (int i = 0; i < moduleCount; i++) {
+            moduleStates[i] = new SwerveModuleState();
+        }
     }
 
     public SwerveDriveState(double velX, double velY, double angularVel) {
@@ -103,35 +123,51 @@ public class SwerveDriveState {
                 '}';
     }
 
+    public int getModuleCount() {
+        return moduleStates.length;
+    }
+
+    public SwerveModuleState getModuleState(int index) {
+        return moduleStates[index];
+    }
+
+    public void setModuleState(int index, SwerveModuleState moduleState) {
+        moduleStates[index] = moduleState;
+    }
+
+    public SwerveModuleState[] getModuleStates() {
+        return moduleStates;
+    }
+
     public SwerveModuleState getFrState() {
-        return frState;
+        return moduleStates[0];
     }
 
     public void setFrState(SwerveModuleState frState) {
-        this.frState = frState;
+        moduleStates[0] = frState;
     }
 
     public SwerveModuleState getFlState() {
-        return flState;
+        return moduleStates[1];
     }
 
     public void setFlState(SwerveModuleState flState) {
-        this.flState = flState;
+        moduleStates[1] = flState;
     }
 
     public SwerveModuleState getBlState() {
-        return blState;
+        return moduleStates[2];
     }
 
     public void setBlState(SwerveModuleState blState) {
-        this.blState = blState;
+        moduleStates[2] = blState;
     }
 
     public SwerveModuleState getBrState() {
-        return brState;
+        return moduleStates[3];
     }
 
     public void setBrState(SwerveModuleState brState) {
-        this.brState = brState;
+        moduleStates[3] = brState;
     }
 }
@@ -37,6 +37,55 @@ public class SwerveModuleState {
         this.steerState = steerState;
     }
 
+    /**
+     * Optimizes this module state in place to minimize steering motion from <code>currentSteerState</code>.
+     * <p>
+     * The steer angle is moved to the equivalent angle closest to <code>currentSteerState</code>. If that is more than
+     * 90 degrees away, the module is turned to the opposite angle instead and the wheel state is reversed. The
+     * resulting steer state is continuous with <code>currentSteerState</code> rather than wrapped.
+     *
+     * @param currentSteerState the current steer angle of the module in radians
+     */
+    public void optimize(double currentSteerState) {
+        wheelState = optimizeWheelState(wheelState, steerState, currentSteerState);
+        steerState = optimizeSteerState(steerState, currentSteerState);
+    }
+
+    /**
+     * Returns the steer angle equivalent to <code>steerState</code> or its opposite that is closest to
+     * <code>currentSteerState</code>, which is at most 90 degrees away from it.
+     *
+     * @param steerState        the desired steer angle in radians
+     * @param currentSteerState the current steer angle in radians
+     * @return the optimized steer angle in radians
+     * @see #optimize(double)
+     */
+    public static double optimizeSteerState(double steerState, double currentSteerState) {
+        return steerState - getHalfTurns(steerState, currentSteerState) * Math.PI;
+    }
+
+    /**
+     * Returns <code>wheelState</code>, reversed if {@link #optimizeSteerState(double, double)} turns the module to
+     * the opposite angle.
+     *
+     * @param wheelState        the desired wheel state
+     * @param steerState        the desired steer angle in radians
+     * @param currentSteerState the current steer angle in radians
+     * @return the optimized wheel state
+     * @see #optimize(double)
+     */
+    public static double optimizeWheelState(double wheelState, double steerState, double currentSteerState) {
+        return (getHalfTurns(steerState, currentSteerState) & 1) == 0 ? wheelState : -wheelState;
+    }
+
+    /**
+     * Returns the number of half turns between <code>steerState</code> and the closest angle to
+     * <code>currentSteerState</code> that points the module along the same line.
+     */
+    private static long getHalfTurns(double steerState, double currentSteerState) {
+        return (long) Math.rint((steerState - currentSteerState) / Math.PI);
+    }
+
     public double getWheelState() {
         return wheelState;
     }
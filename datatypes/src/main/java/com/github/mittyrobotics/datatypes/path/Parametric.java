@@ -82,6 +82,38 @@ public abstract class Parametric {
      */
     public abstract Position getSecondDerivative(double t);
 
+    /**
+     * Writes an axis aligned bounding box of the {@link Parametric} between <code>t = 0</code> and <code>t = 1</code>
+     * into <code>out</code> as <code>{minX, minY, maxX, maxY}</code>.
+     * <p>
+     * By default this bounds 33 evenly spaced samples and pads the box by half of the longest arc length between two
+     * neighbouring samples. Every point of the curve is within that distance of a sample, so the box contains the
+     * whole curve. Splines override this with the box of their control points, which is tighter.
+     *
+     * @param out array of at least 4 elements to write the bounding box to.
+     */
+    public void getBoundingBox(double[] out) {
+        out[0] = Double.POSITIVE_INFINITY;
+        out[1] = Double.POSITIVE_INFINITY;
+        out[2] = Double.NEGATIVE_INFINITY;
+        out[3] = Double.NEGATIVE_INFINITY;
+        double padding = 0;
+        for (int i = 0; i <= 32; i++) {
+            Position position = getPosition(i / 32.0);
+            out[0] = Math.min(out[0], position.getX());
+            out[1] = Math.min(out[1], position.getY());
+            out[2] = Math.max(out[2], position.getX());
+            out[3] = Math.max(out[3], position.getY());
+            if (i > 0) {
+                padding = Math.max(padding, getGaussianQuadratureLength((i - 1) / 32.0, i / 32.0) / 2);
+            }
+        }
+        out[0] -= padding;
+        out[1] -= padding;
+        out[2] += padding;
+        out[3] += padding;
+    }
+
     /**
      * Computes the estimated length of the parametric by counting the length of each segment for every step. This is
      * slower but more accurate than the Gaussian quatrature method.
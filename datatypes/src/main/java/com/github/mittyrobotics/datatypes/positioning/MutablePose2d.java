@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.datatypes.positioning;
+
+/**
+ * A mutable 2d pose (x, y, and heading) for allocation-free pose math in control and odometry loops.
+ * <p>
+ * Operations modify this pose in place and return it so they can be chained. The cosine and sine of the heading are
+ * stored alongside it and are updated by composition rather than recomputed, so rotating or relating poses does not
+ * call any trig functions. Use {@link #set(Transform)} and {@link #toTransform()} to convert to and from the
+ * immutable {@link Transform}.
+ */
+public class MutablePose2d {
+    private double x;
+    private double y;
+    private double heading;
+    private double cos;
+    private double sin;
+
+    public MutablePose2d() {
+        this(0, 0, 0);
+    }
+
+    public MutablePose2d(double x, double y, double heading) {
+        set(x, y, heading);
+    }
+
+    public MutablePose2d(Transform transform) {
+        set(transform);
+    }
+
+    public MutablePose2d(MutablePose2d other) {
+        set(other);
+    }
+
+    /**
+     * Sets this pose.
+     *
+     * @param x       the x position
+     * @param y       the y position
+     * @param heading the heading in radians
+     * @return this pose
+     */
+    public MutablePose2d set(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        return setHeading(heading);
+    }
+
+    /**
+     * Sets this pose to <code>other</code>.
+     *
+     * @param other the pose to copy
+     * @return this pose
+     */
+    public MutablePose2d set(MutablePose2d other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.heading = other.heading;
+        this.cos = other.cos;
+        this.sin = other.sin;
+        return this;
+    }
+
+    /**
+     * Sets this pose to a {@link Transform}, reusing the trig values already cached in its {@link Rotation}.
+     *
+     * @param transform the {@link Transform} to copy
+     * @return this pose
+     */
+    public MutablePose2d set(Transform transform) {
+        Rotation rotation = transform.getRotation();
+        this.x = transform.getPosition().getX();
+        this.y = transform.getPosition().getY();
+        this.heading = rotation.getRadians();
+        this.cos = rotation.cos();
+        this.sin = rotation.sin();
+        return this;
+    }
+
+    public MutablePose2d setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Sets the heading of this pose.
+     *
+     * @param heading the heading in radians
+     * @return this pose
+     */
+    public MutablePose2d setHeading(double heading) {
+        this.heading = heading;
+        this.cos = Math.cos(heading);
+        this.sin = Math.sin(heading);
+        return this;
+    }
+
+    /**
+     * Translates this pose in the field frame.
+     *
+     * @param deltaX the change in x
+     * @param deltaY the change in y
+     * @return this pose
+     */
+    public MutablePose2d translate(double deltaX, double deltaY) {
+        this.x += deltaX;
+        this.y += deltaY;
+        return this;
+    }
+
+    /**
+     * Translates this pose along its own heading.
+     *
+     * @param forward the distance to move forward
+     * @param left    the distance to move left
+     * @return this pose
+     */
+    public MutablePose2d translateRelative(double forward, double left) {
+        this.x += forward * cos - left * sin;
+        this.y += forward * sin + left * cos;
+        return this;
+    }
+
+    /**
+     * Rotates the heading of this pose by <code>radians</code>. The position is not rotated.
+     *
+     * @param radians the angle in radians to rotate the heading by
+     * @return this pose
+     */
+    public MutablePose2d rotateBy(double radians) {
+        return rotateBy(radians, Math.cos(radians), Math.sin(radians));
+    }
+
+    /**
+     * Rotates the heading of this pose by a {@link Rotation}, reusing its cached trig values. The position is not
+     * rotated.
+     *
+     * @param rotation the {@link Rotation} to rotate the heading by
+     * @return this pose
+     */
+    public MutablePose2d rotateBy(Rotation rotation) {
+        return rotateBy(rotation.getRadians(), rotation.cos(), rotation.sin());
+    }
+
+    private MutablePose2d rotateBy(double radians, double cos, double sin) {
+        double newCos = this.cos * cos - this.sin * sin;
+        double newSin = this.sin * cos + this.cos * sin;
+        this.heading += radians;
+        this.cos = newCos;
+        this.sin = newSin;
+        return this;
+    }
+
+    /**
+     * Transforms this pose by a change in pose given in this pose's frame.
+     *
+     * @param deltaX       the change in x relative to this pose
+     * @param deltaY       the change in y relative to this pose
+     * @param deltaHeading the change in heading in radians
+     * @return this pose
+     */
+    public MutablePose2d transformBy(double deltaX, double deltaY, double deltaHeading) {
+        translateRelative(deltaX, deltaY);
+        return rotateBy(deltaHeading);
+    }
+
+    /**
+     * Moves this pose along a constant curvature arc, the exponential map of the twist <code>(deltaX, deltaY,
+     * deltaHeading)</code> given in this pose's frame. Unlike {@link #transformBy(double, double, double)}, which
+     * moves in a straight line along the starting heading, this follows the curve the robot actually drives when its
+     * velocities are constant over the step.
+     *
+     * @param deltaX       the distance moved forward along the arc
+     * @param deltaY       the distance moved left along the arc
+     * @param deltaHeading the change in heading in radians
+     * @return this pose
+     */
+    public MutablePose2d transformByTwist(double deltaX, double deltaY, double deltaHeading) {
+        double cosDelta = Math.cos(deltaHeading);
+        double sinDelta = Math.sin(deltaHeading);
+        double s;
+        double c;
+        if (Math.abs(deltaHeading) < 1e-9) {
+            //Taylor series of sin(x) / x and (1 - cos(x)) / x near 0
+            s = 1.0 - deltaHeading * deltaHeading / 6.0;
+            c = deltaHeading / 2.0;
+        } else {
+            s = sinDelta / deltaHeading;
+            c = (1 - cosDelta) / deltaHeading;
+        }
+        translateRelative(deltaX * s - deltaY * c, deltaX * c + deltaY * s);
+        return rotateBy(deltaHeading, cosDelta, sinDelta);
+    }
+
+    /**
+     * Transforms this pose by <code>other</code>, given in this pose's frame.
+     *
+     * @param other the change in pose relative to this pose
+     * @return this pose
+     */
+    public MutablePose2d transformBy(MutablePose2d other) {
+        translateRelative(other.x, other.y);
+        return rotateBy(other.heading, other.cos, other.sin);
+    }
+
+    /**
+     * Makes this pose relative to <code>other</code>, as if <code>other</code> became the origin.
+     *
+     * @param other the pose to act as the new origin
+     * @return this pose
+     * @see Transform#relativeTo(Transform)
+     */
+    public MutablePose2d relativeTo(MutablePose2d other) {
+        return relativeTo(other.x, other.y, other.heading, other.cos, other.sin);
+    }
+
+    /**
+     * Makes this pose relative to a {@link Transform}, as if <code>other</code> became the origin.
+     *
+     * @param other the {@link Transform} to act as the new origin
+     * @return this pose
+     * @see Transform#relativeTo(Transform)
+     */
+    public MutablePose2d relativeTo(Transform other) {
+        Rotation rotation = other.getRotation();
+        return relativeTo(other.getPosition().getX(), other.getPosition().getY(), rotation.getRadians(),
+                rotation.cos(), rotation.sin());
+    }
+
+    private MutablePose2d relativeTo(double originX, double originY, double originHeading, double originCos,
+                                     double originSin) {
+        double dx = x - originX;
+        double dy = y - originY;
+        this.x = dx * originCos + dy * originSin;
+        this.y = -dx * originSin + dy * originCos;
+        double newCos = cos * originCos + sin * originSin;
+        double newSin = sin * originCos - cos * originSin;
+        this.heading -= originHeading;
+        this.cos = newCos;
+        this.sin = newSin;
+        return this;
+    }
+
+    public double distance(double x, double y) {
+        return Math.hypot(this.x - x, this.y - y);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Returns the heading in radians.
+     *
+     * @return the heading in radians
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    public double cos() {
+        return cos;
+    }
+
+    public double sin() {
+        return sin;
+    }
+
+    /**
+     * Returns the sinc of the heading, which is the sine of the heading over the heading. The sinc of 0 is 1.
+     *
+     * @return the sinc of the heading
+     */
+    public double sinc() {
+        if (Math.abs(heading) < 1e-9) {
+            return 1.0 - heading * heading / 6.0;
+        }
+        return sin / heading;
+    }
+
+    public Position toPosition() {
+        return new Position(x, y);
+    }
+
+    public Rotation toRotation() {
+        return new Rotation(heading);
+    }
+
+    public Transform toTransform() {
+        return new Transform(x, y, heading);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MutablePose2d(%s, %s, %s)", x, y, Math.toDegrees(heading));
+    }
+}
@@ -96,7 +96,7 @@ public class Position {
     public Rotation angleTo(Position other) {
         double x = getX() - other.getX();
         double y = getY() - other.getY();
-        return new Rotation(Math.atan2(y, x));
+        return Rotation.fromCosSin(x, y);
     }
 
     /**
@@ -159,6 +159,17 @@ public class Position {
         return new Position(-x, -y);
     }
 
+    /**
+     * Linearly interpolates between this {@link Position} and <code>end</code>.
+     *
+     * @param end      the {@link Position} at a fraction of 1
+     * @param fraction the fraction between this (0) and <code>end</code> (1)
+     * @return a new interpolated {@link Position}
+     */
+    public Position interpolate(Position end, double fraction) {
+        return new Position(x + (end.x - x) * fraction, y + (end.y - y) * fraction);
+    }
+
     public double getX() {
         return x;
     }
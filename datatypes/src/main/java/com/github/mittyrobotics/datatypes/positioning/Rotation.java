@@ -29,7 +29,13 @@ package com.github.mittyrobotics.datatypes.positioning;
  * value.
  * <p>
  * For performance, the trig functions are only calculated on demand, and are only calculated once in each {@link
- * Rotation}. Inspired by team 254's geometry system: https://github.com/Team254/FRC-2019-Public/blob/master/src/main/java/com/team254/lib/geometry/
+ * Rotation}. A {@link Rotation} can also be stored as a unit complex number (cosine, sine) with {@link
+ * #fromCosSin(double, double)}, in which case the angle is only calculated on demand. Composing rotations ({@link
+ * #add(Rotation)}, {@link #subtract(Rotation)}, {@link #inverse()}, and {@link #rotateBy(Rotation)}) multiplies the
+ * cosine and sine of the operands and carries them into the result, so chains of operations don't call trig
+ * functions again.
+ * Inspired by team 254's geometry system:
+ * https://github.com/Team254/FRC-2019-Public/blob/master/src/main/java/com/team254/lib/geometry/
  */
 public class Rotation {
     private double radians;
@@ -46,6 +52,29 @@ public class Rotation {
         this.radians = radians;
     }
 
+    private Rotation(double radians, double cos, double sin) {
+        this.radians = radians;
+        this.cos = cos;
+        this.sin = sin;
+    }
+
+    /**
+     * Returns a {@link Rotation} from the cosine and sine of an angle, a unit complex number. The input is normalized,
+     * so any vector pointing in the direction of the angle can be used, such as <code>(dx, dy)</code>. The angle is
+     * only calculated when it is needed, and is between -pi and pi.
+     *
+     * @param cos the cosine of the angle, or the x component of a vector in the direction of the angle
+     * @param sin the sine of the angle, or the y component of a vector in the direction of the angle
+     * @return a new {@link Rotation} from the input cosine and sine
+     */
+    public static Rotation fromCosSin(double cos, double sin) {
+        double magnitude = Math.hypot(cos, sin);
+        if (magnitude == 0) {
+            return new Rotation(0, 1, 0);
+        }
+        return new Rotation(Double.NaN, cos / magnitude, sin / magnitude);
+    }
+
     /**
      * Returns a {@link Rotation} from an input degree angle
      *
@@ -72,6 +101,9 @@ public class Rotation {
      * @return the angle value in radians
      */
     public double getRadians() {
+        if (Double.isNaN(radians)) {
+            radians = Math.atan2(sin, cos);
+        }
         return radians;
     }
 
@@ -135,13 +167,13 @@ public class Rotation {
     /**
      * Returns the sinc of the radians
      * <p>
-     * Sinc is sine of radians over radians
+     * Sinc is sine of radians over radians, and the sinc of 0 is 1
      *
      * @return the sinc of the radians
      */
     public double sinc() {
         if (getRadians() == 0) {
-            return 0;
+            return 1;
         }
         return sin() / getRadians();
     }
@@ -170,7 +202,7 @@ public class Rotation {
      * @return the inverse {@link Rotation} of this
      */
     public Rotation inverse() {
-        return new Rotation(inverseRadians());
+        return new Rotation(-radians, cos, -sin);
     }
 
     /**
@@ -180,7 +212,7 @@ public class Rotation {
      * @return a new {@link Rotation} with this and <code>other</code> added together
      */
     public Rotation add(Rotation other) {
-        return new Rotation(getRadians() + other.getRadians());
+        return compose(other, 1);
     }
 
     /**
@@ -190,7 +222,25 @@ public class Rotation {
      * @return a new {@link Rotation} with this subtracted by <code>other</code>
      */
     public Rotation subtract(Rotation other) {
-        return new Rotation(getRadians() - other.getRadians());
+        return compose(other, -1);
+    }
+
+    /**
+     * Composes this {@link Rotation} with <code>other</code> or its inverse.
+     * <p>
+     * The cosine and sine are multiplied as complex numbers, so only an operand that was never asked for its cosine
+     * and sine calculates them. When both angles are known they are added without wrapping, so angular velocities keep
+     * their magnitude and headings keep accumulating. Otherwise the angle is left to be calculated on demand from the
+     * result, between -pi and pi.
+     */
+    private Rotation compose(Rotation other, double sign) {
+        double otherCos = other.cos();
+        double otherSin = sign * other.sin();
+        double cos = cos();
+        double sin = sin();
+        //NaN if either angle is only stored as a unit complex number
+        double radians = this.radians + sign * other.radians;
+        return new Rotation(radians, cos * otherCos - sin * otherSin, sin * otherCos + cos * otherSin);
     }
 
     /**
@@ -200,7 +250,7 @@ public class Rotation {
      * @return a new {@link Rotation} multiplied by <code>scalar</code>.
      */
     public Rotation multiply(double scalar) {
-        return new Rotation(radians * scalar);
+        return new Rotation(getRadians() * scalar);
     }
 
     /**
@@ -210,7 +260,7 @@ public class Rotation {
      * @return a new {@link Rotation} divided by <code>scalar</code>.
      */
     public Rotation divide(double scalar) {
-        return new Rotation(radians / scalar);
+        return new Rotation(getRadians() / scalar);
     }
 
     /**
@@ -234,11 +284,12 @@ public class Rotation {
     }
 
     public Rotation abs() {
-        return Rotation.fromRadians(Math.abs(radians));
+        return Rotation.fromRadians(Math.abs(getRadians()));
     }
 
     /**
-     * Rotates this {@link Rotation} by <code>other</code>
+     * Rotates this {@link Rotation} by <code>other</code>. Unlike {@link #add(Rotation)}, the resulting angle is
+     * wrapped between -pi and pi.
      *
      * @param other the {@link Rotation} to rotate this {@link Rotation} by
      * @return a new {@link Rotation} containing the angle of this {@link Rotation} rotated by <code>other</code>
@@ -246,7 +297,20 @@ public class Rotation {
     public Rotation rotateBy(Rotation other) {
         double cos = cos() * other.cos() - sin() * other.sin();
         double sin = cos() * other.sin() + sin() * other.cos();
-        return new Rotation(Math.toDegrees(Math.atan2(sin, cos)));
+        return new Rotation(Double.NaN, cos, sin);
+    }
+
+    /**
+     * Spherically interpolates between this {@link Rotation} and <code>end</code>, moving along the shortest arc
+     * between the two headings.
+     *
+     * @param end      the {@link Rotation} at a fraction of 1
+     * @param fraction the fraction between this (0) and <code>end</code> (1)
+     * @return a new interpolated {@link Rotation}
+     */
+    public Rotation interpolate(Rotation end, double fraction) {
+        double delta = Math.atan2(end.sin() * cos() - end.cos() * sin(), end.cos() * cos() + end.sin() * sin());
+        return new Rotation(getRadians() + delta * fraction);
     }
 
     /**
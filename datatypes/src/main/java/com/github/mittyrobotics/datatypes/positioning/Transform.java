@@ -194,6 +194,32 @@ public class Transform {
         return new Transform(pos, rot);
     }
 
+    /**
+     * Interpolates between this {@link Transform} and <code>end</code>. The {@link Position} is interpolated linearly
+     * and the {@link Rotation} is interpolated along the shortest arc.
+     *
+     * @param end      the {@link Transform} at a fraction of 1
+     * @param fraction the fraction between this (0) and <code>end</code> (1)
+     * @return a new interpolated {@link Transform}
+     */
+    public Transform interpolate(Transform end, double fraction) {
+        return new Transform(position.interpolate(end.position, fraction),
+                rotation.interpolate(end.rotation, fraction));
+    }
+
+    /**
+     * Linearly interpolates all values between this {@link Transform} and <code>end</code>. Unlike {@link
+     * #interpolate(Transform, double)}, the {@link Rotation} is not wrapped, which is needed when the {@link Transform}
+     * holds a velocity rather than a heading.
+     *
+     * @param end      the {@link Transform} at a fraction of 1
+     * @param fraction the fraction between this (0) and <code>end</code> (1)
+     * @return a new interpolated {@link Transform}
+     */
+    public Transform linearInterpolate(Transform end, double fraction) {
+        return add(end.subtract(this).multiply(fraction));
+    }
+
     public Position getPosition() {
         return position;
     }
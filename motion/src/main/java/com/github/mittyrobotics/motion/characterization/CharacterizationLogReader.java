@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.characterization;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams comma separated characterization logs into a {@link FeedforwardFitter} in fixed size chunks.
+ * <p>
+ * Each row holds a timestamp in seconds, a voltage, a position, and optionally a velocity. If the first row is a
+ * header, the columns are found by the names <code>timestamp</code> (or <code>time</code>), <code>voltage</code>,
+ * <code>position</code>, and <code>velocity</code>. Otherwise the columns are read in that order. A blank row ends the
+ * current segment, so several characterization tests can be stored in one log.
+ */
+public class CharacterizationLogReader {
+    private final int chunkSize;
+    private final double[] timestamps;
+    private final double[] voltages;
+    private final double[] positions;
+    private final double[] velocities;
+
+    public CharacterizationLogReader(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.timestamps = new double[chunkSize];
+        this.voltages = new double[chunkSize];
+        this.positions = new double[chunkSize];
+        this.velocities = new double[chunkSize];
+    }
+
+    public CharacterizationLogReader() {
+        this(4096);
+    }
+
+    /**
+     * Reads a log file into a {@link FeedforwardFitter}.
+     *
+     * @param path   the path of the log file.
+     * @param fitter the {@link FeedforwardFitter} to add the samples to.
+     * @return the number of rows read.
+     * @throws IOException if the file cannot be read.
+     */
+    public long read(Path path, FeedforwardFitter fitter) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader, fitter);
+        }
+    }
+
+    /**
+     * Reads a log into a {@link FeedforwardFitter}.
+     *
+     * @param reader the {@link BufferedReader} of the log.
+     * @param fitter the {@link FeedforwardFitter} to add the samples to.
+     * @return the number of rows read.
+     * @throws IOException if the log cannot be read or a row is malformed.
+     */
+    public long read(BufferedReader reader, FeedforwardFitter fitter) throws IOException {
+        int[] columns = {0, 1, 2, 3};
+        int size = 0;
+        long rows = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty()) {
+                fitter.addSamples(timestamps, voltages, positions, velocities, 0, size);
+                size = 0;
+                fitter.endSegment();
+                continue;
+            }
+            String[] values = line.split(",");
+            if (lineNumber == 1 && isHeader(values)) {
+                columns = findColumns(values);
+                continue;
+            }
+            try {
+                timestamps[size] = Double.parseDouble(values[columns[0]].trim());
+                voltages[size] = Double.parseDouble(values[columns[1]].trim());
+                positions[size] = Double.parseDouble(values[columns[2]].trim());
+                velocities[size] = columns[3] >= 0 && columns[3] < values.length ?
+                        Double.parseDouble(values[columns[3]].trim()) : Double.NaN;
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Malformed characterization log row " + lineNumber + ": " + line, e);
+            }
+            size++;
+            rows++;
+            if (size == chunkSize) {
+                fitter.addSamples(timestamps, voltages, positions, velocities, 0, size);
+                size = 0;
+            }
+        }
+        fitter.addSamples(timestamps, voltages, positions, velocities, 0, size);
+        return rows;
+    }
+
+    private static boolean isHeader(String[] values) {
+        try {
+            Double.parseDouble(values[0].trim());
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static int[] findColumns(String[] header) throws IOException {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < header.length; i++) {
+            switch (header[i].trim().toLowerCase()) {
+                case "timestamp":
+                case "time":
+                    columns[0] = i;
+                    break;
+                case "voltage":
+                    columns[1] = i;
+                    break;
+                case "position":
+                    columns[2] = i;
+                    break;
+                case "velocity":
+                    columns[3] = i;
+                    break;
+            }
+        }
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new IOException("Characterization log header must have timestamp, voltage, and position columns");
+        }
+        return columns;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+}
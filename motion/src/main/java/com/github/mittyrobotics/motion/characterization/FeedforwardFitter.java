@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.characterization;
+
+/**
+ * Base class of the feedforward fitters. Fits <code>voltage = kS * sign(velocity) + kV * velocity + kA *
+ * acceleration</code> to logged samples that are streamed in one at a time or in chunks, so logs never have to be
+ * loaded whole.
+ * <p>
+ * Each sample is paired with the acceleration until the next sample, which is taken from the difference in velocity
+ * between the two, since that is the acceleration its voltage produced. If a sample has no velocity
+ * (<code>NaN</code>), the velocity is taken from the difference in position instead. Samples slower than the velocity
+ * threshold are skipped since the direction of static friction is unknown.
+ */
+public abstract class FeedforwardFitter {
+    private final double velocityThreshold;
+
+    private double previousTimestamp;
+    private double previousPosition;
+    private double previousVelocity;
+    private double previousVoltage;
+    private int sampleCount;
+
+    protected FeedforwardFitter(double velocityThreshold) {
+        this.velocityThreshold = velocityThreshold;
+        endSegment();
+    }
+
+    /**
+     * Adds a logged sample.
+     *
+     * @param timestamp the timestamp of the sample in seconds.
+     * @param voltage   the applied voltage.
+     * @param position  the measured position.
+     * @param velocity  the measured velocity, or <code>NaN</code> to take it from the position.
+     */
+    public void addSample(double timestamp, double voltage, double position, double velocity) {
+        double deltaTime = timestamp - previousTimestamp;
+        if (Double.isNaN(velocity)) {
+            velocity = (position - previousPosition) / deltaTime;
+        }
+        double acceleration = (velocity - previousVelocity) / deltaTime;
+
+        //The previous sample is added now that the acceleration it produced is known
+        if (deltaTime > 0 && Double.isFinite(previousVoltage) && Double.isFinite(previousVelocity) &&
+                Double.isFinite(acceleration) && Math.abs(previousVelocity) >= velocityThreshold) {
+            update(Math.signum(previousVelocity), previousVelocity, acceleration, previousVoltage);
+            sampleCount++;
+        }
+
+        previousTimestamp = timestamp;
+        previousPosition = position;
+        previousVelocity = velocity;
+        previousVoltage = voltage;
+    }
+
+    /**
+     * Adds a chunk of logged samples.
+     *
+     * @param timestamps the timestamps of the samples in seconds.
+     * @param voltages   the applied voltages.
+     * @param positions  the measured positions.
+     * @param velocities the measured velocities, or <code>null</code> to take them from the positions.
+     * @param offset     the index of the first sample in the arrays.
+     * @param length     the number of samples to add.
+     */
+    public void addSamples(double[] timestamps, double[] voltages, double[] positions, double[] velocities,
+                           int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            addSample(timestamps[i], voltages[i], positions[i], velocities == null ? Double.NaN : velocities[i]);
+        }
+    }
+
+    /**
+     * Ends the current segment of samples, such as between two characterization tests. The next sample is not
+     * differenced against the previous one.
+     */
+    public void endSegment() {
+        previousTimestamp = Double.NaN;
+        previousPosition = Double.NaN;
+        previousVelocity = Double.NaN;
+        previousVoltage = Double.NaN;
+    }
+
+    /**
+     * Resets the fitter, removing all samples.
+     */
+    public void reset() {
+        endSegment();
+        sampleCount = 0;
+        resetFit();
+    }
+
+    /**
+     * Returns the {@link FeedforwardGains} fit to the samples so far.
+     *
+     * @return the {@link FeedforwardGains} fit to the samples so far.
+     */
+    public abstract FeedforwardGains getGains();
+
+    /**
+     * Adds one regression sample to the fit.
+     *
+     * @param sign         the sign of the velocity, the kS regressor.
+     * @param velocity     the velocity, the kV regressor.
+     * @param acceleration the acceleration, the kA regressor.
+     * @param voltage      the applied voltage.
+     */
+    protected abstract void update(double sign, double velocity, double acceleration, double voltage);
+
+    protected abstract void resetFit();
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public double getVelocityThreshold() {
+        return velocityThreshold;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.characterization;
+
+import com.github.mittyrobotics.motion.statespace.Plant;
+import com.github.mittyrobotics.motion.statespace.motors.Motor;
+
+/**
+ * Feedforward constants of a mechanism, where <code>voltage = kS * sign(velocity) + kV * velocity + kA *
+ * acceleration</code>.
+ */
+public class FeedforwardGains {
+    /**
+     * Static friction constant in volts.
+     */
+    public final double kS;
+    /**
+     * Velocity constant in volts per unit of velocity.
+     */
+    public final double kV;
+    /**
+     * Acceleration constant in volts per unit of acceleration.
+     */
+    public final double kA;
+    /**
+     * Coefficient of determination of the fit. 1 is a perfect fit.
+     */
+    public final double rSquared;
+    /**
+     * Number of samples used in the fit.
+     */
+    public final int sampleCount;
+
+    public FeedforwardGains(double kS, double kV, double kA, double rSquared, int sampleCount) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+        this.rSquared = rSquared;
+        this.sampleCount = sampleCount;
+    }
+
+    /**
+     * Calculates the feedforward voltage for a velocity and acceleration.
+     *
+     * @param velocity     the desired velocity.
+     * @param acceleration the desired acceleration.
+     * @return the feedforward voltage.
+     */
+    public double calculate(double velocity, double acceleration) {
+        return kS * Math.signum(velocity) + kV * velocity + kA * acceleration;
+    }
+
+    /**
+     * Creates a velocity {@link Plant} from kV and kA.
+     *
+     * @param maxVoltage the max voltage of the system.
+     * @param deltaTime  the discretization time step.
+     * @return the velocity {@link Plant}.
+     * @see Plant#createVelocityPlant(double, double, double, double)
+     */
+    public Plant createVelocityPlant(double maxVoltage, double deltaTime) {
+        return Plant.createVelocityPlant(kV, kA, maxVoltage, deltaTime);
+    }
+
+    /**
+     * Creates a position {@link Plant} from kV and kA.
+     *
+     * @param maxVoltage the max voltage of the system.
+     * @param deltaTime  the discretization time step.
+     * @return the position {@link Plant}.
+     * @see Plant#createPositionPlant(double, double, double, double)
+     */
+    public Plant createPositionPlant(double maxVoltage, double deltaTime) {
+        return Plant.createPositionPlant(kV, kA, maxVoltage, deltaTime);
+    }
+
+    /**
+     * Estimates the moment of inertia of a rotating mechanism, such as a flywheel, from kA. This requires kA to be
+     * fit in volts per radian per second squared.
+     *
+     * @param gearReduction the gear reduction between the motor and the mechanism.
+     * @param motor         the {@link Motor} driving the mechanism.
+     * @return the moment of inertia in kilogram meters squared.
+     */
+    public double estimateMomentOfInertia(double gearReduction, Motor motor) {
+        return kA * gearReduction * motor.getKt() / motor.getResistance();
+    }
+
+    /**
+     * Estimates the mass of a linear mechanism, such as an elevator, from kA. This requires kA to be fit in volts per
+     * meter per second squared.
+     *
+     * @param gearReduction the gear reduction between the motor and the pulley.
+     * @param pulleyRadius  the radius of the pulley in meters.
+     * @param motor         the {@link Motor} driving the mechanism.
+     * @return the mass in kilograms.
+     */
+    public double estimateMass(double gearReduction, double pulleyRadius, Motor motor) {
+        return kA * gearReduction * motor.getKt() / (motor.getResistance() * pulleyRadius);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FeedforwardGains(kS: %s, kV: %s, kA: %s, rSquared: %s, samples: %s)", kS, kV, kA,
+                rSquared, sampleCount);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.characterization;
+
+/**
+ * Ordinary least squares {@link FeedforwardFitter}.
+ * <p>
+ * Only the normal equations are accumulated, so memory use is constant no matter how many samples are added.
+ */
+public class LeastSquaresFeedforwardFitter extends FeedforwardFitter {
+    private final double[][] xtx = new double[3][3];
+    private final double[] xty = new double[3];
+    private double yty;
+    private double sumY;
+
+    public LeastSquaresFeedforwardFitter(double velocityThreshold) {
+        super(velocityThreshold);
+    }
+
+    public LeastSquaresFeedforwardFitter() {
+        this(1e-3);
+    }
+
+    @Override
+    protected void update(double sign, double velocity, double acceleration, double voltage) {
+        double[] x = {sign, velocity, acceleration};
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                xtx[r][c] += x[r] * x[c];
+            }
+            xty[r] += x[r] * voltage;
+        }
+        yty += voltage * voltage;
+        sumY += voltage;
+    }
+
+    @Override
+    protected void resetFit() {
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                xtx[r][c] = 0;
+            }
+            xty[r] = 0;
+        }
+        yty = 0;
+        sumY = 0;
+    }
+
+    /**
+     * Returns the {@link FeedforwardGains} fit to the samples so far.
+     *
+     * @return the {@link FeedforwardGains} fit to the samples so far.
+     * @throws IllegalStateException if the samples don't vary enough in direction, velocity, and acceleration to
+     *                               fit all three constants.
+     */
+    @Override
+    public FeedforwardGains getGains() {
+        double[] beta = solve(xtx, xty);
+        if (beta == null) {
+            throw new IllegalStateException("Samples do not vary enough to fit kS, kV, and kA");
+        }
+
+        //Sum of squared errors from the normal equations: y'y - 2b'X'y + b'X'Xb
+        double sse = yty;
+        for (int r = 0; r < 3; r++) {
+            sse -= 2 * beta[r] * xty[r];
+            for (int c = 0; c < 3; c++) {
+                sse += beta[r] * xtx[r][c] * beta[c];
+            }
+        }
+        int n = getSampleCount();
+        double sst = yty - sumY * sumY / n;
+        double rSquared = sst > 0 ? 1 - Math.max(sse, 0) / sst : 1;
+
+        return new FeedforwardGains(beta[0], beta[1], beta[2], rSquared, n);
+    }
+
+    /**
+     * Solves a 3x3 linear system with gaussian elimination and partial pivoting.
+     *
+     * @return the solution, or <code>null</code> if the system is singular.
+     */
+    private static double[] solve(double[][] a, double[] b) {
+        double[][] m = new double[3][4];
+        double scale = 0;
+        for (int r = 0; r < 3; r++) {
+            System.arraycopy(a[r], 0, m[r], 0, 3);
+            m[r][3] = b[r];
+            scale = Math.max(scale, Math.abs(a[r][r]));
+        }
+        for (int c = 0; c < 3; c++) {
+            int pivot = c;
+            for (int r = c + 1; r < 3; r++) {
+                if (Math.abs(m[r][c]) > Math.abs(m[pivot][c])) {
+                    pivot = r;
+                }
+            }
+            if (Math.abs(m[pivot][c]) <= scale * 1e-12) {
+                return null;
+            }
+            double[] temp = m[c];
+            m[c] = m[pivot];
+            m[pivot] = temp;
+            for (int r = c + 1; r < 3; r++) {
+                double factor = m[r][c] / m[c][c];
+                for (int k = c; k < 4; k++) {
+                    m[r][k] -= factor * m[c][k];
+                }
+            }
+        }
+        double[] x = new double[3];
+        for (int r = 2; r >= 0; r--) {
+            double sum = m[r][3];
+            for (int k = r + 1; k < 3; k++) {
+                sum -= m[r][k] * x[k];
+            }
+            x[r] = sum / m[r][r];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.characterization;
+
+/**
+ * Recursive least squares {@link FeedforwardFitter}.
+ * <p>
+ * The constants are updated with every sample, so {@link #getGains()} can be read at any time, such as while the
+ * mechanism is running. A forgetting factor below 1 weights recent samples more, which lets the fit follow slowly
+ * changing constants like friction as the mechanism warms up.
+ */
+public class RecursiveLeastSquaresFeedforwardFitter extends FeedforwardFitter {
+    private final double forgettingFactor;
+    private final double initialCovariance;
+
+    private final double[] theta = new double[3];
+    private final double[][] covariance = new double[3][3];
+    private final double[] x = new double[3];
+    private final double[] px = new double[3];
+
+    private double sumY;
+    private double sumYSquared;
+    private double sumPredictionErrorSquared;
+
+    /**
+     * Creates a new {@link RecursiveLeastSquaresFeedforwardFitter}.
+     *
+     * @param velocityThreshold the min velocity of a sample to be used in the fit.
+     * @param forgettingFactor  the weight of previous samples each update, between 0 (exclusive) and 1.
+     * @param initialCovariance the initial covariance of the constants. Larger values trust early samples more.
+     */
+    public RecursiveLeastSquaresFeedforwardFitter(double velocityThreshold, double forgettingFactor,
+                                                  double initialCovariance) {
+        super(velocityThreshold);
+        if (forgettingFactor <= 0 || forgettingFactor > 1) {
+            throw new IllegalArgumentException("Forgetting factor must be in (0, 1]");
+        }
+        this.forgettingFactor = forgettingFactor;
+        this.initialCovariance = initialCovariance;
+        resetFit();
+    }
+
+    public RecursiveLeastSquaresFeedforwardFitter(double forgettingFactor) {
+        this(1e-3, forgettingFactor, 1e6);
+    }
+
+    public RecursiveLeastSquaresFeedforwardFitter() {
+        this(1);
+    }
+
+    @Override
+    protected void update(double sign, double velocity, double acceleration, double voltage) {
+        x[0] = sign;
+        x[1] = velocity;
+        x[2] = acceleration;
+
+        //Gain: k = P x / (lambda + x' P x)
+        double denominator = forgettingFactor;
+        for (int r = 0; r < 3; r++) {
+            px[r] = covariance[r][0] * x[0] + covariance[r][1] * x[1] + covariance[r][2] * x[2];
+            denominator += x[r] * px[r];
+        }
+
+        double predictionError = voltage - (theta[0] * x[0] + theta[1] * x[1] + theta[2] * x[2]);
+        for (int r = 0; r < 3; r++) {
+            theta[r] += px[r] / denominator * predictionError;
+        }
+
+        //Covariance: P = (P - k x' P) / lambda, where x' P = (P x)' since P is symmetric
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                covariance[r][c] = (covariance[r][c] - px[r] * px[c] / denominator) / forgettingFactor;
+            }
+        }
+
+        sumY += voltage;
+        sumYSquared += voltage * voltage;
+        sumPredictionErrorSquared += predictionError * predictionError;
+    }
+
+    @Override
+    protected void resetFit() {
+        for (int r = 0; r < 3; r++) {
+            theta[r] = 0;
+            for (int c = 0; c < 3; c++) {
+                covariance[r][c] = r == c ? initialCovariance : 0;
+            }
+        }
+        sumY = 0;
+        sumYSquared = 0;
+        sumPredictionErrorSquared = 0;
+    }
+
+    /**
+     * Returns the current {@link FeedforwardGains}. The coefficient of determination is computed from the error of
+     * each sample's prediction before it was added, so it is a conservative estimate.
+     *
+     * @return the current {@link FeedforwardGains}.
+     */
+    @Override
+    public FeedforwardGains getGains() {
+        int n = getSampleCount();
+        double sst = n == 0 ? 0 : sumYSquared - sumY * sumY / n;
+        double rSquared = sst > 0 ? 1 - sumPredictionErrorSquared / sst : 1;
+        return new FeedforwardGains(theta[0], theta[1], theta[2], rSquared, n);
+    }
+
+    public double getForgettingFactor() {
+        return forgettingFactor;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.controllers;
+
+/**
+ * A {@link PIDFController} variant whose gains, limits, and setpoint can be changed from another thread while the
+ * control thread is calculating.
+ * <p>
+ * All settings are stored in one immutable {@link Settings} snapshot that is published through a single volatile
+ * reference. Each <code>calculate()</code> call reads the reference once, so it always uses a consistent set of
+ * settings without locking or allocating. Setters build a new snapshot and publish it; concurrent setters are
+ * serialized so no update is lost.
+ * <p>
+ * The controller state (integral and previous error) is owned by the control thread. <code>calculate()</code> and
+ * <code>reset()</code> should only be called from that thread.
+ */
+public class ConcurrentPIDFController {
+    private volatile Settings settings;
+
+    private double previousError;
+    private double error;
+    private double derivativeError;
+    private double integral;
+
+    public ConcurrentPIDFController(double kP, double kI, double kD, double kF, double period) {
+        this.settings = new Settings(kP, kI, kD, kF, period, -1, 1, -1, 1, 0,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    public ConcurrentPIDFController(double kP, double kI, double kD, double kF) {
+        this(kP, kI, kD, kF, 0.02);
+    }
+
+    public ConcurrentPIDFController(double kP, double kI, double kD) {
+        this(kP, kI, kD, 0);
+    }
+
+    /**
+     * Calculates the next voltage for the PIDF controller given a value measurement. Delta time is set to the
+     * default period.
+     *
+     * @param measurement current measured value.
+     * @return next voltage for PIDF controller.
+     */
+    public double calculate(double measurement) {
+        Settings settings = this.settings;
+        return calculate(settings, measurement, 0, settings.setpoint - measurement, settings.period);
+    }
+
+    /**
+     * Calculates the next voltage for the PIDF controller given a value measurement and a delta time since the last
+     * <code>calculate()</code> call.
+     *
+     * @param measurement current measured value.
+     * @param deltaTime   time since last <code>calculate()</code> call.
+     * @return next voltage for PIDF controller.
+     */
+    public double calculate(double measurement, double deltaTime) {
+        return calculate(measurement, 0, deltaTime);
+    }
+
+    /**
+     * Calculates the next voltage for the PIDF controller given a value measurement, a feedforward voltage, and a delta
+     * time since the last <code>calculate()</code> call.
+     *
+     * @param measurement current measured value.
+     * @param feedForward the feedforward voltage to be applied to the controller.
+     * @param deltaTime   time since last <code>calculate()</code> call.
+     * @return next voltage for PIDF controller.
+     */
+    public double calculate(double measurement, double feedForward, double deltaTime) {
+        Settings settings = this.settings;
+        return calculate(settings, measurement, feedForward, settings.setpoint - measurement, deltaTime);
+    }
+
+    public double calculate(double measurement, double feedForward, double error, double deltaTime) {
+        return calculate(this.settings, measurement, feedForward, error, deltaTime);
+    }
+
+    private double calculate(Settings settings, double measurement, double feedForward, double error,
+                             double deltaTime) {
+        //Set derivative error
+        derivativeError = (error - previousError) / deltaTime;
+        //Keep track of previous error
+        previousError = error;
+        this.error = error;
+
+        //Update integral if there is an I term
+        if (settings.kI != 0) {
+            integral = Math.max(settings.minIntegral / settings.kI,
+                    Math.min(integral + error * deltaTime, settings.maxIntegral / settings.kI));
+        }
+
+        //Calculate feedback
+        double feedback = settings.kP * error + settings.kI * integral + settings.kD * derivativeError;
+
+        //Output feedback plus feed forward
+        return Math.min(settings.maxOutput, Math.max(feedback + feedForward, settings.minOutput));
+    }
+
+    /**
+     * Resets the controller.
+     */
+    public void reset() {
+        previousError = 0;
+        integral = 0;
+    }
+
+    public boolean isFinished(double positionTolerance, double derivativeTolerance) {
+        return Math.abs(error) < positionTolerance && Math.abs(derivativeError) < derivativeTolerance;
+    }
+
+    public boolean isFinished() {
+        Settings settings = this.settings;
+        return isFinished(settings.positionTolerance, settings.derivativeTolerance);
+    }
+
+    /**
+     * Returns the current {@link Settings} snapshot.
+     *
+     * @return the current {@link Settings} snapshot.
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Publishes a complete {@link Settings} snapshot. Use this to change several settings at once so the control
+     * thread never sees a partial update.
+     *
+     * @param settings the new {@link Settings}.
+     */
+    public synchronized void setSettings(Settings settings) {
+        if (settings == null) {
+            throw new IllegalArgumentException("Settings cannot be null");
+        }
+        this.settings = settings;
+    }
+
+    public synchronized void setGains(double kP, double kI, double kD, double kF) {
+        Settings s = settings;
+        settings = new Settings(kP, kI, kD, kF, s.period, s.minOutput, s.maxOutput, s.minIntegral, s.maxIntegral,
+                s.setpoint, s.positionTolerance, s.derivativeTolerance);
+    }
+
+    public synchronized void setOutputRange(double minOutput, double maxOutput) {
+        Settings s = settings;
+        settings = new Settings(s.kP, s.kI, s.kD, s.kF, s.period, minOutput, maxOutput, s.minIntegral, s.maxIntegral,
+                s.setpoint, s.positionTolerance, s.derivativeTolerance);
+    }
+
+    /**
+     * Sets the integral range. Default -1 to 1.
+     *
+     * @param minIntegral minimum integral value
+     * @param maxIntegral maximum integral value
+     */
+    public synchronized void setIntegralRange(double minIntegral, double maxIntegral) {
+        Settings s = settings;
+        settings = new Settings(s.kP, s.kI, s.kD, s.kF, s.period, s.minOutput, s.maxOutput, minIntegral, maxIntegral,
+                s.setpoint, s.positionTolerance, s.derivativeTolerance);
+    }
+
+    public synchronized void setSetpoint(double setpoint) {
+        Settings s = settings;
+        settings = new Settings(s.kP, s.kI, s.kD, s.kF, s.period, s.minOutput, s.maxOutput, s.minIntegral,
+                s.maxIntegral, setpoint, s.positionTolerance, s.derivativeTolerance);
+    }
+
+    public synchronized void setPeriod(double period) {
+        Settings s = settings;
+        settings = new Settings(s.kP, s.kI, s.kD, s.kF, period, s.minOutput, s.maxOutput, s.minIntegral,
+                s.maxIntegral, s.setpoint, s.positionTolerance, s.derivativeTolerance);
+    }
+
+    public synchronized void setTolerance(double positionTolerance, double derivativeTolerance) {
+        Settings s = settings;
+        settings = new Settings(s.kP, s.kI, s.kD, s.kF, s.period, s.minOutput, s.maxOutput, s.minIntegral,
+                s.maxIntegral, s.setpoint, positionTolerance, derivativeTolerance);
+    }
+
+    public double getError() {
+        return error;
+    }
+
+    public double getDerivativeError() {
+        return derivativeError;
+    }
+
+    public double getPreviousError() {
+        return previousError;
+    }
+
+    public double getIntegral() {
+        return integral;
+    }
+
+    /**
+     * Immutable snapshot of the gains, limits, and setpoint of a {@link ConcurrentPIDFController}.
+     */
+    public static final class Settings {
+        public final double kP;
+        public final double kI;
+        public final double kD;
+        public final double kF;
+        public final double period;
+        public final double minOutput;
+        public final double maxOutput;
+        public final double minIntegral;
+        public final double maxIntegral;
+        public final double setpoint;
+        public final double positionTolerance;
+        public final double derivativeTolerance;
+
+        public Settings(double kP, double kI, double kD, double kF, double period, double minOutput,
+                        double maxOutput, double minIntegral, double maxIntegral, double setpoint,
+                        double positionTolerance, double derivativeTolerance) {
+            this.kP = kP;
+            this.kI = kI;
+            this.kD = kD;
+            this.kF = kF;
+            this.period = period;
+            this.minOutput = minOutput;
+            this.maxOutput = maxOutput;
+            this.minIntegral = minIntegral;
+            this.maxIntegral = maxIntegral;
+            this.setpoint = setpoint;
+            this.positionTolerance = positionTolerance;
+            this.derivativeTolerance = derivativeTolerance;
+        }
+    }
+}
@@ -98,10 +98,11 @@ public class PIDFController {
     private double calculateFeedback(double measurement, double error, double deltaTime) {
         //Set the current period to the delta time
         setPeriod(deltaTime);
-        //Keep track of previous error
-        previousError = error;
         //Set derivative error
         derivativeError = (error - previousError) / period;
+        //Keep track of previous error
+        previousError = error;
+        this.error = error;
 
         //Update integral if there is an I term
         if (kI != 0) {
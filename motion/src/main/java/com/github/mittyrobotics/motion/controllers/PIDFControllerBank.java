@@ -0,0 +1,340 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.controllers;
+
+/**
+ * A bank of PIDF controllers that are all updated in a single pass.
+ * <p>
+ * Gains, limits, and state of every controller are stored in parallel primitive arrays instead of one {@link
+ * PIDFController} object per loop. Each controller in the bank follows the same semantics as {@link
+ * PIDFController#calculate(double, double, double)}, including clamping the integral between <code>minIntegral /
+ * kI</code> and <code>maxIntegral / kI</code>.
+ */
+public class PIDFControllerBank {
+    private final int size;
+
+    private final double[] kP;
+    private final double[] kI;
+    private final double[] kD;
+    private final double[] kF;
+
+    private final double[] previousError;
+    private final double[] error;
+    private final double[] derivativeError;
+    private final double[] integral;
+
+    private final double[] minIntegral;
+    private final double[] maxIntegral;
+    private final double[] lowerIntegralBound;
+    private final double[] upperIntegralBound;
+
+    private final double[] minOutput;
+    private final double[] maxOutput;
+
+    private final double[] setpoint;
+    private final double[] positionTolerance;
+    private final double[] derivativeTolerance;
+
+    /**
+     * Creates a new {@link PIDFControllerBank} with <code>size</code> controllers. Every controller starts with zero
+     * gains, an output range of -1 to 1, an integral range of -1 to 1, and infinite tolerances.
+     *
+     * @param size the number of controllers in the bank.
+     */
+    public PIDFControllerBank(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Bank size must be non-negative");
+        }
+        this.size = size;
+        this.kP = new double[size];
+        this.kI = new double[size];
+        this.kD = new double[size];
+        this.kF = new double[size];
+        this.previousError = new double[size];
+        this.error = new double[size];
+        this.derivativeError = new double[size];
+        this.integral = new double[size];
+        this.minIntegral = new double[size];
+        this.maxIntegral = new double[size];
+        this.lowerIntegralBound = new double[size];
+        this.upperIntegralBound = new double[size];
+        this.minOutput = new double[size];
+        this.maxOutput = new double[size];
+        this.setpoint = new double[size];
+        this.positionTolerance = new double[size];
+        this.derivativeTolerance = new double[size];
+        for (int i = 0; i < size; i++) {
+            setPositionTolerance(i, Double.POSITIVE_INFINITY);
+            setDerivativeTolerance(i, Double.POSITIVE_INFINITY);
+            setOutputRange(i, -1, 1);
+            setIntegralRange(i, -1, 1);
+        }
+    }
+
+    /**
+     * Calculates the next voltage of every controller in the bank given their value measurements and a delta time
+     * since the last <code>calculate()</code> call.
+     *
+     * @param measurements the current measured value of each controller.
+     * @param deltaTime    time since last <code>calculate()</code> call.
+     * @param outputs      array that the next voltage of each controller is written to.
+     */
+    public void calculate(double[] measurements, double deltaTime, double[] outputs) {
+        calculate(measurements, null, deltaTime, outputs);
+    }
+
+    /**
+     * Calculates the next voltage of every controller in the bank given their value measurements, feedforward
+     * voltages, and a delta time since the last <code>calculate()</code> call.
+     *
+     * @param measurements the current measured value of each controller.
+     * @param feedForwards the feedforward voltage of each controller, or <code>null</code> for no feedforward.
+     * @param deltaTime    time since last <code>calculate()</code> call.
+     * @param outputs      array that the next voltage of each controller is written to.
+     */
+    public void calculate(double[] measurements, double[] feedForwards, double deltaTime, double[] outputs) {
+        checkLength(measurements);
+        checkLength(outputs);
+        if (feedForwards != null) {
+            checkLength(feedForwards);
+        }
+
+        for (int i = 0; i < size; i++) {
+            double e = setpoint[i] - measurements[i];
+            double d = (e - previousError[i]) / deltaTime;
+            previousError[i] = e;
+            error[i] = e;
+            derivativeError[i] = d;
+
+            //Update integral if there is an I term
+            double nextIntegral = Math.max(lowerIntegralBound[i],
+                    Math.min(integral[i] + e * deltaTime, upperIntegralBound[i]));
+            integral[i] = kI[i] != 0 ? nextIntegral : integral[i];
+
+            double feedback = kP[i] * e + kI[i] * integral[i] + kD[i] * d;
+            double feedForward = feedForwards == null ? 0 : feedForwards[i];
+
+            //Output feedback plus feed forward
+            outputs[i] = Math.min(maxOutput[i], Math.max(feedback + feedForward, minOutput[i]));
+        }
+    }
+
+    /**
+     * Calculates the next voltage of a single controller in the bank.
+     *
+     * @param index       the index of the controller.
+     * @param measurement current measured value.
+     * @param feedForward the feedforward voltage to be applied to the controller.
+     * @param deltaTime   time since last <code>calculate()</code> call.
+     * @return next voltage for the controller.
+     */
+    public double calculate(int index, double measurement, double feedForward, double deltaTime) {
+        double e = setpoint[index] - measurement;
+        derivativeError[index] = (e - previousError[index]) / deltaTime;
+        previousError[index] = e;
+        error[index] = e;
+
+        if (kI[index] != 0) {
+            integral[index] = Math.max(lowerIntegralBound[index],
+                    Math.min(integral[index] + e * deltaTime, upperIntegralBound[index]));
+        }
+
+        double feedback = kP[index] * e + kI[index] * integral[index] + kD[index] * derivativeError[index];
+        return Math.min(maxOutput[index], Math.max(feedback + feedForward, minOutput[index]));
+    }
+
+    /**
+     * Resets every controller in the bank.
+     */
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            reset(i);
+        }
+    }
+
+    /**
+     * Resets a single controller in the bank.
+     *
+     * @param index the index of the controller.
+     */
+    public void reset(int index) {
+        previousError[index] = 0;
+        integral[index] = 0;
+    }
+
+    public boolean isFinished(int index, double positionTolerance, double derivativeTolerance) {
+        return Math.abs(error[index]) < positionTolerance &&
+                Math.abs(derivativeError[index]) < derivativeTolerance;
+    }
+
+    public boolean isFinished(int index) {
+        return isFinished(index, positionTolerance[index], derivativeTolerance[index]);
+    }
+
+    /**
+     * Returns whether every controller in the bank is within its position and derivative tolerances.
+     *
+     * @return whether every controller in the bank is finished.
+     */
+    public boolean isFinished() {
+        for (int i = 0; i < size; i++) {
+            if (!isFinished(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the integral range of a controller. Default -1 to 1.
+     *
+     * @param index       the index of the controller.
+     * @param minIntegral minimum integral value
+     * @param maxIntegral maximum integral value
+     */
+    public void setIntegralRange(int index, double minIntegral, double maxIntegral) {
+        this.minIntegral[index] = minIntegral;
+        this.maxIntegral[index] = maxIntegral;
+        updateIntegralBounds(index);
+    }
+
+    public void setOutputRange(int index, double minOutput, double maxOutput) {
+        this.minOutput[index] = minOutput;
+        this.maxOutput[index] = maxOutput;
+    }
+
+    public void setGains(int index, double kP, double kI, double kD, double kF) {
+        this.kP[index] = kP;
+        this.kI[index] = kI;
+        this.kD[index] = kD;
+        this.kF[index] = kF;
+        updateIntegralBounds(index);
+    }
+
+    public void setP(int index, double kP) {
+        this.kP[index] = kP;
+    }
+
+    public void setI(int index, double kI) {
+        this.kI[index] = kI;
+        updateIntegralBounds(index);
+    }
+
+    public void setD(int index, double kD) {
+        this.kD[index] = kD;
+    }
+
+    public void setF(int index, double kF) {
+        this.kF[index] = kF;
+    }
+
+    public void setSetpoint(int index, double setpoint) {
+        this.setpoint[index] = setpoint;
+    }
+
+    public void setPositionTolerance(int index, double tolerance) {
+        positionTolerance[index] = tolerance;
+    }
+
+    public void setDerivativeTolerance(int index, double tolerance) {
+        derivativeTolerance[index] = tolerance;
+    }
+
+    private void updateIntegralBounds(int index) {
+        //The integral is clamped against the integral range divided by kI, same as PIDFController
+        lowerIntegralBound[index] = minIntegral[index] / kI[index];
+        upperIntegralBound[index] = maxIntegral[index] / kI[index];
+    }
+
+    private void checkLength(double[] array) {
+        if (array.length < size) {
+            throw new IllegalArgumentException("Array length " + array.length + " is less than bank size " + size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getkP(int index) {
+        return kP[index];
+    }
+
+    public double getkI(int index) {
+        return kI[index];
+    }
+
+    public double getkD(int index) {
+        return kD[index];
+    }
+
+    public double getkF(int index) {
+        return kF[index];
+    }
+
+    public double getError(int index) {
+        return error[index];
+    }
+
+    public double getDerivativeError(int index) {
+        return derivativeError[index];
+    }
+
+    public double getPreviousError(int index) {
+        return previousError[index];
+    }
+
+    public double getIntegral(int index) {
+        return integral[index];
+    }
+
+    public double getMinIntegral(int index) {
+        return minIntegral[index];
+    }
+
+    public double getMaxIntegral(int index) {
+        return maxIntegral[index];
+    }
+
+    public double getMinOutput(int index) {
+        return minOutput[index];
+    }
+
+    public double getMaxOutput(int index) {
+        return maxOutput[index];
+    }
+
+    public double getSetpoint(int index) {
+        return setpoint[index];
+    }
+
+    public double getPositionTolerance(int index) {
+        return positionTolerance[index];
+    }
+
+    public double getDerivativeTolerance(int index) {
+        return derivativeTolerance[index];
+    }
+}
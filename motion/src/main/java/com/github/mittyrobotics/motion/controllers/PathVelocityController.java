@@ -27,8 +27,6 @@ package com.github.mittyrobotics.motion.controllers;
 
 import com.github.mittyrobotics.path.generation.Path;
 
-import java.util.ArrayList;
-
 public class PathVelocityController {
     private final double maxAcceleration;
     private final double maxDeceleration;
@@ -38,7 +36,7 @@ public class PathVelocityController {
     private final SafeVelocityController safeVelocityController;
     private double curvatureSlowdownGain;
     private double minSlowdownVelocity;
-    private ArrayList<VelocityAndDistance> velocityAndDistances;
+    private final PreviewConstraintQueue previewConstraints;
 
     public PathVelocityController(double maxAcceleration, double maxDeceleration, double maxVelocity,
                                   double startVelocity, double endVelocity, double curvatureSlowdownGain, double minSlowdownVelocity) {
@@ -50,7 +48,7 @@ public class PathVelocityController {
         this.curvatureSlowdownGain = curvatureSlowdownGain;
         this.minSlowdownVelocity = minSlowdownVelocity;
         this.safeVelocityController = new SafeVelocityController(maxAcceleration, maxDeceleration, maxVelocity);
-        velocityAndDistances = new ArrayList<>();
+        previewConstraints = new PreviewConstraintQueue(16);
     }
 
     private static double calculateSlowdownVelocity(double curvature, double curvatureSlowdownGain,
@@ -91,13 +89,13 @@ public class PathVelocityController {
         double slowdownVelocity = calculateSlowdownVelocity(curvature, curvatureSlowdownGain, previousVelocity, minSlowdownVelocity);
         double slowdownVelocityAtPreview = calculateSlowdownVelocity(curvatureAtPreview, curvatureSlowdownGain, previousVelocity, minSlowdownVelocity);
 
-        //Remove old array values that we have traveled past
-        removeOldArrayValues(traveledDistance);
-        //Add new preview velocity to array
-        velocityAndDistances.add(new VelocityAndDistance(slowdownVelocityAtPreview, traveledDistance + previewDistance));
+        //Remove old preview constraints that we have traveled past
+        previewConstraints.removeBefore(traveledDistance);
+        //Add new preview velocity constraint
+        previewConstraints.add(slowdownVelocityAtPreview, traveledDistance + previewDistance, maxDeceleration);
 
-        //Get minimum velocity from the array required to slowdown to a future velocity
-        double minVelocityToSlowdown = getMinVelFromArray(traveledDistance);
+        //Get minimum velocity from the preview constraints required to slowdown to a future velocity
+        double minVelocityToSlowdown = previewConstraints.getMinVelocity(traveledDistance, maxDeceleration);
 
         //If min velocity to slowdown is less than the previous velocity, we want to slowdown
         if (minVelocityToSlowdown < previousVelocity) {
@@ -111,19 +109,6 @@ public class PathVelocityController {
         return velocity;
     }
 
-    private double getMinVelFromArray(double currentDistance) {
-        double maxVel = 9999;
-        for (VelocityAndDistance velocityAndDistance : velocityAndDistances) {
-            double vel = calculateMaxVelocityFromDistance(velocityAndDistance.velocity, velocityAndDistance.distance - currentDistance, maxDeceleration);
-            maxVel = Math.min(vel, maxVel);
-        }
-        return maxVel;
-    }
-
-    private void removeOldArrayValues(double currentDistance) {
-        velocityAndDistances.removeIf(velocityAndDistance -> velocityAndDistance.distance < currentDistance);
-    }
-
     public double getMaxAcceleration() {
         return maxAcceleration;
     }
@@ -157,4 +142,141 @@ public class PathVelocityController {
             this.distance = distance;
         }
     }
+
+    /**
+     * Stores the preview velocity constraints as a monotonic queue backed by primitive ring buffers.
+     * <p>
+     * The max velocity allowed by a constraint, <code>sqrt(v^2 + 2 * a * (d - currentDistance))</code>, is ordered by
+     * the key <code>v^2 + 2 * a * d</code>, which does not depend on the current distance. A constraint is therefore
+     * useless once another constraint exists that expires no earlier (greater or equal distance) and has a smaller or
+     * equal key. Only the non-dominated constraints are kept, sorted by distance with strictly increasing keys, so the
+     * minimum is always at the front and expired constraints are always removed from the front.
+     * <p>
+     * Adding, expiring, and querying the minimum are amortized O(1) as long as the preview distances are
+     * non-decreasing, which is the case unless the velocity drops faster than the max deceleration.
+     */
+    private static class PreviewConstraintQueue {
+        private double[] velocities;
+        private double[] distances;
+        private double[] keys;
+        private int head;
+        private int size;
+
+        PreviewConstraintQueue(int initialCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+            this.velocities = new double[capacity];
+            this.distances = new double[capacity];
+            this.keys = new double[capacity];
+        }
+
+        /**
+         * Removes all constraints with a distance less than <code>currentDistance</code>.
+         *
+         * @param currentDistance the current traveled distance.
+         */
+        void removeBefore(double currentDistance) {
+            while (size > 0 && distances[head] < currentDistance) {
+                head = (head + 1) & (distances.length - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Adds a constraint of reaching <code>velocity</code> at <code>distance</code>.
+         *
+         * @param velocity        the velocity to reach at the distance.
+         * @param distance        the distance of the constraint.
+         * @param maxDeceleration the max deceleration used to reach the velocity.
+         */
+        void add(double velocity, double distance, double maxDeceleration) {
+            double key = velocity * velocity + 2 * maxDeceleration * distance;
+
+            //Find the first constraint that expires no earlier than the new one
+            int insertIndex = size;
+            while (insertIndex > 0 && distances[index(insertIndex - 1)] >= distance) {
+                insertIndex--;
+            }
+
+            //If that constraint is at least as strict, the new constraint will never be the minimum
+            if (insertIndex < size && keys[index(insertIndex)] <= key) {
+                return;
+            }
+
+            //Drop the constraints before it that expire earlier and are less strict than the new constraint
+            int removeIndex = insertIndex;
+            while (removeIndex > 0 && keys[index(removeIndex - 1)] >= key) {
+                removeIndex--;
+            }
+
+            int tailSize = size - insertIndex;
+            int newSize = removeIndex + 1 + tailSize;
+            if (newSize > distances.length) {
+                grow();
+            }
+            moveTail(insertIndex, removeIndex + 1, tailSize);
+
+            int i = index(removeIndex);
+            velocities[i] = velocity;
+            distances[i] = distance;
+            keys[i] = key;
+            size = newSize;
+        }
+
+        /**
+         * Returns the minimum velocity allowed by all constraints at <code>currentDistance</code>.
+         *
+         * @param currentDistance the current traveled distance.
+         * @param maxDeceleration the max deceleration used to reach the constraint velocities.
+         * @return the minimum velocity allowed by all constraints.
+         */
+        double getMinVelocity(double currentDistance, double maxDeceleration) {
+            if (size == 0) {
+                return 9999;
+            }
+            return calculateMaxVelocityFromDistance(velocities[head], distances[head] - currentDistance,
+                    maxDeceleration);
+        }
+
+        private int index(int i) {
+            return (head + i) & (distances.length - 1);
+        }
+
+        private void moveTail(int from, int to, int count) {
+            if (from == to || count == 0) {
+                return;
+            }
+            if (to > from) {
+                for (int i = count - 1; i >= 0; i--) {
+                    copy(index(from + i), index(to + i));
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    copy(index(from + i), index(to + i));
+                }
+            }
+        }
+
+        private void copy(int from, int to) {
+            velocities[to] = velocities[from];
+            distances[to] = distances[from];
+            keys[to] = keys[from];
+        }
+
+        private void grow() {
+            int capacity = distances.length;
+            double[] newVelocities = new double[capacity * 2];
+            double[] newDistances = new double[capacity * 2];
+            double[] newKeys = new double[capacity * 2];
+            for (int i = 0; i < size; i++) {
+                int j = index(i);
+                newVelocities[i] = velocities[j];
+                newDistances[i] = distances[j];
+                newKeys[i] = keys[j];
+            }
+            velocities = newVelocities;
+            distances = newDistances;
+            keys = newKeys;
+            head = 0;
+        }
+    }
 }
@@ -25,7 +25,7 @@
 package com.github.mittyrobotics.motion.controllers;
 
 import com.github.mittyrobotics.datatypes.geometry.Circle;
-import com.github.mittyrobotics.datatypes.geometry.Line;
+import com.github.mittyrobotics.datatypes.geometry.GeometryKernel;
 import com.github.mittyrobotics.datatypes.motion.DrivetrainState;
 import com.github.mittyrobotics.datatypes.positioning.Position;
 import com.github.mittyrobotics.datatypes.positioning.Transform;
@@ -39,7 +39,8 @@ public class PurePursuitController extends PathFollower {
 
     private final PathFollowerProperties.PurePursuitProperties purePursuitProperties;
 
-    private Circle pursuitCircle;
+    private Transform pursuitTransform;
+    private double pursuitCurvature;
     private Position lookaheadPoint;
 
     private double t;
@@ -66,19 +67,15 @@ public class PurePursuitController extends PathFollower {
 
         setPreviousCalculatedVelocity(robotVelocity);
 
-        //Calculate the pursuit circle to follow, calculated by finding the circle tangent to the robot transform that
-        //intersects the target position.
-        this.pursuitCircle = new Circle(robotTransform, lookaheadPoint);
+        //Calculate the signed curvature of the pursuit circle to follow, the circle tangent to the robot transform that
+        //intersects the target position. Positive curvature means the circle center is to the left of the robot.
+        double cos = robotTransform.getRotation().cos();
+        double sin = robotTransform.getRotation().sin();
+        this.pursuitTransform = robotTransform;
+        this.pursuitCurvature = GeometryKernel.curvatureThroughPoint(robotTransform.getPosition().getX(),
+                robotTransform.getPosition().getY(), cos, sin, lookaheadPoint.getX(), lookaheadPoint.getY());
 
-        //Determine which side the robot transform is on the circle
-        double side = new Line(robotTransform.getPosition(),
-                robotTransform.getPosition().add(
-                        new Position(
-                                robotTransform.getRotation().cos() * 5,
-                                robotTransform.getRotation().sin() * 5)
-                )).findSide(pursuitCircle.getCenter());
-
-        double radius = pursuitCircle.getRadius() * side;
+        double radius = 1 / pursuitCurvature;
 
         //Use differential drive kinematics to calculate the left and right wheel velocity given the base robot
         //velocity and the radius of the pursuit circle
@@ -92,8 +89,32 @@ public class PurePursuitController extends PathFollower {
         return state;
     }
 
+    /**
+     * Returns the pursuit circle from the last call to {@link #calculate(Transform, DrivetrainState, double)}.
+     * <p>
+     * The circle is only built when requested, the controller itself works from {@link #getPursuitCurvature()}.
+     *
+     * @return the pursuit {@link Circle}, or <code>null</code> if the robot is driving straight or nothing has been
+     * calculated yet
+     */
     public Circle getPursuitCircle() {
-        return pursuitCircle;
+        if (pursuitTransform == null || pursuitCurvature == 0) {
+            return null;
+        }
+        double radius = 1 / pursuitCurvature;
+        Position center = new Position(
+                pursuitTransform.getPosition().getX() - pursuitTransform.getRotation().sin() * radius,
+                pursuitTransform.getPosition().getY() + pursuitTransform.getRotation().cos() * radius);
+        return new Circle(center, Math.abs(radius));
+    }
+
+    /**
+     * Returns the signed curvature of the pursuit circle from the last calculation, positive turning left.
+     *
+     * @return the pursuit curvature
+     */
+    public double getPursuitCurvature() {
+        return pursuitCurvature;
     }
 
     public Position getLookaheadPoint() {
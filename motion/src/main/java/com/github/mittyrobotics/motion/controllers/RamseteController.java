@@ -25,7 +25,7 @@
 package com.github.mittyrobotics.motion.controllers;
 
 import com.github.mittyrobotics.datatypes.motion.DrivetrainState;
-import com.github.mittyrobotics.datatypes.positioning.Rotation;
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
 import com.github.mittyrobotics.datatypes.positioning.Transform;
 import com.github.mittyrobotics.datatypes.positioning.TransformWithParameter;
 import com.github.mittyrobotics.motion.pathfollowing.PathFollower;
@@ -37,6 +37,8 @@ public class RamseteController extends PathFollower {
 
     private PathFollowerProperties.RamseteProperties ramseteProperties;
 
+    private final MutablePose2d error = new MutablePose2d();
+
     public RamseteController(PathFollowerProperties properties,
                              PathFollowerProperties.RamseteProperties ramseteProperties) {
         super(properties);
@@ -49,12 +51,6 @@ public class RamseteController extends PathFollower {
         //Get the desired transform to follow, which is the closest point on the path
         TransformWithParameter desiredTransform = getCurrentPath().getClosestTransform(robotTransform.getPosition());
 
-        //If reversed, reverse the desired transform's rotation
-        desiredTransform
-                .setRotation(
-                        desiredTransform.getRotation().rotateBy(Rotation.fromDegrees((getProperties().reversed ? 180 :
-                                0))));
-
         //Calculate the robot velocity using the path velocity controller. If reversed, reverse the robot velocity
         double robotVelocity = getProperties().velocityController
                 .getVelocity(getCurrentPath(), getPreviousCalculatedVelocity(), getTraveledDistance(),
@@ -72,12 +68,17 @@ public class RamseteController extends PathFollower {
         DrivetrainState velocity =
                 DrivetrainState.fromLinearAndRadius(robotVelocity, turningRadius, getProperties().trackWidth);
 
-        //Get the transform error in meters.
-        Transform error = desiredTransform.relativeTo(robotTransform);
+        //Get the transform error in meters. If reversed, reverse the desired transform's rotation
+        error.set(desiredTransform);
+        if (getProperties().reversed) {
+            error.rotateBy(Math.PI);
+        }
+        error.relativeTo(robotTransform);
 
-        double eX = error.getPosition().getX();
-        double eY = error.getPosition().getY();
-        double eTheta = error.getRotation().getRadians();
+        double eX = error.getX();
+        double eY = error.getY();
+        double eTheta = Math.atan2(error.sin(), error.cos());
+        double sincETheta = eTheta == 0 ? 1 : error.sin() / eTheta;
 
         //Calculate the Ramsete k value
         double k = 2.0 * ramseteProperties.dampingGain *
@@ -85,12 +86,12 @@ public class RamseteController extends PathFollower {
                         ramseteProperties.aggressiveGain * Math.pow(velocity.getLinear(), 2));
 
         //Calculate the adjusted linear velocity from the Ramsete algorithm
-        double adjustedLinearVelocity = velocity.getLinear() * error.getRotation().cos() + k * eX;
+        double adjustedLinearVelocity = velocity.getLinear() * error.cos() + k * eX;
 
         //Calculate the adjusted angular velocity from the Ramsete algorithm (stays in radians per second)
         double adjustedAngularVelocity =
                 velocity.getAngular() + k * eTheta +
-                        ramseteProperties.aggressiveGain * velocity.getLinear() * error.getRotation().sinc() * eY;
+                        ramseteProperties.aggressiveGain * velocity.getLinear() * sincETheta * eY;
 
         //Calculate drivetrain state from linear and angular velocity
         DrivetrainState state = DrivetrainState
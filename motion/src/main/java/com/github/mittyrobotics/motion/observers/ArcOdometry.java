@@ -0,0 +1,136 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+/**
+ * Base of odometry that integrates each update as a robot relative twist along the exact arc the robot drove, with
+ * {@link MutablePose2d#transformByTwist(double, double, double)}.
+ * <p>
+ * Subclasses turn their drivetrain's sensor readings into a twist and pass it to
+ * {@link #integrate(double, double, double)}. The heading calibration, pose setters and getters are shared.
+ */
+public abstract class ArcOdometry {
+    private final MutablePose2d pose = new MutablePose2d();
+    private double calibrateGyroVal = 0;
+    private double deltaX;
+    private double deltaY;
+    private double deltaHeading;
+
+    /**
+     * Moves the pose along the arc of a robot relative twist. Useful for sub-stepping from chassis velocities, e.g.
+     * <code>integrate(vx * dt, vy * dt, omega * dt)</code>.
+     *
+     * @param deltaForward the distance moved forward, relative to the robot.
+     * @param deltaLeft    the distance moved left, relative to the robot.
+     * @param deltaHeading the change in heading in radians.
+     */
+    public void integrate(double deltaForward, double deltaLeft, double deltaHeading) {
+        double startX = pose.getX();
+        double startY = pose.getY();
+        pose.transformByTwist(deltaForward, deltaLeft, deltaHeading);
+        this.deltaX = pose.getX() - startX;
+        this.deltaY = pose.getY() - startY;
+        this.deltaHeading = deltaHeading;
+    }
+
+    /**
+     * Returns the calibrated heading for a gyro angle.
+     *
+     * @param gyro the gyro angle in degrees.
+     * @return the heading in radians, between -pi and pi.
+     */
+    protected double getGyroHeading(double gyro) {
+        return Math.toRadians(Math.IEEEremainder(gyro - calibrateGyroVal, 360));
+    }
+
+    public void zeroHeading(double gyro) {
+        setHeading(0, gyro);
+    }
+
+    /**
+     * Calibrates the heading such that a gyro value of <code>gyro</code> equals a heading of <code>heading</code>.
+     *
+     * @param heading the desired heading in degrees.
+     * @param gyro    the current gyro angle in degrees.
+     */
+    public void setHeading(double heading, double gyro) {
+        calibrateGyroVal = gyro - heading;
+        pose.setHeading(Math.toRadians(Math.IEEEremainder(heading, 360)));
+    }
+
+    public void setPosition(double x, double y) {
+        pose.setPosition(x, y);
+    }
+
+    public void setTransform(Transform transform, double gyro) {
+        setHeading(transform.getRotation().getDegrees(), gyro);
+        setPosition(transform.getPosition().getX(), transform.getPosition().getY());
+    }
+
+    /**
+     * Returns the live pose of the robot. It is updated in place, so copy it if it needs to be kept.
+     *
+     * @return the live pose of the robot.
+     */
+    public MutablePose2d getPose() {
+        return pose;
+    }
+
+    public Transform getRobotTransform() {
+        return pose.toTransform();
+    }
+
+    public double getX() {
+        return pose.getX();
+    }
+
+    public double getY() {
+        return pose.getY();
+    }
+
+    /**
+     * Returns the robot heading in radians.
+     *
+     * @return the robot heading in radians.
+     */
+    public double getHeading() {
+        return pose.getHeading();
+    }
+
+    public double getDeltaX() {
+        return deltaX;
+    }
+
+    public double getDeltaY() {
+        return deltaY;
+    }
+
+    public double getDeltaHeading() {
+        return deltaHeading;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.PoseHistory;
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
+import com.github.mittyrobotics.datatypes.positioning.Position;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+/**
+ * Base of robot trackers that keep an {@link ArcOdometry} and a timestamped pose and velocity history for latency
+ * compensated queries. The history is stored in primitive {@link PoseHistory} columns so updates do not allocate.
+ * <p>
+ * Subclasses update their odometry from their drivetrain's sensors and then call {@link #record(double)}.
+ *
+ * @param <T> the type of {@link ArcOdometry}
+ */
+public abstract class ArcRobotTracker<T extends ArcOdometry> {
+    private final PoseHistory robotTransformHistory;
+    private final PoseHistory robotVelocityHistory;
+    private final T odometry;
+
+    /**
+     * Creates an {@link ArcRobotTracker}.
+     *
+     * @param odometry    the {@link ArcOdometry} to track.
+     * @param historySize the number of updates of transform and velocity history to keep.
+     */
+    protected ArcRobotTracker(T odometry, int historySize) {
+        this.odometry = odometry;
+        robotTransformHistory = new PoseHistory(historySize);
+        //The velocity history holds angular velocity in its heading column, which must not wrap when interpolated
+        robotVelocityHistory = new PoseHistory(historySize, true);
+
+        //Add first sample to the history to avoid empty history errors with update()
+        robotTransformHistory.add(0, 0, 0, 0);
+        robotVelocityHistory.add(0, 0, 0, 0);
+    }
+
+    /**
+     * Adds the current odometry pose to the history, along with the velocity from the change in pose since the last
+     * recorded update.
+     *
+     * @param timestamp the timestamp of the update.
+     */
+    protected void record(double timestamp) {
+        MutablePose2d pose = odometry.getPose();
+
+        //Compute velocity from the change in pose over the delta time of the update
+        int latest = robotTransformHistory.size() - 1;
+        double deltaTime = timestamp - robotTransformHistory.getTimestamp(latest);
+        double velocityX = (pose.getX() - robotTransformHistory.getX(latest)) / deltaTime;
+        double velocityY = (pose.getY() - robotTransformHistory.getY(latest)) / deltaTime;
+        double angularVelocity =
+                Math.IEEEremainder(pose.getHeading() - robotTransformHistory.getHeading(latest), 2 * Math.PI) /
+                        deltaTime;
+
+        robotTransformHistory.add(timestamp, pose.getX(), pose.getY(), pose.getHeading());
+        robotVelocityHistory.add(timestamp, velocityX, velocityY, angularVelocity);
+    }
+
+    /**
+     * Sets the heading of the tracker such that a gyro value on the robot of <code>gyro</code> will equal a heading
+     * value of <code>heading</code>.
+     *
+     * @param heading the desired heading.
+     * @param gyro    the robot's current gyroscope value.
+     * @see TimedRobotTracker#setHeading(double, double)
+     */
+    public void setHeading(double heading, double gyro) {
+        odometry.setHeading(heading, gyro);
+    }
+
+    /**
+     * Sets the tracker's position.
+     *
+     * @param position the {@link Position} to set the tracker to.
+     */
+    public void setPosition(Position position) {
+        odometry.setPosition(position.getX(), position.getY());
+    }
+
+    /**
+     * Sets the tracker's {@link Transform} to <code>transform</code>.
+     *
+     * @param transform the {@link Transform} to set the tracker to.
+     */
+    public void setTransform(Transform transform, double gyro) {
+        odometry.setTransform(transform, gyro);
+    }
+
+    public Transform getLatestRobotTransform() {
+        return robotTransformHistory.getLatestTransform();
+    }
+
+    public Transform getLatestRobotVelocity() {
+        return robotVelocityHistory.getLatestTransform();
+    }
+
+    public double getLatestTimestamp() {
+        return robotTransformHistory.getLatestTimestamp();
+    }
+
+    public Transform getRobotTransformAtTimestamp(double timestamp) {
+        return robotTransformHistory.getTransformAtTimestamp(timestamp);
+    }
+
+    public Transform getRobotVelocityAtTimestamp(double timestamp) {
+        return robotVelocityHistory.getTransformAtTimestamp(timestamp);
+    }
+
+    public PoseHistory getRobotTransformHistory() {
+        return robotTransformHistory;
+    }
+
+    public PoseHistory getRobotVelocityHistory() {
+        return robotVelocityHistory;
+    }
+
+    public T getOdometry() {
+        return odometry;
+    }
+}
@@ -24,13 +24,15 @@
 
 package com.github.mittyrobotics.motion.observers;
 
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
 import com.github.mittyrobotics.datatypes.positioning.Position;
 import com.github.mittyrobotics.datatypes.positioning.Rotation;
-import com.github.mittyrobotics.datatypes.positioning.Transform;
 
 public class Odometry {
-    private Position deltaPosition;
-    private Rotation robotRotation;
+    /**
+     * Delta position of the latest update and the current robot heading. Kept mutable so updates don't allocate.
+     */
+    private final MutablePose2d robotDelta = new MutablePose2d();
     private double lastLeftEncoder = 0;
     private double lastRightEncoder = 0;
     private double calibrateGyroVal = 0;
@@ -40,8 +42,8 @@ public class Odometry {
     }
 
     public void update(double leftEncoder, double rightEncoder, double gyro){
-        //Get robot rotation
-        robotRotation = Rotation.fromDegrees(gyro - calibrateGyroVal).mapDegrees180();
+        //Get robot rotation, mapped between -180 and 180 degrees
+        robotDelta.setHeading(Math.toRadians(Math.IEEEremainder(gyro - calibrateGyroVal, 360)));
 
         //Get delta left and right encoder pos
         double deltaLeftPos = leftEncoder - lastLeftEncoder;
@@ -51,15 +53,15 @@ public class Odometry {
         double deltaEncoder = (deltaLeftPos + deltaRightPos) / 2;
 
         //Get x and y values from heading and delta pos
-        double deltaX = deltaEncoder * robotRotation.cos();
-        double deltaY = deltaEncoder * robotRotation.sin();
+        double deltaX = deltaEncoder * robotDelta.cos();
+        double deltaY = deltaEncoder * robotDelta.sin();
 
         //Set last encoder positions
         lastLeftEncoder = leftEncoder;
         lastRightEncoder = rightEncoder;
 
-        //Get delta position
-        deltaPosition = new Position(deltaX, deltaY);
+        //Set delta position
+        robotDelta.setPosition(deltaX, deltaY);
     }
 
     public void zeroEncoders(double leftEncoder, double rightEncoder){
@@ -76,10 +78,27 @@ public class Odometry {
     }
 
     public Position getDeltaPosition(){
-        return deltaPosition;
+        return robotDelta.toPosition();
     }
 
     public Rotation getRobotRotation(){
-        return robotRotation;
+        return robotDelta.toRotation();
+    }
+
+    public double getDeltaX(){
+        return robotDelta.getX();
+    }
+
+    public double getDeltaY(){
+        return robotDelta.getY();
+    }
+
+    /**
+     * Returns the robot heading in radians.
+     *
+     * @return the robot heading in radians.
+     */
+    public double getRobotHeading(){
+        return robotDelta.getHeading();
     }
 }
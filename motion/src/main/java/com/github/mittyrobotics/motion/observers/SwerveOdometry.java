@@ -0,0 +1,90 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.motion.SwerveDriveKinematics;
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
+import com.github.mittyrobotics.datatypes.positioning.Position;
+
+/**
+ * Swerve drive odometry from module wheel positions, module steer angles, and a gyro.
+ * <p>
+ * Each update finds the robot relative twist of the step from the module displacements and the change in gyro
+ * heading, and integrates it along the exact arc with {@link MutablePose2d#transformByTwist(double, double, double)}.
+ * The module positions come from the {@link SwerveDriveKinematics} of the drivetrain. Updates do not allocate.
+ */
+public class SwerveOdometry extends ArcOdometry {
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final double[] lastWheelPositions;
+
+    public SwerveOdometry(SwerveDriveKinematics kinematics) {
+        this.moduleCount = kinematics.getModuleCount();
+        this.moduleX = new double[moduleCount];
+        this.moduleY = new double[moduleCount];
+        this.lastWheelPositions = new double[moduleCount];
+        for (int i = 0; i < moduleCount; i++) {
+            Position modulePosition = kinematics.getModulePosition(i);
+            moduleX[i] = modulePosition.getX();
+            moduleY[i] = modulePosition.getY();
+        }
+    }
+
+    /**
+     * Updates the odometry with the current module wheel positions, module steer angles, and gyro angle.
+     *
+     * @param wheelPositions the wheel encoder position of each module, in the same units as the module positions.
+     * @param steerAngles    the steer angle of each module in radians, relative to the robot.
+     * @param gyro           the gyro angle in degrees.
+     */
+    public void update(double[] wheelPositions, double[] steerAngles, double gyro) {
+        double heading = getGyroHeading(gyro);
+        double deltaHeading = Math.IEEEremainder(heading - getHeading(), 2 * Math.PI);
+
+        //Each module moves by the robot translation plus the rotation about the robot center, so the translation is
+        //the average module displacement with the rotation part removed
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            double deltaWheel = wheelPositions[i] - lastWheelPositions[i];
+            lastWheelPositions[i] = wheelPositions[i];
+            sumX += deltaWheel * Math.cos(steerAngles[i]) + deltaHeading * moduleY[i];
+            sumY += deltaWheel * Math.sin(steerAngles[i]) - deltaHeading * moduleX[i];
+        }
+
+        integrate(sumX / moduleCount, sumY / moduleCount, deltaHeading);
+        //Snap the heading to the gyro so rounding doesn't accumulate
+        getPose().setHeading(heading);
+    }
+
+    public void zeroEncoders(double[] wheelPositions) {
+        System.arraycopy(wheelPositions, 0, lastWheelPositions, 0, moduleCount);
+    }
+
+    public int getModuleCount() {
+        return moduleCount;
+    }
+}
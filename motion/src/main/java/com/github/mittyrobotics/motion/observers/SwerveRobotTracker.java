@@ -0,0 +1,74 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.PoseHistory;
+import com.github.mittyrobotics.datatypes.motion.SwerveDriveKinematics;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+/**
+ * The swerve drive equivalent of {@link TimedRobotTracker}. Integrates module states and a gyro with
+ * {@link SwerveOdometry} and keeps a timestamped pose and velocity history for latency compensated queries. The
+ * history is stored in primitive {@link PoseHistory} columns so updates do not allocate.
+ */
+public class SwerveRobotTracker extends ArcRobotTracker<SwerveOdometry> {
+
+    public SwerveRobotTracker(SwerveDriveKinematics kinematics) {
+        this(kinematics, 100);
+    }
+
+    /**
+     * Creates a {@link SwerveRobotTracker}.
+     *
+     * @param kinematics  the {@link SwerveDriveKinematics} of the drivetrain.
+     * @param historySize the number of updates of transform and velocity history to keep.
+     */
+    public SwerveRobotTracker(SwerveDriveKinematics kinematics, int historySize) {
+        super(new SwerveOdometry(kinematics), historySize);
+    }
+
+    /**
+     * Updates the {@link SwerveRobotTracker}. This should be updated frequently with the current module and gyro
+     * values.
+     *
+     * @param wheelPositions The wheel encoder position of each module.
+     * @param steerAngles    The steer angle of each module in radians, relative to the robot.
+     * @param gyro           The robot gyroscope value.
+     * @param timestamp      The timestamp of the update call.
+     */
+    public void update(double[] wheelPositions, double[] steerAngles, double gyro, double timestamp) {
+        getOdometry().update(wheelPositions, steerAngles, gyro);
+        record(timestamp);
+    }
+
+    public void zeroEncoders(double[] wheelPositions) {
+        getOdometry().zeroEncoders(wheelPositions);
+    }
+
+    public void calibrateTransformToZero(double[] wheelPositions, double gyro) {
+        zeroEncoders(wheelPositions);
+        setTransform(new Transform(0, 0, 0), gyro);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.motion.DifferentialDriveKinematics;
+
+/**
+ * Differential drive odometry that integrates each update along the exact constant curvature arc the robot drove.
+ * <p>
+ * {@link Odometry} moves the robot in a straight line along the heading at the end of each update, which drifts on
+ * turns. This integrates the twist of each update through the exponential map instead, so the pose is exact whenever
+ * the wheel velocities are constant over the update. Updates do not allocate, so it can be sub-stepped at encoder
+ * sampling rates.
+ */
+public class TwistOdometry extends ArcOdometry {
+    private final double trackWidth;
+    private double lastLeftEncoder = 0;
+    private double lastRightEncoder = 0;
+
+    /**
+     * Creates a {@link TwistOdometry} that gets its heading from a gyro.
+     */
+    public TwistOdometry() {
+        this(Double.NaN);
+    }
+
+    /**
+     * Creates a {@link TwistOdometry} that can also get its heading from the encoders alone with
+     * {@link #update(double, double)}.
+     *
+     * @param trackWidth the width between left and right wheels of the drivetrain, in encoder units.
+     */
+    public TwistOdometry(double trackWidth) {
+        this.trackWidth = trackWidth;
+    }
+
+    /**
+     * Updates the odometry with the current encoder positions and gyro angle. The change in heading comes from the
+     * gyro.
+     *
+     * @param leftEncoder  the left wheel encoder position.
+     * @param rightEncoder the right wheel encoder position.
+     * @param gyro         the gyro angle in degrees.
+     */
+    public void update(double leftEncoder, double rightEncoder, double gyro) {
+        double heading = getGyroHeading(gyro);
+        double deltaDistance = ((leftEncoder - lastLeftEncoder) + (rightEncoder - lastRightEncoder)) / 2;
+        lastLeftEncoder = leftEncoder;
+        lastRightEncoder = rightEncoder;
+        integrate(deltaDistance, Math.IEEEremainder(heading - getHeading(), 2 * Math.PI));
+        //Snap the heading to the gyro so rounding doesn't accumulate
+        getPose().setHeading(heading);
+    }
+
+    /**
+     * Updates the odometry with the current encoder positions only. The change in heading comes from the difference
+     * between the wheels, which requires the track width.
+     *
+     * @param leftEncoder  the left wheel encoder position.
+     * @param rightEncoder the right wheel encoder position.
+     */
+    public void update(double leftEncoder, double rightEncoder) {
+        if (Double.isNaN(trackWidth)) {
+            throw new IllegalStateException("Encoder only odometry needs a track width");
+        }
+        double deltaLeft = leftEncoder - lastLeftEncoder;
+        double deltaRight = rightEncoder - lastRightEncoder;
+        lastLeftEncoder = leftEncoder;
+        lastRightEncoder = rightEncoder;
+        integrate((deltaLeft + deltaRight) / 2,
+                DifferentialDriveKinematics.getAngularVelocityFromWheelSpeeds(deltaLeft, deltaRight, trackWidth));
+    }
+
+    /**
+     * Moves the pose along the arc of length <code>deltaDistance</code> that turns by <code>deltaHeading</code>.
+     * Useful for sub-stepping from wheel velocities, e.g. <code>integrate(v * dt, omega * dt)</code>.
+     *
+     * @param deltaDistance the distance driven along the arc.
+     * @param deltaHeading  the change in heading in radians.
+     */
+    public void integrate(double deltaDistance, double deltaHeading) {
+        integrate(deltaDistance, 0, deltaHeading);
+    }
+
+    public void zeroEncoders(double leftEncoder, double rightEncoder) {
+        lastLeftEncoder = leftEncoder;
+        lastRightEncoder = rightEncoder;
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.observers;
+
+import com.github.mittyrobotics.datatypes.PoseHistory;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+/**
+ * Alternative to {@link TimedRobotTracker} that integrates with {@link TwistOdometry} along the exact arc the robot
+ * drove, and stores its history in primitive {@link PoseHistory} columns so updates do not allocate.
+ * <p>
+ * The update, calibration and timestamp query methods match {@link TimedRobotTracker}. The raw history is exposed as
+ * {@link PoseHistory} through {@link #getRobotTransformHistory()} and {@link #getRobotVelocityHistory()} instead of
+ * <code>getRobotTransformList()</code> and <code>getRobotVelocityList()</code>.
+ */
+public class TwistRobotTracker extends ArcRobotTracker<TwistOdometry> {
+
+    public TwistRobotTracker() {
+        this(100);
+    }
+
+    /**
+     * Creates a {@link TwistRobotTracker}.
+     *
+     * @param historySize the number of updates of transform and velocity history to keep.
+     */
+    public TwistRobotTracker(int historySize) {
+        super(new TwistOdometry(), historySize);
+    }
+
+    /**
+     * Updates the {@link TwistRobotTracker}. This should be updated frequently with the current encoder and gyro
+     * values.
+     *
+     * @param leftEncoderPosInches  The left wheel encoder value of the drivetrain in inches.
+     * @param rightEncoderPosInches The right wheel encoder value of the drivetrain in inches.
+     * @param gyro                  The robot gyroscope value.
+     * @param timestamp             The timestamp of the update call.
+     */
+    public void update(double leftEncoderPosInches, double rightEncoderPosInches, double gyro, double timestamp) {
+        getOdometry().update(leftEncoderPosInches, rightEncoderPosInches, gyro);
+        record(timestamp);
+    }
+
+    public void zeroEncoders(double leftEncoder, double rightEncoder) {
+        getOdometry().zeroEncoders(leftEncoder, rightEncoder);
+    }
+
+    public void calibrateTransformToZero(double leftEncoder, double rightEncoder, double gyro) {
+        zeroEncoders(leftEncoder, rightEncoder);
+        setTransform(new Transform(0, 0, 0), gyro);
+    }
+}
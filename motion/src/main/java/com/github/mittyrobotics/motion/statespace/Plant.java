@@ -154,6 +154,72 @@ public class Plant {
         return new Plant(states, outputs, continuousSystem, uMin, uMax, deltaTime);
     }
 
+    /**
+     * Creates a velocity {@link Plant} from feedforward constants, where <code>voltage = kV * velocity + kA *
+     * acceleration</code>. The static friction constant, kS, cannot be represented by a linear {@link Plant} and
+     * should be applied as a feedforward instead.
+     *
+     * @param kV         the velocity constant in volts per unit of velocity.
+     * @param kA         the acceleration constant in volts per unit of acceleration.
+     * @param maxVoltage the max voltage of the system.
+     * @param deltaTime  the discretization time step.
+     * @return the velocity {@link Plant}.
+     */
+    public static Plant createVelocityPlant(double kV, double kA, double maxVoltage, double deltaTime) {
+        SimpleMatrix states, outputs, a, b, c, d, uMin, uMax;
+        states = new SimpleMatrix(new double[][]{{0}}); //[[velocity]]
+        outputs = new SimpleMatrix(new double[][]{{0}}); //[[velocity]]
+
+        a = new SimpleMatrix(new double[][]{{-kV / kA}});
+        b = new SimpleMatrix(new double[][]{{1.0 / kA}});
+        c = SimpleMatrix.identity(1);
+        d = new SimpleMatrix(new double[][]{{0.0}});
+
+        uMin = new SimpleMatrix(new double[][]{{-maxVoltage}});
+        uMax = new SimpleMatrix(new double[][]{{maxVoltage}});
+
+        StateSpaceSystemGains continuousSystem = new StateSpaceSystemGains(a, b, c, d);
+        return new Plant(states, outputs, continuousSystem, uMin, uMax, deltaTime);
+    }
+
+    /**
+     * Creates a position {@link Plant} from feedforward constants, where <code>voltage = kV * velocity + kA *
+     * acceleration</code>. The static friction constant, kS, cannot be represented by a linear {@link Plant} and
+     * should be applied as a feedforward instead.
+     *
+     * @param kV         the velocity constant in volts per unit of velocity.
+     * @param kA         the acceleration constant in volts per unit of acceleration.
+     * @param maxVoltage the max voltage of the system.
+     * @param deltaTime  the discretization time step.
+     * @return the position {@link Plant}.
+     */
+    public static Plant createPositionPlant(double kV, double kA, double maxVoltage, double deltaTime) {
+        SimpleMatrix states, outputs, a, b, c, d, uMin, uMax;
+        states = new SimpleMatrix(new double[][]{{0}, {0}}); //[[position], [velocity]]
+        outputs = new SimpleMatrix(new double[][]{{0}}); //[[position]]
+
+        a = new SimpleMatrix(new double[][]{
+                {0.0, 1.0},
+                {0.0, -kV / kA}
+        });
+        b = new SimpleMatrix(new double[][]{
+                {0.0},
+                {1.0 / kA}
+        });
+        c = new SimpleMatrix(new double[][]{
+                {1.0, 0.0}
+        });
+        d = new SimpleMatrix(new double[][]{
+                {0.0}
+        });
+
+        uMin = new SimpleMatrix(new double[][]{{-maxVoltage}});
+        uMax = new SimpleMatrix(new double[][]{{maxVoltage}});
+
+        StateSpaceSystemGains continuousSystem = new StateSpaceSystemGains(a, b, c, d);
+        return new Plant(states, outputs, continuousSystem, uMin, uMax, deltaTime);
+    }
+
     public static Plant createInvertedPendulumPlant(Motor motor, double cartMass, double pendulumMass,
                                                     double cartFrictionCoeff, double pendulumInertia, double gravity,
                                                     double pendulumLengthToCenterMass, double deltaTime) {
@@ -24,10 +24,14 @@
 
 package com.github.mittyrobotics.motion.statespace.models;
 
-import com.github.mittyrobotics.datatypes.motion.DrivetrainWheelState;
 import com.github.mittyrobotics.motion.statespace.motors.Motor;
 
 public class DrivetrainModel {
+    private static final int LEFT_POSITION = 0;
+    private static final int LEFT_VELOCITY = 1;
+    private static final int RIGHT_POSITION = 2;
+    private static final int RIGHT_VELOCITY = 3;
+
     private final double mass;
     private final double momentOfInertia;
     private final double trackWidth;
@@ -36,12 +40,19 @@ public class DrivetrainModel {
     private final double gearRatio;
     private final double wheelRadius;
 
-    private double leftVelocity;
-    private double rightVelocity;
+    //Constants of the wheel force and acceleration equations
+    private final double velocityForceGain;
+    private final double voltageForceGain;
+    private final double sameSideGain;
+    private final double otherSideGain;
+
+    private final double[] state = new double[4];
+    private final Integrator.StateDerivative derivative = this::calculateDerivative;
+    private Integrator integrator = new EulerIntegrator();
+    private double leftVoltage;
+    private double rightVoltage;
     private double leftAcceleration;
     private double rightAcceleration;
-    private double leftPosition;
-    private double rightPosition;
 
     /**
      * @param mass
@@ -61,53 +72,70 @@ public class DrivetrainModel {
         this.motor = motor;
         this.gearRatio = gearRatio;
         this.wheelRadius = wheelRadius;
-    }
-
-    public void updateModel(double leftVoltage, double rightVoltage, double deltaTime) {
-        DrivetrainWheelState accelerations = calculateAccelerations(leftVoltage, rightVoltage);
-
-        this.leftAcceleration = accelerations.getLeft();
-        this.leftVelocity += leftAcceleration * deltaTime;
-        this.leftPosition += leftVelocity * deltaTime;
-
-        this.rightAcceleration = accelerations.getRight();
-        this.rightVelocity += rightAcceleration * deltaTime;
-        this.rightPosition += rightVelocity * deltaTime;
-    }
 
-    /**
-     * https://file.tavsys.net/control/controls-engineering-in-frc.pdf#page=191
-     *
-     * @param leftVoltage
-     * @param rightVoltage
-     */
-    private DrivetrainWheelState calculateAccelerations(double leftVoltage, double rightVoltage) {
-        double Vl = leftVoltage;
-        double Vr = rightVoltage;
-        double vl = leftVelocity;
-        double vr = rightVelocity;
-        double m = mass;
-        double rb = trackWidth;
-        double J = momentOfInertia;
+        //https://file.tavsys.net/control/controls-engineering-in-frc.pdf#page=191
         double G = gearRatio;
         double R = motor.getResistance();
         double r = wheelRadius;
         double Kt = motor.getKt();
         double Kv = motor.getKv();
+        this.velocityForceGain = -(G * G * Kt) / (Kv * R * (r * r));
+        this.voltageForceGain = (G * Kt) / (R * r);
+        this.sameSideGain = (1 / mass) + ((trackWidth * trackWidth) / momentOfInertia);
+        this.otherSideGain = (1 / mass) - ((trackWidth * trackWidth) / momentOfInertia);
+    }
 
-        double c1 = -(G * G * Kt) / (Kv * R * (r * r));
-        double c2 = (G * Kt) / (R * r);
+    /**
+     * Advances the model by <code>deltaTime</code> with the voltages held constant, using the model's
+     * {@link Integrator}.
+     *
+     * @param leftVoltage  the left voltage
+     * @param rightVoltage the right voltage
+     * @param deltaTime    the time step in seconds
+     */
+    public void updateModel(double leftVoltage, double rightVoltage, double deltaTime) {
+        this.leftVoltage = leftVoltage;
+        this.rightVoltage = rightVoltage;
+        this.leftAcceleration = calculateAcceleration(state[LEFT_VELOCITY], state[RIGHT_VELOCITY], leftVoltage,
+                rightVoltage);
+        this.rightAcceleration = calculateAcceleration(state[RIGHT_VELOCITY], state[LEFT_VELOCITY], rightVoltage,
+                leftVoltage);
+        integrator.integrate(derivative, state, deltaTime);
+    }
 
-        double Fl = (c1 * vl + c2 * Vl);
-        double Fr = (c1 * vr + c2 * Vr);
+    private void calculateDerivative(double[] state, double[] derivative) {
+        derivative[LEFT_POSITION] = state[LEFT_VELOCITY];
+        derivative[LEFT_VELOCITY] = calculateAcceleration(state[LEFT_VELOCITY], state[RIGHT_VELOCITY], leftVoltage,
+                rightVoltage);
+        derivative[RIGHT_POSITION] = state[RIGHT_VELOCITY];
+        derivative[RIGHT_VELOCITY] = calculateAcceleration(state[RIGHT_VELOCITY], state[LEFT_VELOCITY],
+                rightVoltage, leftVoltage);
+    }
 
-        double eqn0 = (1 / m) + ((rb * rb) / J);
-        double eqn1 = (1 / m) - ((rb * rb) / J);
+    /**
+     * Calculates the acceleration of one side of the drivetrain.
+     * <p>
+     * https://file.tavsys.net/control/controls-engineering-in-frc.pdf#page=191
+     */
+    private double calculateAcceleration(double velocity, double otherVelocity, double voltage,
+                                         double otherVoltage) {
+        double force = velocityForceGain * velocity + voltageForceGain * voltage;
+        double otherForce = velocityForceGain * otherVelocity + voltageForceGain * otherVoltage;
+        return sameSideGain * force + otherSideGain * otherForce;
+    }
 
-        double leftAcceleration = eqn0 * Fl + eqn1 * Fr;
-        double rightAcceleration = eqn1 * Fl + eqn0 * Fr;
+    public Integrator getIntegrator() {
+        return integrator;
+    }
 
-        return new DrivetrainWheelState(leftAcceleration, rightAcceleration);
+    /**
+     * Sets the {@link Integrator} used by {@link #updateModel(double, double, double)}, defaulting to an
+     * {@link EulerIntegrator}.
+     *
+     * @param integrator the {@link Integrator}
+     */
+    public void setIntegrator(Integrator integrator) {
+        this.integrator = integrator;
     }
 
     public double getTrackWidth() {
@@ -119,11 +147,11 @@ public class DrivetrainModel {
     }
 
     public double getLeftVelocity() {
-        return leftVelocity;
+        return state[LEFT_VELOCITY];
     }
 
     public double getRightVelocity() {
-        return rightVelocity;
+        return state[RIGHT_VELOCITY];
     }
 
     public double getLeftAcceleration() {
@@ -135,10 +163,10 @@ public class DrivetrainModel {
     }
 
     public double getLeftPosition() {
-        return leftPosition;
+        return state[LEFT_POSITION];
     }
 
     public double getRightPosition() {
-        return rightPosition;
+        return state[RIGHT_POSITION];
     }
 }
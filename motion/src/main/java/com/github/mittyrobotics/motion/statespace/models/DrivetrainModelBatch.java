@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.statespace.models;
+
+import com.github.mittyrobotics.motion.statespace.motors.Motor;
+
+/**
+ * Many {@link DrivetrainModel}s stored as primitive arrays and stepped together.
+ * <p>
+ * Every robot uses the same equations as {@link DrivetrainModel} with an {@link EulerIntegrator}. The update is a
+ * single branch free loop over flat arrays, so the JIT can vectorize it, and stepping allocates nothing.
+ */
+public class DrivetrainModelBatch {
+    private final int capacity;
+    private int size;
+
+    //Per robot constants of the wheel force and acceleration equations
+    private final double[] velocityForceGains;
+    private final double[] voltageForceGains;
+    private final double[] sameSideGains;
+    private final double[] otherSideGains;
+    private final double[] trackWidths;
+    private final double[] drivetrainLengths;
+
+    private final double[] leftPositions;
+    private final double[] leftVelocities;
+    private final double[] leftAccelerations;
+    private final double[] rightPositions;
+    private final double[] rightVelocities;
+    private final double[] rightAccelerations;
+
+    /**
+     * Constructs an empty {@link DrivetrainModelBatch}.
+     *
+     * @param capacity the maximum number of robots
+     */
+    public DrivetrainModelBatch(int capacity) {
+        this.capacity = capacity;
+        this.velocityForceGains = new double[capacity];
+        this.voltageForceGains = new double[capacity];
+        this.sameSideGains = new double[capacity];
+        this.otherSideGains = new double[capacity];
+        this.trackWidths = new double[capacity];
+        this.drivetrainLengths = new double[capacity];
+        this.leftPositions = new double[capacity];
+        this.leftVelocities = new double[capacity];
+        this.leftAccelerations = new double[capacity];
+        this.rightPositions = new double[capacity];
+        this.rightVelocities = new double[capacity];
+        this.rightAccelerations = new double[capacity];
+    }
+
+    /**
+     * Adds a robot at rest, with the same parameters as {@link DrivetrainModel}.
+     *
+     * @return the index of the robot
+     */
+    public int add(double mass, double momentOfInertia, double trackWidth, double drivetrainLength, Motor motor,
+                   double gearRatio, double wheelRadius) {
+        if (size == capacity) {
+            throw new IllegalStateException("DrivetrainModelBatch is full with " + capacity + " robots");
+        }
+        int index = size++;
+        setParameters(index, mass, momentOfInertia, trackWidth, drivetrainLength, motor, gearRatio, wheelRadius);
+        return index;
+    }
+
+    /**
+     * Sets the parameters of the robot at <code>index</code>, keeping its state.
+     */
+    public void setParameters(int index, double mass, double momentOfInertia, double trackWidth,
+                              double drivetrainLength, Motor motor, double gearRatio, double wheelRadius) {
+        checkIndex(index);
+        //https://file.tavsys.net/control/controls-engineering-in-frc.pdf#page=191
+        double G = gearRatio;
+        double R = motor.getResistance();
+        double r = wheelRadius;
+        double Kt = motor.getKt();
+        double Kv = motor.getKv();
+        velocityForceGains[index] = -(G * G * Kt) / (Kv * R * (r * r));
+        voltageForceGains[index] = (G * Kt) / (R * r);
+        sameSideGains[index] = (1 / mass) + ((trackWidth * trackWidth) / momentOfInertia);
+        otherSideGains[index] = (1 / mass) - ((trackWidth * trackWidth) / momentOfInertia);
+        trackWidths[index] = trackWidth;
+        drivetrainLengths[index] = drivetrainLength;
+    }
+
+    /**
+     * Advances every robot by <code>deltaTime</code> with its voltages held constant.
+     *
+     * @param leftVoltages  the left voltage of each robot, at least {@link #getSize()} long
+     * @param rightVoltages the right voltage of each robot, at least {@link #getSize()} long
+     * @param deltaTime     the time step in seconds
+     */
+    public void updateModels(double[] leftVoltages, double[] rightVoltages, double deltaTime) {
+        int n = size;
+        double[] kVelocity = velocityForceGains;
+        double[] kVoltage = voltageForceGains;
+        double[] kSame = sameSideGains;
+        double[] kOther = otherSideGains;
+        double[] leftPosition = leftPositions;
+        double[] leftVelocity = leftVelocities;
+        double[] leftAcceleration = leftAccelerations;
+        double[] rightPosition = rightPositions;
+        double[] rightVelocity = rightVelocities;
+        double[] rightAcceleration = rightAccelerations;
+        for (int i = 0; i < n; i++) {
+            double vl = leftVelocity[i];
+            double vr = rightVelocity[i];
+            double forceLeft = kVelocity[i] * vl + kVoltage[i] * leftVoltages[i];
+            double forceRight = kVelocity[i] * vr + kVoltage[i] * rightVoltages[i];
+            double al = kSame[i] * forceLeft + kOther[i] * forceRight;
+            double ar = kOther[i] * forceLeft + kSame[i] * forceRight;
+            leftAcceleration[i] = al;
+            rightAcceleration[i] = ar;
+            leftPosition[i] = leftPosition[i] + vl * deltaTime;
+            rightPosition[i] = rightPosition[i] + vr * deltaTime;
+            leftVelocity[i] = vl + al * deltaTime;
+            rightVelocity[i] = vr + ar * deltaTime;
+        }
+    }
+
+    /**
+     * Sets the state of the robot at <code>index</code>.
+     */
+    public void setState(int index, double leftPosition, double leftVelocity, double rightPosition,
+                         double rightVelocity) {
+        checkIndex(index);
+        leftPositions[index] = leftPosition;
+        leftVelocities[index] = leftVelocity;
+        rightPositions[index] = rightPosition;
+        rightVelocities[index] = rightVelocity;
+        leftAccelerations[index] = 0;
+        rightAccelerations[index] = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Robot " + index + " is out of bounds for " + size + " robots");
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getTrackWidth(int index) {
+        return trackWidths[index];
+    }
+
+    public double getDrivetrainLength(int index) {
+        return drivetrainLengths[index];
+    }
+
+    public double getLeftPosition(int index) {
+        return leftPositions[index];
+    }
+
+    public double getLeftVelocity(int index) {
+        return leftVelocities[index];
+    }
+
+    public double getLeftAcceleration(int index) {
+        return leftAccelerations[index];
+    }
+
+    public double getRightPosition(int index) {
+        return rightPositions[index];
+    }
+
+    public double getRightVelocity(int index) {
+        return rightVelocities[index];
+    }
+
+    public double getRightAcceleration(int index) {
+        return rightAccelerations[index];
+    }
+
+    /**
+     * Returns the live array of left positions. Only the first {@link #getSize()} elements are robots.
+     *
+     * @return the left positions
+     */
+    public double[] getLeftPositions() {
+        return leftPositions;
+    }
+
+    /**
+     * Returns the live array of left velocities. Only the first {@link #getSize()} elements are robots.
+     *
+     * @return the left velocities
+     */
+    public double[] getLeftVelocities() {
+        return leftVelocities;
+    }
+
+    /**
+     * Returns the live array of right positions. Only the first {@link #getSize()} elements are robots.
+     *
+     * @return the right positions
+     */
+    public double[] getRightPositions() {
+        return rightPositions;
+    }
+
+    /**
+     * Returns the live array of right velocities. Only the first {@link #getSize()} elements are robots.
+     *
+     * @return the right velocities
+     */
+    public double[] getRightVelocities() {
+        return rightVelocities;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.statespace.models;
+
+/**
+ * Numerical integrator advancing a state vector by a time step, with the model's input held constant over the step.
+ * <p>
+ * Integrators may keep scratch arrays between calls to avoid allocating, so each model should use its own instance.
+ */
+public interface Integrator {
+    /**
+     * Integrates <code>state</code> in place over <code>deltaTime</code>.
+     *
+     * @param derivative the {@link StateDerivative} of the model
+     * @param state      the state to integrate, overwritten with the integrated state
+     * @param deltaTime  the time step in seconds
+     */
+    void integrate(StateDerivative derivative, double[] state, double deltaTime);
+
+    /**
+     * The time derivative of a model's state.
+     */
+    @FunctionalInterface
+    interface StateDerivative {
+        /**
+         * Calculates the derivative of <code>state</code>.
+         *
+         * @param state      the state, which must not be modified
+         * @param derivative array the same length as <code>state</code> the derivative is written to
+         */
+        void calculate(double[] state, double[] derivative);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.statespace.models;
+
+/**
+ * Adaptive Dormand-Prince Runge-Kutta 4(5) {@link Integrator}.
+ * <p>
+ * Each call is split into as many internal steps as needed to keep the estimated local error within the absolute and
+ * relative tolerances. The accepted step size carries over between calls, so smooth motion is covered in one step per
+ * call while sudden input changes are resolved with smaller ones.
+ */
+public class RK45Integrator implements Integrator {
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+            A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192, B5 = -2187.0 / 6784,
+            B6 = 11.0 / 84;
+    //Difference between the fifth and fourth order solutions
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final double minStep;
+    private double step = Double.NaN;
+
+    private double[] k1 = new double[0];
+    private double[] k2, k3, k4, k5, k6, k7, intermediate, next;
+
+    /**
+     * Constructs a {@link RK45Integrator} with an absolute and relative tolerance of 1e-6.
+     */
+    public RK45Integrator() {
+        this(1e-6, 1e-6);
+    }
+
+    public RK45Integrator(double absoluteTolerance, double relativeTolerance) {
+        this(absoluteTolerance, relativeTolerance, 1e-6);
+    }
+
+    /**
+     * Constructs a {@link RK45Integrator}.
+     *
+     * @param absoluteTolerance the absolute error tolerance of each state
+     * @param relativeTolerance the error tolerance of each state relative to its magnitude
+     * @param minStep           the smallest internal step in seconds, which is accepted even if it is not within
+     *                          tolerance
+     */
+    public RK45Integrator(double absoluteTolerance, double relativeTolerance, double minStep) {
+        if (!(minStep > 0)) {
+            throw new IllegalArgumentException("Min step must be positive");
+        }
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.minStep = minStep;
+    }
+
+    @Override
+    public void integrate(StateDerivative derivative, double[] state, double deltaTime) {
+        int n = state.length;
+        if (k1.length != n) {
+            k1 = new double[n];
+            k2 = new double[n];
+            k3 = new double[n];
+            k4 = new double[n];
+            k5 = new double[n];
+            k6 = new double[n];
+            k7 = new double[n];
+            intermediate = new double[n];
+            next = new double[n];
+        }
+        if (Double.isNaN(step) || step <= 0) {
+            step = deltaTime;
+        }
+
+        //Accepted steps are at least minStep long, so this leaves plenty of room for rejected ones
+        long maxIterations = 10 * (long) Math.ceil(deltaTime / minStep) + 100;
+        long iterations = 0;
+
+        double time = 0;
+        derivative.calculate(state, k1);
+        while (time < deltaTime) {
+            if (++iterations > maxIterations) {
+                throw new IllegalStateException("Integration did not finish within " + maxIterations + " steps");
+            }
+            double remaining = deltaTime - time;
+            double h = Math.min(step, remaining);
+            boolean lastStep = h >= remaining;
+
+            for (int i = 0; i < n; i++) {
+                intermediate[i] = state[i] + h * A21 * k1[i];
+            }
+            derivative.calculate(intermediate, k2);
+            for (int i = 0; i < n; i++) {
+                intermediate[i] = state[i] + h * (A31 * k1[i] + A32 * k2[i]);
+            }
+            derivative.calculate(intermediate, k3);
+            for (int i = 0; i < n; i++) {
+                intermediate[i] = state[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+            }
+            derivative.calculate(intermediate, k4);
+            for (int i = 0; i < n; i++) {
+                intermediate[i] = state[i] + h * (A51 * k1[i] + A52 * k2[i] + A53 * k3[i] + A54 * k4[i]);
+            }
+            derivative.calculate(intermediate, k5);
+            for (int i = 0; i < n; i++) {
+                intermediate[i] = state[i] +
+                        h * (A61 * k1[i] + A62 * k2[i] + A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+            }
+            derivative.calculate(intermediate, k6);
+            for (int i = 0; i < n; i++) {
+                next[i] = state[i] + h * (B1 * k1[i] + B3 * k3[i] + B4 * k4[i] + B5 * k5[i] + B6 * k6[i]);
+            }
+            derivative.calculate(next, k7);
+
+            double errorSum = 0;
+            for (int i = 0; i < n; i++) {
+                double error = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+                double scale = absoluteTolerance + relativeTolerance * Math.max(Math.abs(state[i]),
+                        Math.abs(next[i]));
+                errorSum += (error / scale) * (error / scale);
+            }
+            double error = Math.sqrt(errorSum / n);
+
+            //A non-finite error means the step overflowed or the derivative is not finite. Retry with a smaller step,
+            //and fail once the step can't shrink instead of accepting a non-finite state.
+            if (!Double.isFinite(error)) {
+                if (h <= minStep) {
+                    throw new IllegalStateException("Non-finite state derivative while integrating");
+                }
+                step = Math.max(minStep, h * 0.2);
+                continue;
+            }
+
+            if (error <= 1 || h <= minStep) {
+                time = lastStep ? deltaTime : time + h;
+                System.arraycopy(next, 0, state, 0, n);
+                //The last stage is evaluated at the accepted state, so it is the first stage of the next step
+                double[] temp = k1;
+                k1 = k7;
+                k7 = temp;
+            }
+            double factor = error == 0 ? 5 : Math.max(0.2, Math.min(5, 0.9 * Math.pow(error, -0.2)));
+            //Don't let a short final step shrink the step carried over to the next call
+            if (!(lastStep && error <= 1 && factor * h < step)) {
+                step = Math.max(minStep, h * factor);
+            }
+        }
+    }
+
+    public double getAbsoluteTolerance() {
+        return absoluteTolerance;
+    }
+
+    public double getRelativeTolerance() {
+        return relativeTolerance;
+    }
+}
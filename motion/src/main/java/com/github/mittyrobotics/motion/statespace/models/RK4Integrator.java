@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.statespace.models;
+
+/**
+ * Fourth order Runge-Kutta {@link Integrator}.
+ * <p>
+ * Uses four derivative evaluations per step, and reaches the accuracy of {@link EulerIntegrator} with far larger time
+ * steps.
+ */
+public class RK4Integrator implements Integrator {
+    private double[] k1 = new double[0];
+    private double[] k2 = new double[0];
+    private double[] k3 = new double[0];
+    private double[] k4 = new double[0];
+    private double[] intermediate = new double[0];
+
+    @Override
+    public void integrate(StateDerivative derivative, double[] state, double deltaTime) {
+        int n = state.length;
+        if (k1.length != n) {
+            k1 = new double[n];
+            k2 = new double[n];
+            k3 = new double[n];
+            k4 = new double[n];
+            intermediate = new double[n];
+        }
+        double halfStep = deltaTime / 2;
+
+        derivative.calculate(state, k1);
+        for (int i = 0; i < n; i++) {
+            intermediate[i] = state[i] + k1[i] * halfStep;
+        }
+        derivative.calculate(intermediate, k2);
+        for (int i = 0; i < n; i++) {
+            intermediate[i] = state[i] + k2[i] * halfStep;
+        }
+        derivative.calculate(intermediate, k3);
+        for (int i = 0; i < n; i++) {
+            intermediate[i] = state[i] + k3[i] * deltaTime;
+        }
+        derivative.calculate(intermediate, k4);
+        for (int i = 0; i < n; i++) {
+            state[i] += (k1[i] + 2 * k2[i] + 2 * k3[i] + k4[i]) * deltaTime / 6;
+        }
+    }
+}
@@ -31,8 +31,10 @@ public class SingleJointedArmModel {
     private double gearReduction;
     private double momentOfInertia;
 
-    private double angle = 0;
-    private double angularVelocity = 0;
+    private final double[] state = new double[2];
+    private final Integrator.StateDerivative derivative = this::calculateDerivative;
+    private Integrator integrator = new EulerIntegrator();
+    private double voltage;
     private double angularAcceleration = 0;
 
     public SingleJointedArmModel(Motor motor, double gearReduction, double momentOfInertia) {
@@ -41,14 +43,25 @@ public class SingleJointedArmModel {
         this.momentOfInertia = momentOfInertia;
     }
 
+    /**
+     * Advances the model by <code>dt</code> with the voltage held constant, using the model's {@link Integrator}.
+     *
+     * @param voltage the voltage
+     * @param dt      the time step in seconds
+     */
     public void update(double voltage, double dt) {
-        this.angularAcceleration = calculateAngularAcceleration(voltage);
-        this.angularVelocity += this.angularAcceleration * dt;
-        this.angle += this.angularVelocity * dt;
+        this.voltage = voltage;
+        this.angularAcceleration = calculateAngularAcceleration(state[1], voltage);
+        integrator.integrate(derivative, state, dt);
     }
 
-    private double calculateAngularAcceleration(double voltage) {
-        return (gearReduction * gearReduction * motor.getKt()) /
+    private void calculateDerivative(double[] state, double[] derivative) {
+        derivative[0] = state[1];
+        derivative[1] = calculateAngularAcceleration(state[1], voltage);
+    }
+
+    private double calculateAngularAcceleration(double angularVelocity, double voltage) {
+        return -(gearReduction * gearReduction * motor.getKt()) /
                 (motor.getKv() * motor.getResistance() * momentOfInertia) * angularVelocity +
                 (gearReduction * motor.getKt()) / (motor.getResistance() * momentOfInertia) * voltage;
     }
@@ -65,16 +78,29 @@ public class SingleJointedArmModel {
         return momentOfInertia;
     }
 
+    public Integrator getIntegrator() {
+        return integrator;
+    }
+
+    /**
+     * Sets the {@link Integrator} used by {@link #update(double, double)}, defaulting to an {@link EulerIntegrator}.
+     *
+     * @param integrator the {@link Integrator}
+     */
+    public void setIntegrator(Integrator integrator) {
+        this.integrator = integrator;
+    }
+
     public double getAngle() {
-        return angle;
+        return state[0];
     }
 
     public void setAngle(double angle) {
-        this.angle = angle;
+        state[0] = angle;
     }
 
     public double getAngularVelocity() {
-        return angularVelocity;
+        return state[1];
     }
 
     public double getAngularAcceleration() {
@@ -27,152 +27,434 @@ package com.github.mittyrobotics.motion.statespace.models;
 import com.github.mittyrobotics.datatypes.motion.SwerveDriveKinematics;
 import com.github.mittyrobotics.datatypes.motion.SwerveDriveState;
 import com.github.mittyrobotics.datatypes.motion.SwerveModuleState;
+import com.github.mittyrobotics.datatypes.positioning.Position;
 import com.github.mittyrobotics.motion.statespace.motors.Motor;
 
+/**
+ * Rigid body model of a swerve drive chassis.
+ * <p>
+ * Each wheel pushes along its steering direction with the force of its geared motor, resisted by the back EMF of the
+ * wheel's speed over the ground. Sideways scrub of each wheel is resisted by viscous lateral friction. The module
+ * forces are summed into the chassis acceleration and torque, which are integrated with the model's
+ * {@link Integrator}. Steering is a linear motor model whose discretization is cached per time step, and the steering
+ * angles are held over each chassis step.
+ * <p>
+ * Stepping the model does not allocate.
+ */
 public class SwerveDriveModel {
-    private final Motor wheelMotor;
+    /**
+     * Default time constant in seconds of the lateral friction stopping a sliding robot.
+     */
+    public static final double DEFAULT_LATERAL_SLIP_TIME_CONSTANT = 0.05;
+
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int HEADING = 2;
+    private static final int VEL_X = 3;
+    private static final int VEL_Y = 4;
+    private static final int ANGULAR_VEL = 5;
+    private static final int WHEEL_POSITIONS = 6;
+
+    private static final double MAX_VOLTAGE = 12;
+
     private final double mass;
-    private final double length;
-    private final double width;
     private final double chassisMomentOfInertia;
-    private final double wheelGearReduction;
-    private final double wheelRadius;
-    private final FlywheelModel frModule;
-    private final FlywheelModel flModule;
-    private final FlywheelModel blModule;
-    private final FlywheelModel brModule;
-    private final PulleyModel frWheelModel;
-    private final PulleyModel flWheelModel;
-    private final PulleyModel blWheelModel;
-    private final PulleyModel brWheelModel;
-    private SwerveDriveState position = new SwerveDriveState();
-    private SwerveDriveState velocity = new SwerveDriveState();
-    private SwerveDriveState acceleration = new SwerveDriveState();
+    private final int moduleCount;
+    private final double[] moduleX;
+    private final double[] moduleY;
+    private final SwerveDriveKinematics kinematics;
+
+    //Wheel force, F = wheelVelocityGain * groundSpeed + wheelVoltageGain * voltage
+    private final double wheelVelocityGain;
+    private final double wheelVoltageGain;
+    private double lateralFriction;
+
+    //Continuous steering model, acceleration = steerVelocityGain * velocity + steerVoltageGain * voltage
+    private final double steerVelocityGain;
+    private final double steerVoltageGain;
+    //Discrete steering model cached for cachedDeltaTime
+    private double cachedDeltaTime = Double.NaN;
+    private double steerVelocityDecay;
+    private double steerPositionFromVelocity;
+    private double steerVelocityFromVoltage;
+    private double steerPositionFromVoltage;
+
+    private final double[] state;
+    private final double[] previousState;
+    private final double[] wheelVoltages;
+    private final double[] steerVoltages;
+    private final double[] steerAngles;
+    private final double[] steerVelocities;
+    private final double[] steerCos;
+    private final double[] steerSin;
+    private final Integrator.StateDerivative derivative = this::calculateDerivative;
+    private Integrator integrator = new RK4Integrator();
+
+    private final SwerveDriveState position;
+    private final SwerveDriveState velocity;
+    private final SwerveDriveState acceleration;
+    private final SwerveDriveState swervePositionState;
 
     public SwerveDriveModel(Motor wheelMotor, Motor steerMotor, double mass, double length, double width,
-            /*double chassisMomentOfInertia,*/ double steerMomentOfInertia, double wheelGearReduction,
+                            double steerMomentOfInertia, double wheelGearReduction,
                             double steerGearReduction,
                             double wheelRadius) {
-        this.wheelMotor = wheelMotor;
+        this(wheelMotor, steerMotor, mass, SwerveDriveKinematics.createRectangularModulePositions(length, width),
+                steerMomentOfInertia, wheelGearReduction, steerGearReduction, wheelRadius);
+    }
+
+    /**
+     * Creates a {@link SwerveDriveModel} with any number of modules at arbitrary positions, such as a non-rectangular
+     * chassis. The chassis moment of inertia is estimated as a uniform plate spanning the modules.
+     *
+     * @param wheelMotor           the wheel {@link Motor} of each module
+     * @param steerMotor           the steer {@link Motor} of each module
+     * @param mass                 the mass of the robot
+     * @param modulePositions      the {@link Position} of each module relative to the center of the robot
+     * @param steerMomentOfInertia the moment of inertia of each module's steering
+     * @param wheelGearReduction   the gear reduction of each wheel
+     * @param steerGearReduction   the gear reduction of each module's steering
+     * @param wheelRadius          the radius of each wheel
+     */
+    public SwerveDriveModel(Motor wheelMotor, Motor steerMotor, double mass, Position[] modulePositions,
+                            double steerMomentOfInertia, double wheelGearReduction, double steerGearReduction,
+                            double wheelRadius) {
+        this(wheelMotor, steerMotor, mass, estimateMomentOfInertia(mass, modulePositions), modulePositions,
+                steerMomentOfInertia, wheelGearReduction, steerGearReduction, wheelRadius);
+    }
+
+    /**
+     * Creates a {@link SwerveDriveModel} with any number of modules at arbitrary positions.
+     *
+     * @param wheelMotor             the wheel {@link Motor} of each module
+     * @param steerMotor             the steer {@link Motor} of each module
+     * @param mass                   the mass of the robot
+     * @param chassisMomentOfInertia the moment of inertia of the robot about its center
+     * @param modulePositions        the {@link Position} of each module relative to the center of the robot
+     * @param steerMomentOfInertia   the moment of inertia of each module's steering
+     * @param wheelGearReduction     the gear reduction of each wheel
+     * @param steerGearReduction     the gear reduction of each module's steering
+     * @param wheelRadius            the radius of each wheel
+     */
+    public SwerveDriveModel(Motor wheelMotor, Motor steerMotor, double mass, double chassisMomentOfInertia,
+                            Position[] modulePositions, double steerMomentOfInertia, double wheelGearReduction,
+                            double steerGearReduction, double wheelRadius) {
         this.mass = mass;
-        this.length = length;
-        this.width = width;
-        this.chassisMomentOfInertia = 0;
-        this.wheelGearReduction = wheelGearReduction;
-        this.wheelRadius = wheelRadius;
-        this.frModule = new FlywheelModel(steerMotor, steerMomentOfInertia, steerGearReduction, 12);
-        this.flModule = new FlywheelModel(steerMotor, steerMomentOfInertia, steerGearReduction, 12);
-        this.blModule = new FlywheelModel(steerMotor, steerMomentOfInertia, steerGearReduction, 12);
-        this.brModule = new FlywheelModel(steerMotor, steerMomentOfInertia, steerGearReduction, 12);
-        this.frWheelModel = new PulleyModel(wheelMotor, mass / 4, wheelGearReduction, wheelRadius, 12);
-        this.flWheelModel = new PulleyModel(wheelMotor, mass / 4, wheelGearReduction, wheelRadius, 12);
-        this.blWheelModel = new PulleyModel(wheelMotor, mass / 4, wheelGearReduction, wheelRadius, 12);
-        this.brWheelModel = new PulleyModel(wheelMotor, mass / 4, wheelGearReduction, wheelRadius, 12);
+        this.chassisMomentOfInertia = chassisMomentOfInertia;
+        this.kinematics = new SwerveDriveKinematics(modulePositions);
+        this.moduleCount = kinematics.getModuleCount();
+        this.moduleX = new double[moduleCount];
+        this.moduleY = new double[moduleCount];
+        for (int i = 0; i < moduleCount; i++) {
+            moduleX[i] = modulePositions[i].getX();
+            moduleY[i] = modulePositions[i].getY();
+        }
+
+        double G = wheelGearReduction;
+        double r = wheelRadius;
+        this.wheelVelocityGain = -(G * G * wheelMotor.getKt()) / (wheelMotor.getKv() * wheelMotor.getResistance() *
+                (r * r));
+        this.wheelVoltageGain = (G * wheelMotor.getKt()) / (wheelMotor.getResistance() * r);
+        this.lateralFriction = mass / (moduleCount * DEFAULT_LATERAL_SLIP_TIME_CONSTANT);
+
+        double Gs = steerGearReduction;
+        double J = steerMomentOfInertia;
+        this.steerVelocityGain = -(Gs * Gs * steerMotor.getKt()) / (steerMotor.getKv() * steerMotor.getResistance() *
+                J);
+        this.steerVoltageGain = (Gs * steerMotor.getKt()) / (steerMotor.getResistance() * J);
+
+        this.state = new double[WHEEL_POSITIONS + moduleCount];
+        this.previousState = new double[state.length];
+        this.wheelVoltages = new double[moduleCount];
+        this.steerVoltages = new double[moduleCount];
+        this.steerAngles = new double[moduleCount];
+        this.steerVelocities = new double[moduleCount];
+        this.steerCos = new double[moduleCount];
+        this.steerSin = new double[moduleCount];
+
+        this.position = kinematics.createState();
+        this.velocity = kinematics.createState();
+        this.acceleration = kinematics.createState();
+        this.swervePositionState = kinematics.createState();
+    }
+
+    /**
+     * Estimates the moment of inertia of a uniform rectangular plate with its corners at the module positions.
+     */
+    private static double estimateMomentOfInertia(double mass, Position[] modulePositions) {
+        double squaredDistanceSum = 0;
+        for (Position modulePosition : modulePositions) {
+            squaredDistanceSum += modulePosition.getX() * modulePosition.getX() +
+                    modulePosition.getY() * modulePosition.getY();
+        }
+        return mass * squaredDistanceSum / modulePositions.length / 3;
     }
 
     public void updateModel(SwerveModuleState frVoltages, SwerveModuleState flVoltages,
                             SwerveModuleState blVoltages, SwerveModuleState brVoltages, double deltaTime) {
-        //Define variables
-        double G = wheelGearReduction;
-        double Kt = wheelMotor.getKt();
-        double Kv = wheelMotor.getKv();
-        double R = wheelMotor.getResistance();
-        double r = wheelRadius;
-        double vFr = frVoltages.getWheelState();
-        double VFr = velocity.getFrState().getWheelState();
-        double vFl = flVoltages.getWheelState();
-        double VFl = velocity.getFlState().getWheelState();
-        double vBl = blVoltages.getWheelState();
-        double VBl = velocity.getBlState().getWheelState();
-        double vBr = brVoltages.getWheelState();
-        double VBr = velocity.getBrState().getWheelState();
-        double J = chassisMomentOfInertia;
-        double w = width;
-        double l = length;
-        double m = mass;
-        double prevVelY = velocity.getVelY();
-        double prevVelX = velocity.getVelX();
-        double dt = deltaTime;
-        double wheelbaseRadius = Math.sqrt(Math.pow(length / 2, 2) + Math.pow(width / 2, 2));
-
-        //Update module models
-        frModule.updateModel(frVoltages.getSteerState(), deltaTime);
-        flModule.updateModel(flVoltages.getSteerState(), deltaTime);
-        blModule.updateModel(blVoltages.getSteerState(), deltaTime);
-        brModule.updateModel(brVoltages.getSteerState(), deltaTime);
-        frWheelModel.updateModel(frVoltages.getWheelState(), deltaTime);
-        flWheelModel.updateModel(flVoltages.getWheelState(), deltaTime);
-        blWheelModel.updateModel(blVoltages.getWheelState(), deltaTime);
-        brWheelModel.updateModel(brVoltages.getWheelState(), deltaTime);
-
-        //Swerve modules diagram:
-        //2-------1
-        //|       |
-        //|       |
-        //3-------4
-
-        double angle1 = frModule.getPosition();
-        double angle2 = flModule.getPosition();
-        double angle3 = blModule.getPosition();
-        double angle4 = brModule.getPosition();
-
-        double C1 = -(G * G * Kt) / (Kv * R * (r * r));
-        double C2 = (G * Kt) / (R * r);
-
-        double F1 = C1 * vFr + C2 * VFr;
-        double F2 = C1 * vFl + C2 * VFl;
-        double F3 = C1 * vBl + C2 * VBl;
-        double F4 = C1 * vBr + C2 * VBr;
-
-        double vDotX = 0;
-        double vDotY = 0;
-        double vDotAngular = 0;
-
-//        acceleration = new SwerveDriveState(vDotX, vDotY, vDotAngular);
-        velocity = SwerveDriveKinematics
-                .solveForwardKinematics(l, w, frWheelModel.getVelocity(), flWheelModel.getVelocity(),
-                        blWheelModel.getVelocity(), brWheelModel.getVelocity(), angle1, angle2, angle3, angle4);
-        position = new SwerveDriveState(position.getVelX() + velocity.getVelX() * deltaTime,
-                position.getVelY() + velocity.getVelY() * deltaTime, 0);
+        if (moduleCount != 4) {
+            throw new IllegalStateException("Only a four module swerve drivetrain can be updated by corner");
+        }
+        setVoltages(0, frVoltages);
+        setVoltages(1, flVoltages);
+        setVoltages(2, blVoltages);
+        setVoltages(3, brVoltages);
+        step(deltaTime);
+    }
+
+    /**
+     * Updates the model with a wheel and steer voltage for each module, in the same order as the module positions.
+     *
+     * @param voltages  the voltages of each module
+     * @param deltaTime the time since the last update
+     */
+    public void updateModel(SwerveModuleState[] voltages, double deltaTime) {
+        for (int i = 0; i < moduleCount; i++) {
+            setVoltages(i, voltages[i]);
+        }
+        step(deltaTime);
+    }
+
+    private void setVoltages(int module, SwerveModuleState voltages) {
+        wheelVoltages[module] = clampVoltage(voltages.getWheelState());
+        steerVoltages[module] = clampVoltage(voltages.getSteerState());
+    }
+
+    private void step(double deltaTime) {
+        //Integrate the chassis with the steering held at its current angles
+        for (int i = 0; i < moduleCount; i++) {
+            steerCos[i] = Math.cos(steerAngles[i]);
+            steerSin[i] = Math.sin(steerAngles[i]);
+        }
+        System.arraycopy(state, 0, previousState, 0, state.length);
+        integrator.integrate(derivative, state, deltaTime);
+
+        //Step the steering with its exact discretization
+        if (deltaTime != cachedDeltaTime) {
+            discretizeSteering(deltaTime);
+        }
+        for (int i = 0; i < moduleCount; i++) {
+            double voltage = steerVoltages[i];
+            double steerVelocity = steerVelocities[i];
+            steerAngles[i] += steerPositionFromVelocity * steerVelocity + steerPositionFromVoltage * voltage;
+            steerVelocities[i] = steerVelocityDecay * steerVelocity + steerVelocityFromVoltage * voltage;
+        }
+
+        updateStates(deltaTime);
     }
 
+    private static double clampVoltage(double voltage) {
+        return Math.max(-MAX_VOLTAGE, Math.min(MAX_VOLTAGE, voltage));
+    }
+
+    /**
+     * Calculates the zero order hold discretization of the steering model for <code>deltaTime</code>.
+     */
+    private void discretizeSteering(double deltaTime) {
+        double a = steerVelocityGain;
+        double b = steerVoltageGain;
+        if (Math.abs(a * deltaTime) < 1e-9) {
+            steerVelocityDecay = 1;
+            steerPositionFromVelocity = deltaTime;
+            steerVelocityFromVoltage = b * deltaTime;
+            steerPositionFromVoltage = b * deltaTime * deltaTime / 2;
+        } else {
+            double decay = Math.exp(a * deltaTime);
+            steerVelocityDecay = decay;
+            steerPositionFromVelocity = (decay - 1) / a;
+            steerVelocityFromVoltage = b * (decay - 1) / a;
+            steerPositionFromVoltage = b * (decay - 1 - a * deltaTime) / (a * a);
+        }
+        cachedDeltaTime = deltaTime;
+    }
+
+    private void calculateDerivative(double[] state, double[] derivative) {
+        double cos = Math.cos(state[HEADING]);
+        double sin = Math.sin(state[HEADING]);
+        double omega = state[ANGULAR_VEL];
+        //Chassis velocity relative to the robot
+        double robotVelX = cos * state[VEL_X] + sin * state[VEL_Y];
+        double robotVelY = -sin * state[VEL_X] + cos * state[VEL_Y];
+
+        double forceX = 0;
+        double forceY = 0;
+        double torque = 0;
+        for (int i = 0; i < moduleCount; i++) {
+            double moduleVelX = robotVelX - omega * moduleY[i];
+            double moduleVelY = robotVelY + omega * moduleX[i];
+            double wheelSpeed = moduleVelX * steerCos[i] + moduleVelY * steerSin[i];
+            double scrubSpeed = -moduleVelX * steerSin[i] + moduleVelY * steerCos[i];
+            double wheelForce = wheelVelocityGain * wheelSpeed + wheelVoltageGain * wheelVoltages[i];
+            double scrubForce = -lateralFriction * scrubSpeed;
+            double moduleForceX = wheelForce * steerCos[i] - scrubForce * steerSin[i];
+            double moduleForceY = wheelForce * steerSin[i] + scrubForce * steerCos[i];
+            forceX += moduleForceX;
+            forceY += moduleForceY;
+            torque += moduleX[i] * moduleForceY - moduleY[i] * moduleForceX;
+            derivative[WHEEL_POSITIONS + i] = wheelSpeed;
+        }
+
+        derivative[X] = state[VEL_X];
+        derivative[Y] = state[VEL_Y];
+        derivative[HEADING] = omega;
+        derivative[VEL_X] = (cos * forceX - sin * forceY) / mass;
+        derivative[VEL_Y] = (sin * forceX + cos * forceY) / mass;
+        derivative[ANGULAR_VEL] = torque / chassisMomentOfInertia;
+    }
+
+    /**
+     * Updates the {@link SwerveDriveState}s returned by the getters from the integrated state.
+     */
+    private void updateStates(double deltaTime) {
+        double cos = Math.cos(state[HEADING]);
+        double sin = Math.sin(state[HEADING]);
+        double robotVelX = cos * state[VEL_X] + sin * state[VEL_Y];
+        double robotVelY = -sin * state[VEL_X] + cos * state[VEL_Y];
+        double deltaVelX = state[VEL_X] - previousState[VEL_X];
+        double deltaVelY = state[VEL_Y] - previousState[VEL_Y];
+
+        position.setVelX(state[X]);
+        position.setVelY(state[Y]);
+        position.setAngularVel(state[HEADING]);
+        velocity.setVelX(robotVelX);
+        velocity.setVelY(robotVelY);
+        velocity.setAngularVel(state[ANGULAR_VEL]);
+        acceleration.setVelX((cos * deltaVelX + sin * deltaVelY) / deltaTime);
+        acceleration.setVelY((-sin * deltaVelX + cos * deltaVelY) / deltaTime);
+        acceleration.setAngularVel((state[ANGULAR_VEL] - previousState[ANGULAR_VEL]) / deltaTime);
+
+        for (int i = 0; i < moduleCount; i++) {
+            double moduleVelX = robotVelX - state[ANGULAR_VEL] * moduleY[i];
+            double moduleVelY = robotVelY + state[ANGULAR_VEL] * moduleX[i];
+            double wheelVelocity = moduleVelX * Math.cos(steerAngles[i]) + moduleVelY * Math.sin(steerAngles[i]);
+            SwerveModuleState velocityState = velocity.getModuleState(i);
+            double previousWheelVelocity = velocityState.getWheelState();
+            double previousSteerVelocity = velocityState.getSteerState();
+            velocityState.setWheelState(wheelVelocity);
+            velocityState.setSteerState(steerVelocities[i]);
+            position.getModuleState(i).setWheelState(state[WHEEL_POSITIONS + i]);
+            position.getModuleState(i).setSteerState(steerAngles[i]);
+            acceleration.getModuleState(i).setWheelState((wheelVelocity - previousWheelVelocity) / deltaTime);
+            acceleration.getModuleState(i).setSteerState((steerVelocities[i] - previousSteerVelocity) / deltaTime);
+        }
+    }
+
+    /**
+     * Returns the field relative position of the robot, with the x and y in the velocity x and y and the heading in
+     * radians in the angular velocity. The module states hold the wheel distances and steering angles.
+     *
+     * @return the position {@link SwerveDriveState}
+     */
     public SwerveDriveState getPosition() {
         return position;
     }
 
+    /**
+     * Returns the robot relative velocity of the chassis, with the wheel ground speeds and steering angular velocities
+     * of each module.
+     *
+     * @return the velocity {@link SwerveDriveState}
+     */
     public SwerveDriveState getVelocity() {
         return velocity;
     }
 
+    /**
+     * Returns the robot relative acceleration of the chassis and modules over the last update.
+     *
+     * @return the acceleration {@link SwerveDriveState}
+     */
     public SwerveDriveState getAcceleration() {
         return acceleration;
     }
 
+    /**
+     * Returns the chassis velocity with each module's wheel speed and steering angle, for drawing the modules.
+     *
+     * @return the {@link SwerveDriveState} of wheel speeds and steering angles
+     */
     public SwerveDriveState getSwervePositionState() {
-        SwerveDriveState wheelStates = SwerveDriveKinematics
-                .solveInverseKinematics(length, width, getVelocity().getVelX(), getVelocity().getVelY(),
-                        getVelocity().getAngularVel());
-        return new SwerveDriveState(
-                new SwerveModuleState(wheelStates.getFrState().getWheelState(), getFrModule().getPosition()),
-                new SwerveModuleState(wheelStates.getFlState().getWheelState(), getFlModule().getPosition()),
-                new SwerveModuleState(wheelStates.getBlState().getWheelState(), getBlModule().getPosition()),
-                new SwerveModuleState(wheelStates.getBrState().getWheelState(), getBrModule().getPosition())
-        );
+        swervePositionState.setVelX(velocity.getVelX());
+        swervePositionState.setVelY(velocity.getVelY());
+        swervePositionState.setAngularVel(velocity.getAngularVel());
+        for (int i = 0; i < moduleCount; i++) {
+            swervePositionState.getModuleState(i).setWheelState(velocity.getModuleState(i).getWheelState());
+            swervePositionState.getModuleState(i).setSteerState(steerAngles[i]);
+        }
+        return swervePositionState;
+    }
+
+    /**
+     * Sets the field relative pose of the robot, keeping its velocity.
+     *
+     * @param x       the x position
+     * @param y       the y position
+     * @param heading the heading in radians
+     */
+    public void setPose(double x, double y, double heading) {
+        state[X] = x;
+        state[Y] = y;
+        state[HEADING] = heading;
+        position.setVelX(x);
+        position.setVelY(y);
+        position.setAngularVel(heading);
+    }
+
+    public Integrator getIntegrator() {
+        return integrator;
+    }
+
+    /**
+     * Sets the {@link Integrator} for the chassis, defaulting to a {@link RK4Integrator}.
+     *
+     * @param integrator the {@link Integrator}
+     */
+    public void setIntegrator(Integrator integrator) {
+        this.integrator = integrator;
+    }
+
+    public double getLateralFriction() {
+        return lateralFriction;
+    }
+
+    /**
+     * Sets the viscous friction resisting each wheel sliding sideways, in newtons per meter per second.
+     *
+     * @param lateralFriction the lateral friction of each wheel
+     */
+    public void setLateralFriction(double lateralFriction) {
+        this.lateralFriction = lateralFriction;
+    }
+
+    public double getMass() {
+        return mass;
+    }
+
+    public double getChassisMomentOfInertia() {
+        return chassisMomentOfInertia;
+    }
+
+    public SwerveDriveKinematics getKinematics() {
+        return kinematics;
+    }
+
+    public int getModuleCount() {
+        return moduleCount;
     }
 
-    public FlywheelModel getFrModule() {
-        return frModule;
+    public double getSteerAngle(int index) {
+        return steerAngles[index];
     }
 
-    public FlywheelModel getFlModule() {
-        return flModule;
+    public double getSteerVelocity(int index) {
+        return steerVelocities[index];
     }
 
-    public FlywheelModel getBlModule() {
-        return blModule;
+    public double getWheelPosition(int index) {
+        return state[WHEEL_POSITIONS + index];
     }
 
-    public FlywheelModel getBrModule() {
-        return brModule;
+    public double getWheelVelocity(int index) {
+        return velocity.getModuleState(index).getWheelState();
     }
 }
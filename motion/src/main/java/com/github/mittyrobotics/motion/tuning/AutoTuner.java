@@ -0,0 +1,377 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+import com.github.mittyrobotics.motion.controllers.PIDFController;
+import com.github.mittyrobotics.motion.statespace.LinearQuadraticRegulator;
+import org.ejml.simple.SimpleMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Offline tuner that finds {@link PIDFController} or {@link LinearQuadraticRegulator} gains for a {@link
+ * TuningMechanism} by simulating closed-loop step responses.
+ * <p>
+ * Every candidate is scored with {@link StepResponse#getCost(TuningCostWeights)}. The gain space is searched with a
+ * grid that is refined around the best candidate each round. Positive ranges are sampled logarithmically, and the
+ * candidates of each round are evaluated in parallel on a {@link ForkJoinPool}.
+ */
+public class AutoTuner {
+    private static final int TASK_THRESHOLD = 8;
+
+    private final Supplier<TuningMechanism> mechanismSupplier;
+    private final double setpoint;
+    private final double duration;
+    private final double deltaTime;
+    private final TuningCostWeights weights;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new {@link AutoTuner}.
+     *
+     * @param mechanismSupplier supplies a new {@link TuningMechanism} at rest for every simulation.
+     * @param setpoint          the step setpoint of the measured value.
+     * @param duration          the duration of each simulation in seconds.
+     * @param deltaTime         the controller period in seconds.
+     * @param weights           the {@link TuningCostWeights} used to score each candidate.
+     * @param pool              the {@link ForkJoinPool} that candidates are evaluated on.
+     */
+    public AutoTuner(Supplier<TuningMechanism> mechanismSupplier, double setpoint, double duration,
+                     double deltaTime, TuningCostWeights weights, ForkJoinPool pool) {
+        if (deltaTime <= 0 || duration < deltaTime) {
+            throw new IllegalArgumentException("Duration must be at least one positive delta time");
+        }
+        this.mechanismSupplier = mechanismSupplier;
+        this.setpoint = setpoint;
+        this.duration = duration;
+        this.deltaTime = deltaTime;
+        this.weights = weights;
+        this.pool = pool;
+    }
+
+    public AutoTuner(Supplier<TuningMechanism> mechanismSupplier, double setpoint, double duration,
+                     double deltaTime, TuningCostWeights weights) {
+        this(mechanismSupplier, setpoint, duration, deltaTime, weights, ForkJoinPool.commonPool());
+    }
+
+    public AutoTuner(Supplier<TuningMechanism> mechanismSupplier, double setpoint, double duration,
+                     double deltaTime) {
+        this(mechanismSupplier, setpoint, duration, deltaTime, new TuningCostWeights());
+    }
+
+    /**
+     * Tunes {@link PIDFController} gains. The parameters of the result are <code>{kP, kI, kD, kF}</code>, where the
+     * feedforward voltage applied each tick is <code>kF * setpoint</code>.
+     *
+     * @param minGains    the min <code>{kP, kI, kD, kF}</code> to search.
+     * @param maxGains    the max <code>{kP, kI, kD, kF}</code> to search.
+     * @param samples     the number of samples of each gain per round.
+     * @param refinements the number of rounds after the first that refine around the best candidate.
+     * @return the best {@link TuningResult}.
+     */
+    public TuningResult tunePIDF(double[] minGains, double[] maxGains, int samples, int refinements) {
+        if (minGains.length != 4 || maxGains.length != 4) {
+            throw new IllegalArgumentException("PIDF gain ranges must have 4 elements: kP, kI, kD, kF");
+        }
+        return search(minGains, maxGains, samples, refinements,
+                gains -> simulatePIDF(gains[0], gains[1], gains[2], gains[3]));
+    }
+
+    /**
+     * Tunes {@link LinearQuadraticRegulator} cost elements. The parameters of the result are the Q elements followed
+     * by the R element, which are the max allowed error of each state and the max allowed voltage.
+     *
+     * @param minQElms    the min Q element of each state to search.
+     * @param maxQElms    the max Q element of each state to search.
+     * @param minRElm     the min R element to search.
+     * @param maxRElm     the max R element to search.
+     * @param samples     the number of samples of each element per round.
+     * @param refinements the number of rounds after the first that refine around the best candidate.
+     * @return the best {@link TuningResult}.
+     */
+    public TuningResult tuneLQR(double[] minQElms, double[] maxQElms, double minRElm, double maxRElm, int samples,
+                                int refinements) {
+        if (minQElms.length != maxQElms.length) {
+            throw new IllegalArgumentException("Q element ranges must have the same length");
+        }
+        int states = minQElms.length;
+        double[] min = new double[states + 1];
+        double[] max = new double[states + 1];
+        System.arraycopy(minQElms, 0, min, 0, states);
+        System.arraycopy(maxQElms, 0, max, 0, states);
+        min[states] = minRElm;
+        max[states] = maxRElm;
+        return search(min, max, samples, refinements, elms -> {
+            SimpleMatrix qElms = new SimpleMatrix(states, 1);
+            for (int i = 0; i < states; i++) {
+                qElms.set(i, elms[i]);
+            }
+            return simulateLQR(qElms, new SimpleMatrix(new double[][]{{elms[states]}}));
+        });
+    }
+
+    /**
+     * Simulates a step response of a {@link PIDFController} with the given gains.
+     *
+     * @param kP the proportional gain.
+     * @param kI the integral gain.
+     * @param kD the derivative gain.
+     * @param kF the feedforward gain, applied as <code>kF * setpoint</code>.
+     * @return the {@link StepResponse}.
+     */
+    public StepResponse simulatePIDF(double kP, double kI, double kD, double kF) {
+        TuningMechanism mechanism = mechanismSupplier.get();
+        double maxVoltage = mechanism.getMaxVoltage();
+        PIDFController controller = new PIDFController(kP, kI, kD, kF, deltaTime);
+        controller.setOutputRange(-maxVoltage, maxVoltage);
+        controller.setIntegralRange(-maxVoltage, maxVoltage);
+        controller.setSetpoint(setpoint);
+        double feedForward = kF * setpoint;
+
+        Recorder recorder = new Recorder(mechanism.getMeasurement());
+        for (int i = 0; i < recorder.steps; i++) {
+            double voltage = controller.calculate(mechanism.getMeasurement(), feedForward, deltaTime);
+            mechanism.update(voltage, deltaTime);
+            if (!recorder.record(i, voltage, mechanism.getMeasurement())) {
+                break;
+            }
+        }
+        return recorder.toStepResponse();
+    }
+
+    /**
+     * Simulates a step response of a {@link LinearQuadraticRegulator} with the given cost elements.
+     *
+     * @param qElms the max allowed error of each state.
+     * @param rElms the max allowed voltage.
+     * @return the {@link StepResponse}.
+     */
+    public StepResponse simulateLQR(SimpleMatrix qElms, SimpleMatrix rElms) {
+        TuningMechanism mechanism = mechanismSupplier.get();
+        double maxVoltage = mechanism.getMaxVoltage();
+        LinearQuadraticRegulator controller =
+                new LinearQuadraticRegulator(mechanism.createPlant(deltaTime), qElms, rElms, 1);
+        controller.setReference(mechanism.createReference(setpoint));
+
+        Recorder recorder = new Recorder(mechanism.getMeasurement());
+        for (int i = 0; i < recorder.steps; i++) {
+            controller.update(mechanism.getState());
+            double voltage = Math.max(-maxVoltage, Math.min(controller.getU().get(0), maxVoltage));
+            mechanism.update(voltage, deltaTime);
+            if (!recorder.record(i, voltage, mechanism.getMeasurement())) {
+                break;
+            }
+        }
+        return recorder.toStepResponse();
+    }
+
+    private TuningResult search(double[] min, double[] max, int samples, int refinements,
+                                Function<double[], StepResponse> evaluator) {
+        if (samples < 1 || refinements < 0) {
+            throw new IllegalArgumentException("Samples must be positive and refinements must be non-negative");
+        }
+        int dimensions = min.length;
+        double[] lower = min.clone();
+        double[] upper = max.clone();
+        TuningResult best = null;
+
+        for (int round = 0; round <= refinements; round++) {
+            double[][] axes = new double[dimensions][];
+            long candidates = 1;
+            for (int d = 0; d < dimensions; d++) {
+                axes[d] = createAxis(lower[d], upper[d], samples);
+                candidates *= axes[d].length;
+            }
+            if (candidates > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many candidates per round: " + candidates);
+            }
+
+            TuningResult roundBest = pool.invoke(new EvaluationTask(axes, 0, (int) candidates, evaluator));
+            if (best == null || roundBest.getCost() < best.getCost()) {
+                best = roundBest;
+            }
+
+            //Shrink each range to the grid points next to the best candidate
+            for (int d = 0; d < dimensions; d++) {
+                int index = nearestIndex(axes[d], best.getParameter(d));
+                lower[d] = axes[d][Math.max(index - 1, 0)];
+                upper[d] = axes[d][Math.min(index + 1, axes[d].length - 1)];
+            }
+        }
+        return best;
+    }
+
+    private static double[] createAxis(double lower, double upper, int samples) {
+        boolean logarithmic = lower > 0 && upper > 0;
+        if (lower == upper) {
+            return new double[]{lower};
+        }
+        if (samples == 1) {
+            return new double[]{logarithmic ? Math.sqrt(lower * upper) : (lower + upper) / 2};
+        }
+        double[] axis = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            double fraction = (double) i / (samples - 1);
+            axis[i] = logarithmic ? lower * Math.pow(upper / lower, fraction) : lower + (upper - lower) * fraction;
+        }
+        return axis;
+    }
+
+    private static int nearestIndex(double[] axis, double value) {
+        int nearest = 0;
+        for (int i = 1; i < axis.length; i++) {
+            if (Math.abs(axis[i] - value) < Math.abs(axis[nearest] - value)) {
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    public double getSetpoint() {
+        return setpoint;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    public double getDeltaTime() {
+        return deltaTime;
+    }
+
+    public TuningCostWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Evaluates a range of grid candidates and returns the lowest cost one. Ties keep the lower candidate index so
+     * the result does not depend on how the work is split.
+     */
+    private class EvaluationTask extends RecursiveTask<TuningResult> {
+        private static final long serialVersionUID = 1L;
+        private final double[][] axes;
+        private final int from;
+        private final int to;
+        private final Function<double[], StepResponse> evaluator;
+
+        EvaluationTask(double[][] axes, int from, int to, Function<double[], StepResponse> evaluator) {
+            this.axes = axes;
+            this.from = from;
+            this.to = to;
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        protected TuningResult compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                TuningResult best = null;
+                for (int i = from; i < to; i++) {
+                    TuningResult result = evaluate(i);
+                    if (best == null || result.getCost() < best.getCost()) {
+                        best = result;
+                    }
+                }
+                return best;
+            }
+            int mid = (from + to) >>> 1;
+            EvaluationTask left = new EvaluationTask(axes, from, mid, evaluator);
+            EvaluationTask right = new EvaluationTask(axes, mid, to, evaluator);
+            right.fork();
+            TuningResult leftResult = left.compute();
+            TuningResult rightResult = right.join();
+            return rightResult.getCost() < leftResult.getCost() ? rightResult : leftResult;
+        }
+
+        private TuningResult evaluate(int candidate) {
+            //Decode the candidate index into one sample of each axis
+            double[] parameters = new double[axes.length];
+            int remainder = candidate;
+            for (int d = axes.length - 1; d >= 0; d--) {
+                parameters[d] = axes[d][remainder % axes[d].length];
+                remainder /= axes[d].length;
+            }
+            StepResponse response;
+            try {
+                response = evaluator.apply(parameters);
+            } catch (RuntimeException e) {
+                //Candidates that cannot be simulated, such as an unsolvable riccati equation, are never chosen
+                response = new StepResponse(duration, 0, 0, 0, false);
+            }
+            return new TuningResult(parameters, response, response.getCost(weights));
+        }
+    }
+
+    /**
+     * Accumulates the {@link StepResponse} metrics of a simulation without storing the samples.
+     */
+    private class Recorder {
+        private final int steps;
+        private final int steadyStateStart;
+        private final double initial;
+        private final double step;
+        private double riseTime;
+        private double overshoot;
+        private double controlEffort;
+        private double steadyStateErrorSum;
+        private int steadyStateSamples;
+        private boolean stable;
+
+        Recorder(double initial) {
+            this.steps = (int) Math.round(duration / deltaTime);
+            this.steadyStateStart = (int) (steps * 0.9);
+            this.initial = initial;
+            double step = setpoint - initial;
+            this.step = step == 0 ? 1 : step;
+            this.riseTime = duration;
+            this.stable = true;
+        }
+
+        boolean record(int index, double voltage, double measurement) {
+            if (!Double.isFinite(measurement)) {
+                stable = false;
+                return false;
+            }
+            double progress = (measurement - initial) / step;
+            if (riseTime == duration && progress >= 0.9) {
+                riseTime = (index + 1) * deltaTime;
+            }
+            overshoot = Math.max(overshoot, (measurement - setpoint) / step);
+            controlEffort += voltage * voltage * deltaTime;
+            if (index >= steadyStateStart) {
+                steadyStateErrorSum += Math.abs((setpoint - measurement) / step);
+                steadyStateSamples++;
+            }
+            return true;
+        }
+
+        StepResponse toStepResponse() {
+            double steadyStateError = steadyStateSamples == 0 ? 0 : steadyStateErrorSum / steadyStateSamples;
+            return new StepResponse(riseTime, overshoot, controlEffort, steadyStateError, stable);
+        }
+    }
+}
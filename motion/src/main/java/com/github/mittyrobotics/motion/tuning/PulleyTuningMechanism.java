@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+import com.github.mittyrobotics.motion.statespace.Plant;
+import com.github.mittyrobotics.motion.statespace.models.PulleyModel;
+import com.github.mittyrobotics.motion.statespace.motors.Motor;
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * {@link TuningMechanism} that controls the position of a {@link PulleyModel}, such as an elevator.
+ */
+public class PulleyTuningMechanism implements TuningMechanism {
+    private final Motor motor;
+    private final double mass;
+    private final double gearReduction;
+    private final double pulleyRadius;
+    private final double maxVoltage;
+    private final PulleyModel model;
+
+    public PulleyTuningMechanism(Motor motor, double mass, double gearReduction, double pulleyRadius,
+                                 double maxVoltage) {
+        this.motor = motor;
+        this.mass = mass;
+        this.gearReduction = gearReduction;
+        this.pulleyRadius = pulleyRadius;
+        this.maxVoltage = maxVoltage;
+        this.model = new PulleyModel(motor, mass, gearReduction, pulleyRadius, maxVoltage);
+    }
+
+    @Override
+    public void update(double voltage, double deltaTime) {
+        model.updateModel(voltage, deltaTime);
+    }
+
+    @Override
+    public double getMeasurement() {
+        return model.getPosition();
+    }
+
+    @Override
+    public SimpleMatrix getState() {
+        return new SimpleMatrix(new double[][]{{model.getPosition()}, {model.getVelocity()}});
+    }
+
+    @Override
+    public SimpleMatrix createReference(double setpoint) {
+        return new SimpleMatrix(new double[][]{{setpoint}, {0}});
+    }
+
+    @Override
+    public Plant createPlant(double deltaTime) {
+        return Plant.createElevatorPlant(motor, mass, pulleyRadius, gearReduction, maxVoltage, deltaTime);
+    }
+
+    @Override
+    public double getMaxVoltage() {
+        return maxVoltage;
+    }
+
+    public PulleyModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+/**
+ * Metrics of a simulated closed-loop step response.
+ */
+public class StepResponse {
+    private final double riseTime;
+    private final double overshoot;
+    private final double controlEffort;
+    private final double steadyStateError;
+    private final boolean stable;
+
+    public StepResponse(double riseTime, double overshoot, double controlEffort, double steadyStateError,
+                        boolean stable) {
+        this.riseTime = riseTime;
+        this.overshoot = overshoot;
+        this.controlEffort = controlEffort;
+        this.steadyStateError = steadyStateError;
+        this.stable = stable;
+    }
+
+    /**
+     * Returns the weighted cost of the step response. Unstable responses have an infinite cost.
+     *
+     * @param weights the {@link TuningCostWeights} of each metric.
+     * @return the weighted cost of the step response.
+     */
+    public double getCost(TuningCostWeights weights) {
+        if (!stable) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return weights.riseTime * riseTime + weights.overshoot * overshoot +
+                weights.controlEffort * controlEffort + weights.steadyStateError * steadyStateError;
+    }
+
+    /**
+     * Returns the time in seconds to first reach 90% of the step. If the step is never reached, this is the
+     * simulation duration.
+     *
+     * @return the rise time in seconds.
+     */
+    public double getRiseTime() {
+        return riseTime;
+    }
+
+    /**
+     * Returns the max distance past the setpoint as a fraction of the step size.
+     *
+     * @return the overshoot as a fraction of the step size.
+     */
+    public double getOvershoot() {
+        return overshoot;
+    }
+
+    /**
+     * Returns the integral of the squared voltage over the simulation, in volt squared seconds.
+     *
+     * @return the control effort.
+     */
+    public double getControlEffort() {
+        return controlEffort;
+    }
+
+    /**
+     * Returns the mean absolute error over the last 10% of the simulation as a fraction of the step size.
+     *
+     * @return the steady state error as a fraction of the step size.
+     */
+    public double getSteadyStateError() {
+        return steadyStateError;
+    }
+
+    /**
+     * Returns whether the measurement stayed finite during the simulation.
+     *
+     * @return whether the response is stable.
+     */
+    public boolean isStable() {
+        return stable;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StepResponse(riseTime: %s, overshoot: %s, controlEffort: %s, steadyStateError: %s, " +
+                "stable: %s)", riseTime, overshoot, controlEffort, steadyStateError, stable);
+    }
+}
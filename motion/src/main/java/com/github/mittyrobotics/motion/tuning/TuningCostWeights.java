@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+/**
+ * Weights of each {@link StepResponse} metric in the cost that the {@link AutoTuner} minimizes.
+ */
+public class TuningCostWeights {
+    /**
+     * Cost per second of rise time.
+     */
+    public final double riseTime;
+    /**
+     * Cost per unit of overshoot, as a fraction of the step size.
+     */
+    public final double overshoot;
+    /**
+     * Cost per volt squared second of control effort.
+     */
+    public final double controlEffort;
+    /**
+     * Cost per unit of steady state error, as a fraction of the step size.
+     */
+    public final double steadyStateError;
+
+    public TuningCostWeights(double riseTime, double overshoot, double controlEffort, double steadyStateError) {
+        this.riseTime = riseTime;
+        this.overshoot = overshoot;
+        this.controlEffort = controlEffort;
+        this.steadyStateError = steadyStateError;
+    }
+
+    public TuningCostWeights() {
+        this(1, 5, 0.0001, 10);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+import com.github.mittyrobotics.motion.statespace.Plant;
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * A simulated single-input mechanism that the {@link AutoTuner} runs closed-loop step responses on.
+ * <p>
+ * A new {@link TuningMechanism} is created for every evaluated candidate, so implementations don't need to be
+ * thread-safe.
+ */
+public interface TuningMechanism {
+    /**
+     * Updates the mechanism with a voltage for <code>deltaTime</code> seconds.
+     *
+     * @param voltage   the voltage applied to the mechanism.
+     * @param deltaTime the time to simulate.
+     */
+    void update(double voltage, double deltaTime);
+
+    /**
+     * Returns the measured value that is driven to the setpoint.
+     *
+     * @return the measured value that is driven to the setpoint.
+     */
+    double getMeasurement();
+
+    /**
+     * Returns the current state vector of the mechanism, matching the states of {@link #createPlant(double)}.
+     *
+     * @return the current state vector of the mechanism.
+     */
+    SimpleMatrix getState();
+
+    /**
+     * Returns the reference state vector that holds the mechanism at <code>setpoint</code>.
+     *
+     * @param setpoint the setpoint of the measured value.
+     * @return the reference state vector.
+     */
+    SimpleMatrix createReference(double setpoint);
+
+    /**
+     * Creates the {@link Plant} of the mechanism discretized with <code>deltaTime</code>.
+     *
+     * @param deltaTime the discretization time step.
+     * @return the {@link Plant} of the mechanism.
+     */
+    Plant createPlant(double deltaTime);
+
+    /**
+     * Returns the max voltage that can be applied to the mechanism.
+     *
+     * @return the max voltage that can be applied to the mechanism.
+     */
+    double getMaxVoltage();
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.motion.tuning;
+
+import java.util.Arrays;
+
+/**
+ * The best candidate found by the {@link AutoTuner}.
+ */
+public class TuningResult {
+    private final double[] parameters;
+    private final StepResponse response;
+    private final double cost;
+
+    public TuningResult(double[] parameters, StepResponse response, double cost) {
+        this.parameters = parameters;
+        this.response = response;
+        this.cost = cost;
+    }
+
+    /**
+     * Returns the tuned parameters. For PIDF tuning these are <code>{kP, kI, kD, kF}</code>. For LQR tuning these are
+     * the Q elements followed by the R element.
+     *
+     * @return the tuned parameters.
+     */
+    public double[] getParameters() {
+        return parameters.clone();
+    }
+
+    public double getParameter(int index) {
+        return parameters[index];
+    }
+
+    public StepResponse getResponse() {
+        return response;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TuningResult(parameters: %s, cost: %s, response: %s)", Arrays.toString(parameters),
+                cost, response);
+    }
+}
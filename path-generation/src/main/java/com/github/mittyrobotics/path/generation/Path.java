@@ -24,6 +24,7 @@
 
 package com.github.mittyrobotics.path.generation;
 
+import com.github.mittyrobotics.datatypes.geometry.BoundingBoxTree;
 import com.github.mittyrobotics.datatypes.path.Parametric;
 import com.github.mittyrobotics.datatypes.positioning.*;
 
@@ -32,6 +33,10 @@ import java.util.ArrayList;
 public class Path extends Parametric {
     private Transform[] waypoints;
     private Parametric[] parametrics;
+    /**
+     * Bounding box tree over the parametrics, built the first time a closest point is searched for.
+     */
+    private BoundingBoxTree parametricTree;
 
     public Path(Parametric[] parametrics) {
         this.parametrics = parametrics;
@@ -397,6 +402,11 @@ public class Path extends Parametric {
      * the closest point within 10 points within the final smaller boundary. This would find a point within the accuracy
      * of 1000 points, although it only does 30 total samples.
      * <p>
+     * The search is done separately within each {@link Parametric} of the {@link Path}. Parametrics are visited
+     * closest bounding box first using {@link #getParametricTree()}, and any parametric whose bounding box is further
+     * away than the closest point found so far is skipped, so usually only the one or two parametrics next to the
+     * <code>referencePosition</code> are sampled.
+     * <p>
      * If the point is outside the start and end of the {@link Path}, either 0 or 1 will be picked, representing the
      * first or last point on the {@link Parametric}.
      *
@@ -407,29 +417,104 @@ public class Path extends Parametric {
      * <code>referencePosition</code>.
      */
     public double getClosestT(Position referencePosition, double searchIncrement, double searches) {
+        //Only search the parametrics whose bounding boxes are closer than the closest point found so far
+        double[] closest = new double[]{0, 0, Double.POSITIVE_INFINITY};
+        double[] closestT = new double[1];
+        getParametricTree().nearest(referencePosition.getX(), referencePosition.getY(), (item, x, y) -> {
+            double distance =
+                    getClosestParametricT(parametrics[item], referencePosition, searchIncrement, searches, closestT);
+            if (distance < closest[2]) {
+                closest[0] = item;
+                closest[1] = closestT[0];
+                closest[2] = distance;
+            }
+            return distance;
+        });
+
+        return convertRelativeParameterToAbsolute(closest[1], closest[0]);
+    }
+
+    /**
+     * Finds the closest <code>t</code> value between 0 and 1 on a single {@link Parametric} to the
+     * <code>referencePosition</code> using the same narrowing search as
+     * {@link #getClosestT(Position, double, double)}.
+     *
+     * @param parametric        the {@link Parametric} to search.
+     * @param referencePosition the {@link Position} to find the closest <code>t</code> value to.
+     * @param searchIncrement   the samples within each search.
+     * @param searches          the amount of searches to perform to get the final closest value.
+     * @param closestT          array that the closest <code>t</code> value is written to.
+     * @return the distance from the <code>referencePosition</code> to the closest point.
+     */
+    private double getClosestParametricT(Parametric parametric, Position referencePosition, double searchIncrement,
+                                         double searches, double[] closestT) {
         double tFinal = 0;
         double minSearchT = 0;
         double maxSearchT = 1;
-        double finalMinSearchT = 0;
-        double finalMaxSearchT = 1;
         double closestDistance = Double.POSITIVE_INFINITY;
         for (int j = 1; j < searches + 1; j++) {
             double currentIncrement = 1 / Math.pow(searchIncrement, j);
-            for (double t = finalMinSearchT; t < finalMaxSearchT; t += currentIncrement) {
-                Transform transform = getTransform(t);
-                double distance = Math.abs(transform.getPosition().distance(referencePosition));
+            double finalMinSearchT = minSearchT;
+            int samples = (int) Math.ceil((maxSearchT - minSearchT) / currentIncrement - 1e-9);
+            for (int i = 0; i <= samples; i++) {
+                double t = Math.min(1, finalMinSearchT + i * currentIncrement);
+                double distance = parametric.getPosition(t).distance(referencePosition);
                 if (distance < closestDistance) {
                     closestDistance = distance;
-                    minSearchT = t - currentIncrement;
-                    maxSearchT = t + currentIncrement;
+                    minSearchT = Math.max(0, t - currentIncrement);
+                    maxSearchT = Math.min(1, t + currentIncrement);
                     tFinal = t;
                 }
             }
-            finalMinSearchT = minSearchT;
-            finalMaxSearchT = maxSearchT;
         }
 
-        return tFinal;
+        closestT[0] = tFinal;
+        return closestDistance;
+    }
+
+    /**
+     * Returns the {@link BoundingBoxTree} over the bounding boxes of this {@link Path}'s parametrics, building it if
+     * needed.
+     *
+     * @return the {@link BoundingBoxTree} over the parametrics.
+     */
+    public BoundingBoxTree getParametricTree() {
+        if (parametricTree == null) {
+            int count = parametrics.length;
+            double[] minX = new double[count];
+            double[] minY = new double[count];
+            double[] maxX = new double[count];
+            double[] maxY = new double[count];
+            double[] box = new double[4];
+            for (int i = 0; i < count; i++) {
+                parametrics[i].getBoundingBox(box);
+                minX[i] = box[0];
+                minY[i] = box[1];
+                maxX[i] = box[2];
+                maxY[i] = box[3];
+            }
+            parametricTree = new BoundingBoxTree(minX, minY, maxX, maxY);
+        }
+        return parametricTree;
+    }
+
+    @Override
+    public void getBoundingBox(double[] out) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < parametrics.length; i++) {
+            parametrics[i].getBoundingBox(out);
+            minX = Math.min(minX, out[0]);
+            minY = Math.min(minY, out[1]);
+            maxX = Math.max(maxX, out[2]);
+            maxY = Math.max(maxY, out[3]);
+        }
+        out[0] = minX;
+        out[1] = minY;
+        out[2] = maxX;
+        out[3] = maxY;
     }
 
     /**
@@ -660,6 +745,7 @@ public class Path extends Parametric {
      */
     public void setParametrics(Parametric[] parametrics) {
         this.parametrics = parametrics;
+        this.parametricTree = null;
     }
 
     public static class ParametricWithParameter {
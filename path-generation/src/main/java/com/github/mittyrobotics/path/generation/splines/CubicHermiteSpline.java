@@ -201,6 +201,26 @@ public class CubicHermiteSpline extends Parametric {
         return computeFromCoefficients(h0, h1, h2, h3);
     }
 
+    /**
+     * Writes the bounding box of the {@link CubicHermiteSpline}'s Bezier control points into <code>out</code> as
+     * <code>{minX, minY, maxX, maxY}</code>. The spline always lies inside the convex hull of its control points, so
+     * this box contains the whole spline.
+     *
+     * @param out array of at least 4 elements to write the bounding box to.
+     */
+    @Override
+    public void getBoundingBox(double[] out) {
+        //Bezier control points of the cubic hermite spline
+        double bx1 = x0 + vx0 / 3;
+        double by1 = y0 + vy0 / 3;
+        double bx2 = x1 - vx1 / 3;
+        double by2 = y1 - vy1 / 3;
+        out[0] = Math.min(Math.min(x0, bx1), Math.min(bx2, x1));
+        out[1] = Math.min(Math.min(y0, by1), Math.min(by2, y1));
+        out[2] = Math.max(Math.max(x0, bx1), Math.max(bx2, x1));
+        out[3] = Math.max(Math.max(y0, by1), Math.max(by2, y1));
+    }
+
     /**
      * Computes the {@link Position} from the 4 base coefficients.
      *
@@ -474,6 +474,30 @@ public class QuinticHermiteSpline extends Parametric {
         return computeFromCoefficients(h0, h1, h2, h3, h4, h5);
     }
 
+    /**
+     * Writes the bounding box of the {@link QuinticHermiteSpline}'s Bezier control points into <code>out</code> as
+     * <code>{minX, minY, maxX, maxY}</code>. The spline always lies inside the convex hull of its control points, so
+     * this box contains the whole spline.
+     *
+     * @param out array of at least 4 elements to write the bounding box to.
+     */
+    @Override
+    public void getBoundingBox(double[] out) {
+        //Bezier control points of the quintic hermite spline
+        double bx1 = x0 + vx0 / 5;
+        double by1 = y0 + vy0 / 5;
+        double bx2 = x0 + 2 * vx0 / 5 + ax0 / 20;
+        double by2 = y0 + 2 * vy0 / 5 + ay0 / 20;
+        double bx3 = x1 - 2 * vx1 / 5 + ax1 / 20;
+        double by3 = y1 - 2 * vy1 / 5 + ay1 / 20;
+        double bx4 = x1 - vx1 / 5;
+        double by4 = y1 - vy1 / 5;
+        out[0] = Math.min(Math.min(Math.min(x0, bx1), Math.min(bx2, bx3)), Math.min(bx4, x1));
+        out[1] = Math.min(Math.min(Math.min(y0, by1), Math.min(by2, by3)), Math.min(by4, y1));
+        out[2] = Math.max(Math.max(Math.max(x0, bx1), Math.max(bx2, bx3)), Math.max(bx4, x1));
+        out[3] = Math.max(Math.max(Math.max(y0, by1), Math.max(by2, by3)), Math.max(by4, y1));
+    }
+
     /**
      * Computes the {@link Position} from the 6 base coefficients.
      *
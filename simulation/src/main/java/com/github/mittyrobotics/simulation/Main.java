@@ -25,8 +25,8 @@
 package com.github.mittyrobotics.simulation;
 
 import com.github.mittyrobotics.datatypes.units.Conversions;
-import com.github.mittyrobotics.motion.modeling.models.DrivetrainModel;
-import com.github.mittyrobotics.motion.modeling.motors.CIMMotor;
+import com.github.mittyrobotics.motion.statespace.models.DrivetrainModel;
+import com.github.mittyrobotics.motion.statespace.motors.CIMMotor;
 import com.github.mittyrobotics.simulation.sim.PathFollowerSimRobot;
 import com.github.mittyrobotics.simulation.sim.RobotSimulator;
 import com.github.mittyrobotics.simulation.sim.SimDrivetrain;
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The {@link TrialResult}s of a {@link BatchSimulation} with summary {@link Statistics}.
+ */
+public class BatchResult {
+    private final TrialResult[] results;
+
+    public BatchResult(TrialResult[] results) {
+        this.results = results;
+    }
+
+    /**
+     * Returns the {@link Statistics} of a metric over every trial.
+     *
+     * @param metric the metric of a {@link TrialResult}
+     * @return the {@link Statistics} of the metric
+     */
+    public Statistics getStatistics(ToDoubleFunction<TrialResult> metric) {
+        return new Statistics(Arrays.stream(results).mapToDouble(metric).toArray());
+    }
+
+    public Statistics getTimeToFinishStatistics() {
+        return getStatistics(TrialResult::getTimeToFinish);
+    }
+
+    public Statistics getRmsCrossTrackErrorStatistics() {
+        return getStatistics(TrialResult::getRmsCrossTrackError);
+    }
+
+    public Statistics getMaxCrossTrackErrorStatistics() {
+        return getStatistics(TrialResult::getMaxCrossTrackError);
+    }
+
+    public Statistics getSaturationStatistics() {
+        return getStatistics(TrialResult::getSaturation);
+    }
+
+    public Statistics getEndErrorStatistics() {
+        return getStatistics(TrialResult::getEndError);
+    }
+
+    /**
+     * Returns the number of trials that reached the end of their path.
+     *
+     * @return the number of finished trials
+     */
+    public int getFinishedCount() {
+        return (int) Arrays.stream(results).filter(TrialResult::isFinished).count();
+    }
+
+    public TrialResult[] getResults() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult(finished: " + getFinishedCount() + "/" + results.length +
+                "\n  time to finish: " + getTimeToFinishStatistics() +
+                "\n  rms cross track error: " + getRmsCrossTrackErrorStatistics() +
+                "\n  max cross track error: " + getMaxCrossTrackErrorStatistics() +
+                "\n  saturation: " + getSaturationStatistics() +
+                "\n  end error: " + getEndErrorStatistics() + ")";
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import com.github.mittyrobotics.simulation.sim.LoopTiming;
+import com.github.mittyrobotics.simulation.sim.RobotSimulator;
+import com.github.mittyrobotics.simulation.sim.SimulationEngine;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Runs many independent {@link PathFollowingTrial}s in parallel, each on its own {@link SimulationEngine}.
+ * <p>
+ * Each trial is built by a {@link TrialFactory} from a {@link Random} seeded by the batch seed and the trial index, so
+ * a batch gives the same results no matter how many threads it runs on.
+ */
+public class BatchSimulation {
+    private final TrialFactory factory;
+    private final int trialCount;
+    private final long seed;
+    private double periodTime = 0.02;
+    private double timeout = 15;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private LoopTimingFactory loopTimingFactory;
+
+    /**
+     * Constructs a {@link BatchSimulation}.
+     *
+     * @param factory    the {@link TrialFactory} building each trial
+     * @param trialCount the number of trials to run
+     * @param seed       the seed of the batch
+     */
+    public BatchSimulation(TrialFactory factory, int trialCount, long seed) {
+        this.factory = factory;
+        this.trialCount = trialCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs every trial and returns their results in index order.
+     *
+     * @return the {@link BatchResult}
+     */
+    public BatchResult run() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            TrialResult[] results = pool.submit(() -> IntStream.range(0, trialCount).parallel()
+                    .mapToObj(this::runTrial).toArray(TrialResult[]::new)).get();
+            return new BatchResult(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch simulation trial failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs a single trial on the calling thread.
+     *
+     * @param index the index of the trial
+     * @return the {@link TrialResult} of the trial
+     */
+    public TrialResult runTrial(int index) {
+        SplittableRandom trialRandom = new SplittableRandom(seed + index);
+        Random random = new Random(trialRandom.nextLong());
+        PathFollowingTrial trial = factory.create(index, random);
+        SimulationEngine engine = new SimulationEngine();
+        RobotSimulator simulator = new RobotSimulator(trial, periodTime, null, engine);
+        if (loopTimingFactory != null) {
+            simulator.setLoopTiming(loopTimingFactory.create(trialRandom.nextLong()));
+        }
+        engine.runUntil(trial::isFinished, timeout);
+        return trial.getResult(index);
+    }
+
+    /**
+     * Sets the robot loop period of every trial.
+     *
+     * @param periodTime the period in seconds
+     */
+    public void setPeriodTime(double periodTime) {
+        this.periodTime = periodTime;
+    }
+
+    /**
+     * Sets the maximum simulated time of every trial.
+     *
+     * @param timeout the maximum time in seconds
+     */
+    public void setTimeout(double timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets the number of threads to run trials on, defaulting to the number of processors.
+     *
+     * @param parallelism the number of threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the {@link LoopTimingFactory} building the {@link LoopTiming} of every trial, or null for perfect loop
+     * periods. The timing of each trial is seeded separately from the trial itself, so changing the timing leaves
+     * everything else about the trials the same.
+     *
+     * @param loopTimingFactory the {@link LoopTimingFactory}
+     */
+    public void setLoopTiming(LoopTimingFactory loopTimingFactory) {
+        this.loopTimingFactory = loopTimingFactory;
+    }
+
+    public int getTrialCount() {
+        return trialCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Builds the {@link PathFollowingTrial} for a trial index. Randomized starting poses, sensor noise and model
+     * perturbations should be drawn from <code>random</code> so the batch is reproducible.
+     */
+    @FunctionalInterface
+    public interface TrialFactory {
+        PathFollowingTrial create(int index, Random random);
+    }
+
+    /**
+     * Builds the {@link LoopTiming} of a trial from a seed derived from the batch seed and the trial index.
+     */
+    @FunctionalInterface
+    public interface LoopTimingFactory {
+        LoopTiming create(long seed);
+    }
+}
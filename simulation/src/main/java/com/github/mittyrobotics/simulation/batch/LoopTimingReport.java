@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The results of a {@link LoopTimingStudy}: a baseline {@link BatchResult} with perfect loop periods and one
+ * {@link BatchResult} per loop timing case.
+ */
+public class LoopTimingReport {
+    private final BatchResult baseline;
+    private final String[] names;
+    private final BatchResult[] results;
+
+    public LoopTimingReport(BatchResult baseline, String[] names, BatchResult[] results) {
+        this.baseline = baseline;
+        this.names = names;
+        this.results = results;
+    }
+
+    /**
+     * Returns the {@link Statistics} of how much a metric increased in each trial of a case compared to the same trial
+     * with perfect loop periods.
+     *
+     * @param name   the name of the case
+     * @param metric the metric of a {@link TrialResult}
+     * @return the {@link Statistics} of the per trial increase
+     */
+    public Statistics getDegradation(String name, ToDoubleFunction<TrialResult> metric) {
+        TrialResult[] baselineTrials = baseline.getResults();
+        TrialResult[] caseTrials = getResult(name).getResults();
+        double[] increases = new double[baselineTrials.length];
+        for (int i = 0; i < increases.length; i++) {
+            increases[i] = metric.applyAsDouble(caseTrials[i]) - metric.applyAsDouble(baselineTrials[i]);
+        }
+        return new Statistics(increases);
+    }
+
+    /**
+     * Returns the {@link BatchResult} of a case.
+     *
+     * @param name the name of the case
+     * @return the {@link BatchResult} of the case
+     */
+    public BatchResult getResult(String name) {
+        int index = Arrays.asList(names).indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No loop timing case named " + name);
+        }
+        return results[index];
+    }
+
+    public BatchResult getBaseline() {
+        return baseline;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("%-20s %9s %12s %12s %12s %12s%n", "case", "finished",
+                "rms xte", "rms xte +", "max xte +", "finish +"));
+        appendRow(builder, "ideal", baseline, Double.NaN, Double.NaN, Double.NaN);
+        for (int i = 0; i < names.length; i++) {
+            appendRow(builder, names[i], results[i],
+                    getDegradation(names[i], TrialResult::getRmsCrossTrackError).getMean(),
+                    getDegradation(names[i], TrialResult::getMaxCrossTrackError).getPercentile(95),
+                    getDegradation(names[i], TrialResult::getTimeToFinish).getMean());
+        }
+        return builder.toString();
+    }
+
+    private static void appendRow(StringBuilder builder, String name, BatchResult result, double rmsIncrease,
+                                  double maxIncreaseP95, double finishIncrease) {
+        builder.append(String.format("%-20s %4d/%-4d %12.4f %12.4f %12.4f %12.4f%n", name, result.getFinishedCount(),
+                result.getResults().length, result.getRmsCrossTrackErrorStatistics().getMean(), rmsIncrease,
+                maxIncreaseP95, finishIncrease));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import com.github.mittyrobotics.simulation.sim.LoopTiming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how much loop period jitter and overruns degrade path tracking.
+ * <p>
+ * The same {@link BatchSimulation} is run once with perfect loop periods and once for every added case. Since the
+ * trials are seeded by index, trial <code>i</code> of each case only differs from trial <code>i</code> of the
+ * baseline by its {@link LoopTiming}, so the {@link LoopTimingReport} can compare them pair by pair.
+ */
+public class LoopTimingStudy {
+    private final BatchSimulation batch;
+    private final List<String> names = new ArrayList<>();
+    private final List<BatchSimulation.LoopTimingFactory> cases = new ArrayList<>();
+
+    /**
+     * Constructs a {@link LoopTimingStudy}.
+     *
+     * @param batch the {@link BatchSimulation} to run for every case
+     */
+    public LoopTimingStudy(BatchSimulation batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Adds a loop timing case to compare against perfect loop periods.
+     *
+     * @param name    the name of the case
+     * @param factory the {@link BatchSimulation.LoopTimingFactory} building the {@link LoopTiming} of each trial
+     * @return this study
+     */
+    public LoopTimingStudy addCase(String name, BatchSimulation.LoopTimingFactory factory) {
+        names.add(name);
+        cases.add(factory);
+        return this;
+    }
+
+    /**
+     * Runs the baseline and every case.
+     *
+     * @return the {@link LoopTimingReport}
+     */
+    public LoopTimingReport run() {
+        BatchResult[] results = new BatchResult[cases.size()];
+        try {
+            batch.setLoopTiming(null);
+            BatchResult baseline = batch.run();
+            for (int i = 0; i < cases.size(); i++) {
+                batch.setLoopTiming(cases.get(i));
+                results[i] = batch.run();
+            }
+            return new LoopTimingReport(baseline, names.toArray(new String[0]), results);
+        } finally {
+            batch.setLoopTiming(null);
+        }
+    }
+
+    public BatchSimulation getBatch() {
+        return batch;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import com.github.mittyrobotics.datatypes.motion.DrivetrainState;
+import com.github.mittyrobotics.datatypes.positioning.Position;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+import com.github.mittyrobotics.motion.pathfollowing.PathFollower;
+import com.github.mittyrobotics.path.generation.Path;
+import com.github.mittyrobotics.simulation.sim.SimDrivetrain;
+import com.github.mittyrobotics.simulation.sim.SimDrivetrainSensors;
+import com.github.mittyrobotics.simulation.sim.SimRobot;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Headless {@link SimRobot} that follows a {@link Path} with a {@link PathFollower} and records tracking metrics.
+ * <p>
+ * When the drivetrain has {@link SimDrivetrainSensors} attached, the follower is given their measured pose and wheel
+ * velocities. Otherwise it is given the drivetrain's true state with optional gaussian sensor noise added. Every
+ * trial must own its own {@link SimDrivetrain}, {@link PathFollower} and {@link Path}, since none of them are thread
+ * safe.
+ */
+public class PathFollowingTrial extends SimRobot {
+    private final PathFollower follower;
+    private final Path path;
+    private final Transform startTransform;
+    private final Random random;
+
+    private double positionNoise;
+    private double headingNoise;
+    private double velocityNoise;
+    private double finishTolerance = 0.05;
+    private boolean assumeNominalPeriod;
+    private boolean recordComputeTimes;
+    private long[] computeTimes = new long[0];
+    private int computeTimeCount;
+
+    private int ticks;
+    private int saturatedTicks;
+    private double squaredCrossTrackErrorSum;
+    private double maxCrossTrackError;
+    private double timeToFinish = Double.NaN;
+    private double crossTrackError;
+    private DrivetrainState output = DrivetrainState.empty();
+
+    /**
+     * Constructs a {@link PathFollowingTrial}.
+     *
+     * @param drivetrain     the {@link SimDrivetrain} to drive
+     * @param follower       the {@link PathFollower} to follow the path with
+     * @param path           the {@link Path} to follow
+     * @param startTransform the starting {@link Transform} of the robot
+     * @param seed           the seed for the sensor noise
+     */
+    public PathFollowingTrial(SimDrivetrain drivetrain, PathFollower follower, Path path, Transform startTransform,
+                              long seed) {
+        super(drivetrain);
+        this.follower = follower;
+        this.path = path;
+        this.startTransform = startTransform;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Sets the standard deviations of the gaussian noise added to the measurements given to the follower. This only
+     * applies when the drivetrain has no {@link SimDrivetrainSensors}, which model noise per sensor instead.
+     *
+     * @param positionNoise the position noise in meters
+     * @param headingNoise  the heading noise in radians
+     * @param velocityNoise the wheel velocity noise in meters per second
+     */
+    public void setSensorNoise(double positionNoise, double headingNoise, double velocityNoise) {
+        this.positionNoise = positionNoise;
+        this.headingNoise = headingNoise;
+        this.velocityNoise = velocityNoise;
+    }
+
+    /**
+     * Sets how close the robot has to be to the end of the path to finish.
+     *
+     * @param finishTolerance the finish tolerance in meters
+     */
+    public void setFinishTolerance(double finishTolerance) {
+        this.finishTolerance = finishTolerance;
+    }
+
+    /**
+     * Sets whether the follower is handed the nominal loop period instead of the measured time since the last loop,
+     * like robot code that assumes its loop never jitters.
+     *
+     * @param assumeNominalPeriod whether or not to hand the follower the nominal period
+     */
+    public void setAssumeNominalPeriod(boolean assumeNominalPeriod) {
+        this.assumeNominalPeriod = assumeNominalPeriod;
+    }
+
+    /**
+     * Sets whether the wall clock time of every {@link PathFollower#updatePathFollower} call is recorded.
+     *
+     * @param recordComputeTimes whether or not to record compute times
+     */
+    public void setRecordComputeTimes(boolean recordComputeTimes) {
+        this.recordComputeTimes = recordComputeTimes;
+    }
+
+    @Override
+    public void robotInit() {
+        getDrivetrain().setOdometry(startTransform);
+        follower.setPath(path);
+    }
+
+    @Override
+    public void robotPeriodic() {
+        double deltaTime = assumeNominalPeriod ? getRobotSimulator().getPeriodTime() :
+                getRobotSimulator().getDeltaTime();
+        Transform robotTransform = getDrivetrain().getRobotTransform();
+        Position robotPosition = robotTransform.getPosition();
+
+        Path currentPath = follower.getCurrentPath();
+        crossTrackError =
+                robotPosition.distance(currentPath.getPosition(currentPath.getClosestT(robotPosition, 10, 3)));
+        squaredCrossTrackErrorSum += crossTrackError * crossTrackError;
+        maxCrossTrackError = Math.max(maxCrossTrackError, crossTrackError);
+        ticks++;
+
+        if (Double.isNaN(timeToFinish) && isAtEnd(robotPosition)) {
+            timeToFinish = getRobotSimulator().getTime();
+        }
+
+        SimDrivetrainSensors sensors = getDrivetrain().getSensors();
+        Transform measuredTransform;
+        DrivetrainState measuredVelocity;
+        if (sensors != null) {
+            measuredTransform = sensors.getMeasuredTransform();
+            measuredVelocity = DrivetrainState.fromWheelSpeeds(sensors.getLeftVelocity(), sensors.getRightVelocity(),
+                    follower.getProperties().trackWidth);
+        } else {
+            measuredTransform = new Transform(
+                    robotPosition.getX() + random.nextGaussian() * positionNoise,
+                    robotPosition.getY() + random.nextGaussian() * positionNoise,
+                    robotTransform.getRotation().getRadians() + random.nextGaussian() * headingNoise);
+            measuredVelocity = DrivetrainState.fromWheelSpeeds(
+                    getDrivetrain().getDrivetrainModel().getLeftVelocity() + random.nextGaussian() * velocityNoise,
+                    getDrivetrain().getDrivetrainModel().getRightVelocity() + random.nextGaussian() * velocityNoise,
+                    follower.getProperties().trackWidth);
+        }
+
+        if (recordComputeTimes) {
+            long start = System.nanoTime();
+            output = follower.updatePathFollower(measuredTransform, measuredVelocity, deltaTime);
+            long computeTime = System.nanoTime() - start;
+            if (computeTimeCount == computeTimes.length) {
+                computeTimes = Arrays.copyOf(computeTimes, Math.max(256, computeTimes.length * 2));
+            }
+            computeTimes[computeTimeCount++] = computeTime;
+        } else {
+            output = follower.updatePathFollower(measuredTransform, measuredVelocity, deltaTime);
+        }
+        getDrivetrain().setVelocityControl(output.getLeft(), output.getRight(), deltaTime);
+
+        if (getDrivetrain().isSaturated()) {
+            saturatedTicks++;
+        }
+    }
+
+    @Override
+    public String[] getTelemetryNames() {
+        return new String[]{"followerLeft", "followerRight", "pathVelocity", "traveledDistance", "crossTrackError"};
+    }
+
+    @Override
+    public void getTelemetry(double[] values, int offset) {
+        values[offset] = output.getLeft();
+        values[offset + 1] = output.getRight();
+        values[offset + 2] = follower.getPreviousCalculatedVelocity();
+        values[offset + 3] = follower.getTraveledDistance();
+        values[offset + 4] = crossTrackError;
+    }
+
+    private boolean isAtEnd(Position robotPosition) {
+        return follower.getDistanceToEnd() < finishTolerance &&
+                robotPosition.distance(follower.getCurrentPath().getEndWaypoint().getPosition()) < finishTolerance;
+    }
+
+    /**
+     * Returns whether or not the robot has reached the end of the path.
+     *
+     * @return whether or not the robot has finished
+     */
+    public boolean isFinished() {
+        return !Double.isNaN(timeToFinish);
+    }
+
+    /**
+     * Returns the metrics recorded so far.
+     *
+     * @param index the index of this trial in its batch
+     * @return the {@link TrialResult} of this trial
+     */
+    public TrialResult getResult(int index) {
+        double endError = getDrivetrain().getRobotTransform().getPosition()
+                .distance(follower.getCurrentPath().getEndWaypoint().getPosition());
+        return new TrialResult(index, timeToFinish,
+                ticks == 0 ? 0 : Math.sqrt(squaredCrossTrackErrorSum / ticks), maxCrossTrackError,
+                ticks == 0 ? 0 : (double) saturatedTicks / ticks, endError);
+    }
+
+    /**
+     * Returns the recorded wall clock time of every {@link PathFollower#updatePathFollower} call.
+     *
+     * @return the compute times in seconds
+     * @see #setRecordComputeTimes(boolean)
+     */
+    public double[] getComputeTimes() {
+        double[] seconds = new double[computeTimeCount];
+        for (int i = 0; i < computeTimeCount; i++) {
+            seconds[i] = computeTimes[i] / 1e9;
+        }
+        return seconds;
+    }
+
+    public PathFollower getFollower() {
+        return follower;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of a set of samples. NaN samples are ignored.
+ */
+public class Statistics {
+    private final double[] sorted;
+    private final double mean;
+    private final double standardDeviation;
+
+    public Statistics(double[] samples) {
+        this.sorted = Arrays.stream(samples).filter(sample -> !Double.isNaN(sample)).sorted().toArray();
+        double sum = 0;
+        for (double sample : sorted) {
+            sum += sample;
+        }
+        this.mean = sorted.length == 0 ? Double.NaN : sum / sorted.length;
+        double squaredSum = 0;
+        for (double sample : sorted) {
+            squaredSum += (sample - mean) * (sample - mean);
+        }
+        this.standardDeviation = sorted.length < 2 ? 0 : Math.sqrt(squaredSum / (sorted.length - 1));
+    }
+
+    /**
+     * Returns the percentile of the samples, linearly interpolating between samples.
+     *
+     * @param percentile the percentile from 0 to 100
+     * @return the percentile, or NaN if there are no samples
+     */
+    public double getPercentile(double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        double index = Math.max(0, Math.min(100, percentile)) / 100 * (sorted.length - 1);
+        int lower = (int) Math.floor(index);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (index - lower);
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getMin() {
+        return sorted.length == 0 ? Double.NaN : sorted[0];
+    }
+
+    public double getMax() {
+        return sorted.length == 0 ? Double.NaN : sorted[sorted.length - 1];
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Statistics(n: %s, mean: %.4f, std: %.4f, min: %.4f, p50: %.4f, p95: %.4f, max: %.4f)",
+                getCount(), mean, standardDeviation, getMin(), getMedian(), getPercentile(95), getMax());
+    }
+}
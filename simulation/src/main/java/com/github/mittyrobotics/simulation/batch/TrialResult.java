@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.batch;
+
+/**
+ * Tracking metrics of a single {@link PathFollowingTrial}.
+ */
+public class TrialResult {
+    private final int index;
+    private final double timeToFinish;
+    private final double rmsCrossTrackError;
+    private final double maxCrossTrackError;
+    private final double saturation;
+    private final double endError;
+
+    /**
+     * Constructs a {@link TrialResult}.
+     *
+     * @param index              the index of the trial in its batch
+     * @param timeToFinish       the time the robot reached the end of the path in seconds, or NaN if it did not
+     * @param rmsCrossTrackError the root mean square distance from the robot to the path in meters
+     * @param maxCrossTrackError the maximum distance from the robot to the path in meters
+     * @param saturation         the fraction of robot loops where a side of the drivetrain was saturated
+     * @param endError           the distance from the robot to the end of the path when the trial stopped in meters
+     */
+    public TrialResult(int index, double timeToFinish, double rmsCrossTrackError, double maxCrossTrackError,
+                       double saturation, double endError) {
+        this.index = index;
+        this.timeToFinish = timeToFinish;
+        this.rmsCrossTrackError = rmsCrossTrackError;
+        this.maxCrossTrackError = maxCrossTrackError;
+        this.saturation = saturation;
+        this.endError = endError;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isFinished() {
+        return !Double.isNaN(timeToFinish);
+    }
+
+    public double getTimeToFinish() {
+        return timeToFinish;
+    }
+
+    public double getRmsCrossTrackError() {
+        return rmsCrossTrackError;
+    }
+
+    public double getMaxCrossTrackError() {
+        return maxCrossTrackError;
+    }
+
+    public double getSaturation() {
+        return saturation;
+    }
+
+    public double getEndError() {
+        return endError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrialResult(%s, finish: %s, rms cte: %s, max cte: %s, saturation: %s, end error: %s)",
+                index, timeToFinish, rmsCrossTrackError, maxCrossTrackError, saturation, endError);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.scenario;
+
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+import com.github.mittyrobotics.path.generation.Path;
+import com.github.mittyrobotics.path.generation.PathGenerator;
+
+import java.util.Arrays;
+
+/**
+ * A named path for a {@link ScenarioSuite} to follow, given by its waypoints.
+ * <p>
+ * Waypoint headings always point in the direction of travel. When the scenario is reversed the robot drives the path
+ * backwards, so it starts facing opposite the first waypoint.
+ */
+public class Scenario {
+    private final String name;
+    private final Transform[] waypoints;
+    private final boolean reversed;
+
+    /**
+     * Constructs a {@link Scenario}.
+     *
+     * @param name      the name of the scenario
+     * @param waypoints the waypoints of the path, with at least two waypoints
+     * @param reversed  whether or not the robot drives the path backwards
+     */
+    public Scenario(String name, Transform[] waypoints, boolean reversed) {
+        if (waypoints.length < 2) {
+            throw new IllegalArgumentException("A scenario needs at least two waypoints");
+        }
+        this.name = name;
+        this.waypoints = Arrays.copyOf(waypoints, waypoints.length);
+        this.reversed = reversed;
+    }
+
+    /**
+     * Generates a new quintic hermite spline {@link Path} through the waypoints. Each trial should use its own path.
+     *
+     * @return the {@link Path} of this scenario
+     */
+    public Path createPath() {
+        return new Path(PathGenerator.generateQuinticHermiteSplinePath(waypoints));
+    }
+
+    /**
+     * Returns the {@link Transform} the robot starts at, on the first waypoint and facing backwards if reversed.
+     *
+     * @return the starting {@link Transform}
+     */
+    public Transform getStartTransform() {
+        Transform start = waypoints[0];
+        return reversed ? new Transform(start.getPosition(), start.getRotation().getRadians() + Math.PI) : start;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Transform[] getWaypoints() {
+        return Arrays.copyOf(waypoints, waypoints.length);
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario(" + name + ", waypoints: " + waypoints.length + ", reversed: " + reversed + ")";
+    }
+}
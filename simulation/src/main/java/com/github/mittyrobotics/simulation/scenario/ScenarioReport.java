@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.scenario;
+
+import com.github.mittyrobotics.simulation.batch.Statistics;
+import com.github.mittyrobotics.simulation.batch.TrialResult;
+
+import java.util.List;
+
+/**
+ * The {@link ScenarioResult}s of a {@link ScenarioSuite}, printable as a table with compute times in microseconds.
+ */
+public class ScenarioReport {
+    private final List<ScenarioResult> results;
+
+    public ScenarioReport(List<ScenarioResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Returns the result of a follower driving a scenario.
+     *
+     * @param followerName the name of the follower
+     * @param scenarioName the name of the scenario
+     * @return the {@link ScenarioResult}
+     */
+    public ScenarioResult getResult(String followerName, String scenarioName) {
+        for (ScenarioResult result : results) {
+            if (result.getFollowerName().equals(followerName) && result.getScenarioName().equals(scenarioName)) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("No result for " + followerName + " on " + scenarioName);
+    }
+
+    public List<ScenarioResult> getResults() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("%-16s %-18s %8s %9s %9s %9s %6s %9s %9s %9s %9s%n",
+                "follower", "scenario", "finish", "rms xte", "max xte", "end err", "sat", "p50 us", "p95 us",
+                "p99 us", "max us"));
+        for (ScenarioResult result : results) {
+            TrialResult trial = result.getTrialResult();
+            Statistics compute = result.getComputeTimeStatistics();
+            builder.append(String.format("%-16s %-18s %8.2f %9.4f %9.4f %9.4f %6.2f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.getFollowerName(), result.getScenarioName(), trial.getTimeToFinish(),
+                    trial.getRmsCrossTrackError(), trial.getMaxCrossTrackError(), trial.getEndError(),
+                    trial.getSaturation(), compute.getPercentile(50) * 1e6, compute.getPercentile(95) * 1e6,
+                    compute.getPercentile(99) * 1e6, compute.getMax() * 1e6));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.scenario;
+
+import com.github.mittyrobotics.simulation.batch.Statistics;
+import com.github.mittyrobotics.simulation.batch.TrialResult;
+
+/**
+ * The result of one follower driving one {@link Scenario} in a {@link ScenarioSuite}.
+ */
+public class ScenarioResult {
+    private final String followerName;
+    private final String scenarioName;
+    private final TrialResult trialResult;
+    private final Statistics computeTimeStatistics;
+
+    public ScenarioResult(String followerName, String scenarioName, TrialResult trialResult,
+                          Statistics computeTimeStatistics) {
+        this.followerName = followerName;
+        this.scenarioName = scenarioName;
+        this.trialResult = trialResult;
+        this.computeTimeStatistics = computeTimeStatistics;
+    }
+
+    public String getFollowerName() {
+        return followerName;
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    /**
+     * Returns the tracking metrics of the run.
+     *
+     * @return the {@link TrialResult}
+     */
+    public TrialResult getTrialResult() {
+        return trialResult;
+    }
+
+    /**
+     * Returns the {@link Statistics} of the wall clock time of each follower update, in seconds.
+     *
+     * @return the compute time {@link Statistics}
+     */
+    public Statistics getComputeTimeStatistics() {
+        return computeTimeStatistics;
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioResult(" + followerName + ", " + scenarioName + ", " + trialResult + ", compute time: " +
+                computeTimeStatistics + ")";
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.scenario;
+
+import com.github.mittyrobotics.motion.pathfollowing.PathFollower;
+import com.github.mittyrobotics.simulation.batch.PathFollowingTrial;
+import com.github.mittyrobotics.simulation.batch.Statistics;
+import com.github.mittyrobotics.simulation.sim.RobotSimulator;
+import com.github.mittyrobotics.simulation.sim.SimDrivetrain;
+import com.github.mittyrobotics.simulation.sim.SimulationEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs every added {@link PathFollower} through every added {@link Scenario} on the deterministic
+ * {@link SimulationEngine}, recording tracking metrics and the wall clock time of every follower update.
+ * <p>
+ * The simulated results only depend on the followers and scenarios, so they can be compared between commits to catch
+ * tracking regressions. Compute times are measured on the calling thread, one run at a time, after
+ * {@link #setWarmupRuns(int) warmup runs} to let the JIT compile the followers.
+ */
+public class ScenarioSuite {
+    private final Supplier<SimDrivetrain> drivetrainFactory;
+    private final List<String> followerNames = new ArrayList<>();
+    private final List<FollowerFactory> followerFactories = new ArrayList<>();
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private double periodTime = 0.02;
+    private double timeout = 60;
+    private double finishTolerance = 0.1;
+    private int warmupRuns = 2;
+
+    /**
+     * Constructs a {@link ScenarioSuite}.
+     *
+     * @param drivetrainFactory builds a new {@link SimDrivetrain} for every run
+     */
+    public ScenarioSuite(Supplier<SimDrivetrain> drivetrainFactory) {
+        this.drivetrainFactory = drivetrainFactory;
+    }
+
+    /**
+     * Adds a {@link PathFollower} to run through every scenario.
+     *
+     * @param name    the name of the follower
+     * @param factory builds a new {@link PathFollower} for every run
+     * @return this suite
+     */
+    public ScenarioSuite addFollower(String name, FollowerFactory factory) {
+        followerNames.add(name);
+        followerFactories.add(factory);
+        return this;
+    }
+
+    public ScenarioSuite addScenario(Scenario scenario) {
+        scenarios.add(scenario);
+        return this;
+    }
+
+    public ScenarioSuite addScenarios(List<Scenario> scenarios) {
+        this.scenarios.addAll(scenarios);
+        return this;
+    }
+
+    /**
+     * Runs every follower through every scenario.
+     *
+     * @return the {@link ScenarioReport}
+     */
+    public ScenarioReport run() {
+        List<ScenarioResult> results = new ArrayList<>();
+        for (int follower = 0; follower < followerFactories.size(); follower++) {
+            for (Scenario scenario : scenarios) {
+                for (int i = 0; i < warmupRuns; i++) {
+                    runTrial(followerFactories.get(follower), scenario);
+                }
+                PathFollowingTrial trial = runTrial(followerFactories.get(follower), scenario);
+                results.add(new ScenarioResult(followerNames.get(follower), scenario.getName(),
+                        trial.getResult(results.size()), new Statistics(trial.getComputeTimes())));
+            }
+        }
+        return new ScenarioReport(results);
+    }
+
+    private PathFollowingTrial runTrial(FollowerFactory factory, Scenario scenario) {
+        PathFollowingTrial trial = new PathFollowingTrial(drivetrainFactory.get(), factory.create(scenario),
+                scenario.createPath(), scenario.getStartTransform(), 0);
+        trial.setFinishTolerance(finishTolerance);
+        trial.setRecordComputeTimes(true);
+        SimulationEngine engine = new SimulationEngine();
+        new RobotSimulator(trial, periodTime, null, engine);
+        engine.runUntil(trial::isFinished, timeout);
+        return trial;
+    }
+
+    /**
+     * Sets the robot loop period of every run.
+     *
+     * @param periodTime the period in seconds
+     */
+    public void setPeriodTime(double periodTime) {
+        this.periodTime = periodTime;
+    }
+
+    /**
+     * Sets the maximum simulated time of every run.
+     *
+     * @param timeout the maximum time in seconds
+     */
+    public void setTimeout(double timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets how close the robot has to be to the end of a path to finish.
+     *
+     * @param finishTolerance the finish tolerance in meters
+     */
+    public void setFinishTolerance(double finishTolerance) {
+        this.finishTolerance = finishTolerance;
+    }
+
+    /**
+     * Sets how many untimed runs of each follower and scenario happen before the recorded run.
+     *
+     * @param warmupRuns the number of warmup runs
+     */
+    public void setWarmupRuns(int warmupRuns) {
+        this.warmupRuns = warmupRuns;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Builds a new {@link PathFollower} for a run of <code>scenario</code>. The follower should be set up to drive
+     * backwards when {@link Scenario#isReversed()}.
+     */
+    @FunctionalInterface
+    public interface FollowerFactory {
+        PathFollower create(Scenario scenario);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.scenario;
+
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The library of canonical {@link Scenario}s. Distances are in meters and fit on a standard field.
+ */
+public class Scenarios {
+    private Scenarios() {
+    }
+
+    /**
+     * A single lane change, turning left then right.
+     *
+     * @return the S-curve {@link Scenario}
+     */
+    public static Scenario sCurve() {
+        return new Scenario("s-curve", new Transform[]{
+                new Transform(0, 0, 0),
+                new Transform(4, 1.5, 0)
+        }, false);
+    }
+
+    /**
+     * A 180 degree turn with a 1 meter radius between two straights.
+     *
+     * @return the hairpin {@link Scenario}
+     */
+    public static Scenario hairpin() {
+        return new Scenario("hairpin", new Transform[]{
+                new Transform(0, 0, 0),
+                new Transform(2.5, 0, 0),
+                new Transform(2.5, 2, Math.PI),
+                new Transform(0, 2, Math.PI)
+        }, false);
+    }
+
+    /**
+     * A long slalom that loops back on itself, through eight waypoints.
+     *
+     * @return the long multi-waypoint {@link Scenario}
+     */
+    public static Scenario longRun() {
+        return new Scenario("long run", new Transform[]{
+                new Transform(0, 0, 0),
+                new Transform(2, 0.5, 0),
+                new Transform(4, -0.5, 0),
+                new Transform(6, 0.5, 0),
+                new Transform(7.5, 2, Math.PI / 2),
+                new Transform(6, 3.5, Math.PI),
+                new Transform(3, 3, Math.PI),
+                new Transform(0, 3.5, Math.PI)
+        }, false);
+    }
+
+    /**
+     * A straight line driven backwards.
+     *
+     * @return the reverse straight {@link Scenario}
+     */
+    public static Scenario reverseStraight() {
+        return new Scenario("reverse straight", new Transform[]{
+                new Transform(0, 0, Math.PI),
+                new Transform(-3, 0, Math.PI)
+        }, true);
+    }
+
+    /**
+     * A lane change driven backwards.
+     *
+     * @return the reverse S-curve {@link Scenario}
+     */
+    public static Scenario reverseSCurve() {
+        return new Scenario("reverse s-curve", new Transform[]{
+                new Transform(0, 0, Math.PI),
+                new Transform(-3.5, -1, Math.PI)
+        }, true);
+    }
+
+    /**
+     * Returns every canonical scenario.
+     *
+     * @return the canonical {@link Scenario}s
+     */
+    public static List<Scenario> getCanonicalScenarios() {
+        return Arrays.asList(sCurve(), hairpin(), longRun(), reverseStraight(), reverseSCurve());
+    }
+}
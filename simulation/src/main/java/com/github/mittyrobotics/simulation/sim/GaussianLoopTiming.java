@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic {@link LoopTiming} where each loop starts late by a random latency after its scheduled time.
+ * <p>
+ * The latency of each loop is the absolute value of a gaussian with standard deviation <code>jitter</code>, plus
+ * <code>overrunTime</code> with probability <code>overrunProbability</code>. Loops stay scheduled on the nominal
+ * grid, so a late loop is followed by a shorter period, the way a notifier based robot loop catches back up.
+ */
+public class GaussianLoopTiming implements LoopTiming {
+    private final SplittableRandom random;
+    private final GaussianRandom gaussian;
+    private final double jitter;
+    private final double overrunProbability;
+    private final double overrunTime;
+    private double minPeriod = 0.001;
+    private double latency;
+
+    /**
+     * Constructs a {@link GaussianLoopTiming}.
+     *
+     * @param jitter             the standard deviation of the loop start latency in seconds
+     * @param overrunProbability the probability of a loop starting an extra <code>overrunTime</code> late
+     * @param overrunTime        the extra latency of an overrun in seconds
+     * @param seed               the seed of the latencies
+     */
+    public GaussianLoopTiming(double jitter, double overrunProbability, double overrunTime, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.gaussian = new GaussianRandom(random);
+        this.jitter = jitter;
+        this.overrunProbability = overrunProbability;
+        this.overrunTime = overrunTime;
+    }
+
+    public GaussianLoopTiming(double jitter, long seed) {
+        this(jitter, 0, 0, seed);
+    }
+
+    @Override
+    public double nextPeriod(double nominalPeriod) {
+        double nextLatency = Math.abs(gaussian.nextGaussian()) * jitter;
+        if (overrunProbability > 0 && random.nextDouble() < overrunProbability) {
+            nextLatency += overrunTime;
+        }
+        double period = Math.max(minPeriod, nominalPeriod + nextLatency - latency);
+        //Clamping the period leaves the next loop later than drawn
+        latency += period - nominalPeriod;
+        return period;
+    }
+
+    /**
+     * Sets the shortest period a loop can have when catching up after a late loop.
+     *
+     * @param minPeriod the minimum period in seconds
+     */
+    public void setMinPeriod(double minPeriod) {
+        this.minPeriod = minPeriod;
+    }
+
+    public double getMinPeriod() {
+        return minPeriod;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public double getOverrunProbability() {
+        return overrunProbability;
+    }
+
+    public double getOverrunTime() {
+        return overrunTime;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+/**
+ * Decides how long each robot loop actually takes, so the {@link RobotSimulator} can run the robot with jittering or
+ * overrunning loop periods instead of a perfect <code>periodTime</code>.
+ * <p>
+ * Robot code sees the resulting period through {@link RobotSimulator#getDeltaTime()}, which is what should be handed
+ * to time dependent controllers such as <code>PathFollower.updatePathFollower</code>,
+ * <code>PIDFController.calculate</code> and <code>StateSpaceController.calculate</code>.
+ */
+@FunctionalInterface
+public interface LoopTiming {
+    /**
+     * Returns the time from the start of the current robot loop to the start of the next one.
+     *
+     * @param nominalPeriod the period the loop is scheduled at in seconds
+     * @return the actual period in seconds, greater than 0
+     */
+    double nextPeriod(double nominalPeriod);
+}
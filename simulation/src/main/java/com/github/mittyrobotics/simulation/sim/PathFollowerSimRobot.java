@@ -24,8 +24,9 @@
 
 package com.github.mittyrobotics.simulation.sim;
 
-import com.github.mittyrobotics.datacollection.performance.TimeMonitor;
+import com.github.mittyrobotics.datatypes.geometry.Circle;
 import com.github.mittyrobotics.datatypes.motion.DrivetrainState;
+import com.github.mittyrobotics.datatypes.positioning.Position;
 import com.github.mittyrobotics.datatypes.positioning.Transform;
 import com.github.mittyrobotics.motion.controllers.PathVelocityController;
 import com.github.mittyrobotics.motion.controllers.PurePursuitController;
@@ -34,6 +35,7 @@ import com.github.mittyrobotics.path.generation.Path;
 import com.github.mittyrobotics.path.generation.PathGenerator;
 import com.github.mittyrobotics.visualization.Graph;
 import com.github.mittyrobotics.visualization.GraphUtil;
+import com.github.mittyrobotics.visualization.RobotGraph;
 import com.github.mittyrobotics.visualization.XYSeriesWithRenderer;
 import org.jfree.data.xy.XYDataItem;
 
@@ -41,7 +43,7 @@ public class PathFollowerSimRobot extends SimRobot {
     private PurePursuitController follower;
     private Graph graph;
     private double time;
-    private boolean updatedPath = false;
+    private DrivetrainState output = DrivetrainState.empty();
 
     public PathFollowerSimRobot(SimDrivetrain drivetrain) {
         super(drivetrain);
@@ -59,38 +61,29 @@ public class PathFollowerSimRobot extends SimRobot {
                         new PathFollowerProperties.PurePursuitProperties(.5));
         follower.setPath(new Path(PathGenerator.generateQuinticHermiteSplinePath(new Transform[]{new Transform(0, 0, Math.PI), new Transform(-4, 0, Math.PI)})));
 
+        //The path doesn't change, so it is drawn once here and only the follower state is drawn per frame
+        if (getRobotSimulator().getGraph() != null) {
+            getRobotSimulator().getGraph().addToSeries("Path", GraphUtil
+                    .populateSeries(new XYSeriesWithRenderer("Path"),
+                            GraphUtil.parametric(follower.getCurrentPath(), 0.01, .1)));
+        }
     }
 
     @Override
     public void robotPeriodic() {
-        time += getRobotSimulator().getPeriodTime();
+        time += getRobotSimulator().getDeltaTime();
         DrivetrainState velocity = DrivetrainState
                 .fromWheelSpeeds(getDrivetrain().getDrivetrainModel().getLeftVelocity(),
                         getDrivetrain().getDrivetrainModel().getRightVelocity(),
                         follower.getProperties().trackWidth);
 
-        TimeMonitor monitor = new TimeMonitor();
-        monitor.start();
-
         DrivetrainState newVelocity = follower.updatePathFollower(getDrivetrain().getRobotTransform(), velocity,
-                getRobotSimulator().getPeriodTime());
-
-        monitor.end();
-        monitor.printMillis();
-        if (!updatedPath) {
-            getRobotSimulator().getGraph().addToSeries("Path", GraphUtil
-                    .populateSeries(new XYSeriesWithRenderer("Path"),
-                            GraphUtil.parametric(follower.getCurrentPath(), 0.01, .1)));
-            updatedPath = true;
-        }
+                getRobotSimulator().getDeltaTime());
 
-        getRobotSimulator().getGraph().changeSeries("Circle", GraphUtil
-                .populateSeries(new XYSeriesWithRenderer("Circle"), GraphUtil.circle(follower.getPursuitCircle())));
-        Transform closestTransform = follower.getExpectedPathTransform();
-        getRobotSimulator().getGraph().changeSeries("Point", GraphUtil.populateSeries(new XYSeriesWithRenderer("Point"), GraphUtil.arrow(closestTransform, .1, .1)));
-        getRobotSimulator().getGraph().changeSeries("Point1", GraphUtil.populateSeries(new XYSeriesWithRenderer("Point"), GraphUtil.arrow(follower.getCurrentPath().getTransformFromLength(follower.getTraveledDistance() + 0), .1, .1)));
 //        follower.setPreviousTransformOnPath(closestTransform);
-        getDrivetrain().setVelocityControl(newVelocity.getLeft(), newVelocity.getRight());
+        output = newVelocity;
+        getDrivetrain().setVelocityControl(newVelocity.getLeft(), newVelocity.getRight(),
+                getRobotSimulator().getDeltaTime());
 //        getDrivetrain().setPercentOutput(1, 1);
 //        graph.addToSeries("Velocity", new XYDataItem(time, newVelocity.getLinear()));
 //        graph.addToSeries("Curvature Slowdown", new XYDataItem(time, follower.getCurvatureSlowdownVelocity()));
@@ -99,4 +92,41 @@ public class PathFollowerSimRobot extends SimRobot {
 //        graph.addToSeries("Position", new XYDataItem(time, follower.getTraveledDistance()));
 //        graph.addToSeries("Position Setpoint", new XYDataItem(time, follower.getCurrentPath().getGaussianQuadratureLength()));
     }
+
+    @Override
+    public String[] getTelemetryNames() {
+        return new String[]{"followerLeft", "followerRight", "pathVelocity", "traveledDistance", "pursuitCurvature",
+                "expectedX", "expectedY", "expectedHeading"};
+    }
+
+    @Override
+    public void getTelemetry(double[] values, int offset) {
+        values[offset] = output.getLeft();
+        values[offset + 1] = output.getRight();
+        values[offset + 2] = follower.getPreviousCalculatedVelocity();
+        values[offset + 3] = follower.getTraveledDistance();
+        values[offset + 4] = follower.getPursuitCurvature();
+        Transform expected = follower.getExpectedPathTransform();
+        values[offset + 5] = expected.getPosition().getX();
+        values[offset + 6] = expected.getPosition().getY();
+        values[offset + 7] = expected.getRotation().getRadians();
+    }
+
+    @Override
+    public void render(RobotGraph graph, double[] frame) {
+        int offset = RobotSimulator.FRAME_SIZE;
+        double curvature = frame[offset + 4];
+        if (curvature != 0 && !Double.isNaN(curvature)) {
+            //The pursuit circle is tangent to the robot transform the follower was updated with, which is the robot
+            //transform of this frame
+            double radius = 1 / curvature;
+            double heading = frame[RobotSimulator.FRAME_HEADING];
+            Position center = new Position(frame[RobotSimulator.FRAME_X] - Math.sin(heading) * radius,
+                    frame[RobotSimulator.FRAME_Y] + Math.cos(heading) * radius);
+            graph.changeSeries("Circle", GraphUtil.populateSeries(new XYSeriesWithRenderer("Circle"),
+                    GraphUtil.circle(new Circle(center, Math.abs(radius)))));
+        }
+        graph.changeSeries("Point", GraphUtil.populateSeries(new XYSeriesWithRenderer("Point"),
+                GraphUtil.arrow(new Transform(frame[offset + 5], frame[offset + 6], frame[offset + 7]), .1, .1)));
+    }
 }
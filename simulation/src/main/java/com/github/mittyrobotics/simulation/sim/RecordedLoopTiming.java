@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * {@link LoopTiming} that plays back loop periods measured on a real robot, either in order or sampled at random.
+ * <p>
+ * The recorded periods are used as they are, so they should come from a robot running the same nominal period as the
+ * simulation.
+ */
+public class RecordedLoopTiming implements LoopTiming {
+    private final double[] periods;
+    private final SplittableRandom random;
+    private int index;
+
+    /**
+     * Constructs a {@link RecordedLoopTiming} that plays the periods back in order, wrapping around at the end.
+     *
+     * @param periods the recorded loop periods in seconds
+     */
+    public RecordedLoopTiming(double[] periods) {
+        this(periods, null);
+    }
+
+    /**
+     * Constructs a {@link RecordedLoopTiming} that draws each period at random from the recorded periods.
+     *
+     * @param periods the recorded loop periods in seconds
+     * @param seed    the seed of the draws
+     */
+    public RecordedLoopTiming(double[] periods, long seed) {
+        this(periods, new SplittableRandom(seed));
+    }
+
+    private RecordedLoopTiming(double[] periods, SplittableRandom random) {
+        if (periods.length == 0) {
+            throw new IllegalArgumentException("No recorded periods");
+        }
+        for (double period : periods) {
+            if (!(period > 0)) {
+                throw new IllegalArgumentException("Recorded periods must be positive");
+            }
+        }
+        this.periods = Arrays.copyOf(periods, periods.length);
+        this.random = random;
+    }
+
+    /**
+     * Returns the periods between consecutive loop timestamps, for example the <code>time</code> column of a
+     * telemetry log recorded on a robot.
+     *
+     * @param timestamps the loop start times in seconds
+     * @return the periods between the timestamps
+     */
+    public static double[] periodsFromTimestamps(double[] timestamps) {
+        double[] periods = new double[Math.max(0, timestamps.length - 1)];
+        for (int i = 0; i < periods.length; i++) {
+            periods[i] = timestamps[i + 1] - timestamps[i];
+        }
+        return periods;
+    }
+
+    @Override
+    public double nextPeriod(double nominalPeriod) {
+        if (random != null) {
+            return periods[random.nextInt(periods.length)];
+        }
+        double period = periods[index];
+        index = (index + 1) % periods.length;
+        return period;
+    }
+
+    public double[] getPeriods() {
+        return periods;
+    }
+}
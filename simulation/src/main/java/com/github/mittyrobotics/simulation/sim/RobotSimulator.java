@@ -25,45 +25,218 @@
 package com.github.mittyrobotics.simulation.sim;
 
 
+import com.github.mittyrobotics.datacollection.telemetry.TelemetrySchema;
+import com.github.mittyrobotics.datacollection.telemetry.TelemetryWriter;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
 import com.github.mittyrobotics.visualization.RobotGraph;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Runs a {@link SimRobot} and its {@link SimDrivetrain} on a {@link SimulationEngine}.
+ * <p>
+ * Each robot loop runs before the physics step scheduled at the same virtual time, so the robot reads the state at
+ * that time and its outputs are applied from then on. After each loop the drivetrain state and the robot's telemetry
+ * are published to a {@link SimStateBuffer}, which a {@link SimRenderer} draws from its own thread when a graph is
+ * given.
+ */
+public class RobotSimulator {
+    public static final int FRAME_TIME = 0;
+    public static final int FRAME_X = 1;
+    public static final int FRAME_Y = 2;
+    public static final int FRAME_HEADING = 3;
+    public static final int FRAME_LEFT_VOLTAGE = 4;
+    public static final int FRAME_RIGHT_VOLTAGE = 5;
+    public static final int FRAME_LEFT_VELOCITY = 6;
+    public static final int FRAME_RIGHT_VELOCITY = 7;
+    public static final int FRAME_SIZE = 8;
+    private static final String[] FRAME_NAMES = {"time", "x", "y", "heading", "leftVoltage", "rightVoltage",
+            "leftVelocity", "rightVelocity"};
+
+    public static final double DEFAULT_FRAME_RATE = 60;
 
-public class RobotSimulator extends TimerTask {
     private final double periodTime;
     private final SimRobot robot;
     private final RobotGraph graph;
+    private final SimulationEngine engine;
+    private final SimStateBuffer stateBuffer;
+    private final double[] frame;
+    private SimRenderer renderer;
+    private TelemetryWriter telemetryWriter;
+    private LoopTiming loopTiming;
+    private double lastLoopTime = Double.NaN;
+    private double deltaTime;
 
+    /**
+     * Constructs a {@link RobotSimulator} that immediately starts running in real time on its own thread.
+     *
+     * @param robot      the {@link SimRobot} to simulate
+     * @param periodTime the robot loop period in seconds
+     * @param graph      the {@link RobotGraph} to draw the robot on
+     */
     public RobotSimulator(SimRobot robot, double periodTime, RobotGraph graph) {
+        this(robot, periodTime, graph, new SimulationEngine());
+        engine.setRealTimeFactor(1);
+        new Thread(engine::run, "RobotSimulator").start();
+    }
+
+    /**
+     * Constructs a {@link RobotSimulator} scheduled on <code>engine</code>. Nothing runs until the engine is run, for
+     * example with {@link SimulationEngine#runFor(double)}.
+     *
+     * @param robot      the {@link SimRobot} to simulate
+     * @param periodTime the robot loop period in seconds
+     * @param graph      the {@link RobotGraph} to draw the robot on, or null to run headless
+     * @param engine     the {@link SimulationEngine} to schedule the robot and drivetrain on
+     */
+    public RobotSimulator(SimRobot robot, double periodTime, RobotGraph graph, SimulationEngine engine) {
         this.periodTime = periodTime;
         this.robot = robot;
         this.graph = graph;
+        this.engine = engine;
+        //Robot telemetry follows the drivetrain state in each frame, so the renderer can draw robot overlays
+        this.frame = new double[FRAME_SIZE + robot.getTelemetryNames().length];
+        this.stateBuffer = new SimStateBuffer(1024, frame.length);
         init();
     }
 
     private void init() {
         robot.setRobotSimulator(this);
         robot.robotInit();
-        new Timer().scheduleAtFixedRate(this, (long) 0.0, (long) (periodTime * 1000.0));
+        engine.schedule(this::periodic, 0, SimulationEngine.CONTROL_PRIORITY);
+        engine.schedulePeriodic(robot.getDrivetrain()::update, robot.getDrivetrain().getPeriodTime(),
+                SimulationEngine.PHYSICS_PRIORITY);
+        if (graph != null) {
+            renderer = new SimRenderer(stateBuffer, graph, robot,
+                    robot.getDrivetrain().getDrivetrainModel().getTrackWidth(),
+                    robot.getDrivetrain().getDrivetrainModel().getDrivetrainLength(), DEFAULT_FRAME_RATE);
+            renderer.start();
+        }
     }
 
     private void periodic() {
+        double time = engine.getTime();
+        deltaTime = Double.isNaN(lastLoopTime) ? periodTime : time - lastLoopTime;
+        lastLoopTime = time;
         robot.robotPeriodic();
-        graph.graphDifferentialDrive(robot.getDrivetrain().getRobotTransform(),
-                robot.getDrivetrain().getDrivetrainModel().getTrackWidth(),
-                robot.getDrivetrain().getDrivetrainModel().getDrivetrainLength());
+        publishFrame();
+        engine.schedule(this::periodic, loopTiming == null ? periodTime : loopTiming.nextPeriod(periodTime),
+                SimulationEngine.CONTROL_PRIORITY);
+    }
+
+    private void publishFrame() {
+        SimDrivetrain drivetrain = robot.getDrivetrain();
+        Transform robotTransform = drivetrain.getRobotTransform();
+        frame[FRAME_TIME] = engine.getTime();
+        frame[FRAME_X] = robotTransform.getPosition().getX();
+        frame[FRAME_Y] = robotTransform.getPosition().getY();
+        frame[FRAME_HEADING] = robotTransform.getRotation().getRadians();
+        frame[FRAME_LEFT_VOLTAGE] = drivetrain.getLeftVoltage();
+        frame[FRAME_RIGHT_VOLTAGE] = drivetrain.getRightVoltage();
+        frame[FRAME_LEFT_VELOCITY] = drivetrain.getDrivetrainModel().getLeftVelocity();
+        frame[FRAME_RIGHT_VELOCITY] = drivetrain.getDrivetrainModel().getRightVelocity();
+        robot.getTelemetry(frame, FRAME_SIZE);
+        stateBuffer.publish(frame);
+
+        if (telemetryWriter != null) {
+            try {
+                telemetryWriter.write(frame);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Starts recording every robot loop to a telemetry log at <code>file</code>. Each record holds the drivetrain
+     * state frame followed by the robot's {@link SimRobot#getTelemetryNames() telemetry values}.
+     *
+     * @param file the log file to write
+     * @throws IOException if the log can not be created
+     */
+    public void startRecording(Path file) throws IOException {
+        stopRecording();
+        String[] robotNames = robot.getTelemetryNames();
+        String[] names = Arrays.copyOf(FRAME_NAMES, FRAME_SIZE + robotNames.length);
+        System.arraycopy(robotNames, 0, names, FRAME_SIZE, robotNames.length);
+        telemetryWriter = new TelemetryWriter(file, TelemetrySchema.ofDoubles(names));
     }
 
-    @Override
-    public void run() {
-        periodic();
+    /**
+     * Stops recording and closes the telemetry log, if recording.
+     *
+     * @throws IOException if the log can not be closed
+     */
+    public void stopRecording() throws IOException {
+        if (telemetryWriter != null) {
+            telemetryWriter.close();
+            telemetryWriter = null;
+        }
     }
 
     public double getPeriodTime() {
         return periodTime;
     }
 
+    /**
+     * Returns the time since the previous robot loop started, or the nominal period during the first loop. This is
+     * the period robot code would measure, and differs from {@link #getPeriodTime()} when a {@link LoopTiming} is
+     * set.
+     *
+     * @return the time since the previous robot loop in seconds
+     */
+    public double getDeltaTime() {
+        return deltaTime;
+    }
+
+    /**
+     * Sets the {@link LoopTiming} deciding the actual period of each robot loop, or null for a perfect period. Takes
+     * effect from the next loop.
+     *
+     * @param loopTiming the {@link LoopTiming}
+     */
+    public void setLoopTiming(LoopTiming loopTiming) {
+        this.loopTiming = loopTiming;
+    }
+
+    public LoopTiming getLoopTiming() {
+        return loopTiming;
+    }
+
+    /**
+     * Returns the current virtual time of the simulation in seconds.
+     *
+     * @return the current simulation time in seconds
+     */
+    public double getTime() {
+        return engine.getTime();
+    }
+
+    /**
+     * Returns the {@link SimStateBuffer} the drivetrain state is published to after each robot loop, with the layout
+     * given by the <code>FRAME_</code> constants.
+     *
+     * @return the {@link SimStateBuffer}
+     */
+    public SimStateBuffer getStateBuffer() {
+        return stateBuffer;
+    }
+
+    /**
+     * Returns the {@link SimRenderer} drawing the graph, or null if running headless.
+     *
+     * @return the {@link SimRenderer}
+     */
+    public SimRenderer getRenderer() {
+        return renderer;
+    }
+
+    public SimulationEngine getEngine() {
+        return engine;
+    }
 
     public SimRobot getRobot() {
         return robot;
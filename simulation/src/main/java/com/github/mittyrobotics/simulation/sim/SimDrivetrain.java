@@ -24,116 +24,209 @@
 
 package com.github.mittyrobotics.simulation.sim;
 
-import com.github.mittyrobotics.datatypes.positioning.Position;
-import com.github.mittyrobotics.datatypes.positioning.Rotation;
+import com.github.mittyrobotics.datatypes.motion.DifferentialDriveKinematics;
+import com.github.mittyrobotics.datatypes.positioning.MutablePose2d;
 import com.github.mittyrobotics.datatypes.positioning.Transform;
-import com.github.mittyrobotics.motion.modeling.models.DrivetrainModel;
-
-import java.util.Timer;
-import java.util.TimerTask;
-
-public class SimDrivetrain extends TimerTask {
+import com.github.mittyrobotics.motion.controllers.PIDFController;
+import com.github.mittyrobotics.motion.controllers.StateSpaceController;
+import com.github.mittyrobotics.motion.statespace.models.DrivetrainModel;
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * Simulated differential drivetrain. The physics are advanced by {@link #update()}, which is scheduled by
+ * {@link RobotSimulator} every {@link #getPeriodTime()} seconds.
+ */
+public class SimDrivetrain {
     private final DrivetrainModel drivetrainModel;
     private double leftVoltage;
     private double rightVoltage;
     private double periodTime = 0.001;
 
     //Odometry values
-    private Transform robotTransform = new Transform();
+    private final MutablePose2d robotPose = new MutablePose2d();
     private double prevLeftPos;
     private double prevRightPos;
+    private SimDrivetrainSensors sensors;
 
-    //PID values
-    private double p;
-    private double i;
-    private double d;
+    //Velocity control values
+    private final PIDFController leftVelocityController = new PIDFController(0, 0, 0);
+    private final PIDFController rightVelocityController = new PIDFController(0, 0, 0);
+    private StateSpaceController leftStateSpaceController;
+    private StateSpaceController rightStateSpaceController;
     private double f;
-    private double lastMeasured;
-    private double lastError;
     private double maxPIDPercent = 1;
+    private double timeSinceVelocityControl;
+    private boolean saturated;
 
     public SimDrivetrain(DrivetrainModel drivetrainModel) {
         this.drivetrainModel = drivetrainModel;
-        new Timer().scheduleAtFixedRate(this, (long) 0.0, (long) (periodTime * 1000.0));
+        setMaxPIDPercent(maxPIDPercent);
+    }
+
+    /**
+     * Constructs a {@link SimDrivetrain} stepping its physics every <code>periodTime</code> seconds. Periods longer
+     * than the default 1 ms should be paired with a higher order {@link DrivetrainModel#setIntegrator integrator}.
+     *
+     * @param drivetrainModel the {@link DrivetrainModel} to simulate
+     * @param periodTime      the physics period in seconds
+     */
+    public SimDrivetrain(DrivetrainModel drivetrainModel, double periodTime) {
+        this.drivetrainModel = drivetrainModel;
+        this.periodTime = periodTime;
+        setMaxPIDPercent(maxPIDPercent);
     }
 
     public void setPercentOutput(double leftPercent, double rightPercent) {
+        saturated = Math.abs(leftPercent) >= 1 || Math.abs(rightPercent) >= 1;
+        setVoltages(leftPercent, rightPercent);
+    }
+
+    /**
+     * Drives each side at a target velocity, using the simulated time since the previous call as the controller
+     * delta time, or one physics period if no time has passed.
+     *
+     * @param leftVelocity  the left wheel velocity
+     * @param rightVelocity the right wheel velocity
+     * @see #setVelocityControl(double, double, double)
+     */
+    public void setVelocityControl(double leftVelocity, double rightVelocity) {
+        setVelocityControl(leftVelocity, rightVelocity,
+                timeSinceVelocityControl > 0 ? timeSinceVelocityControl : periodTime);
+    }
+
+    /**
+     * Drives each side at a target velocity with the state space velocity controllers if they are set, or the PIDF
+     * velocity controllers otherwise.
+     * <p>
+     * <code>deltaTime</code> should be the period the robot code measured since its previous loop, such as
+     * {@link RobotSimulator#getDeltaTime()}, so the controllers see the same loop jitter real robot code would.
+     *
+     * @param leftVelocity  the left wheel velocity
+     * @param rightVelocity the right wheel velocity
+     * @param deltaTime     the time since the previous call in seconds
+     */
+    public void setVelocityControl(double leftVelocity, double rightVelocity, double deltaTime) {
+        saturated = false;
+        setVoltages(calculateVelocityControl(leftVelocityController, leftStateSpaceController, leftVelocity,
+                drivetrainModel.getLeftVelocity(), deltaTime),
+                calculateVelocityControl(rightVelocityController, rightStateSpaceController, rightVelocity,
+                        drivetrainModel.getRightVelocity(), deltaTime));
+        timeSinceVelocityControl = 0;
+    }
+
+    private void setVoltages(double leftPercent, double rightPercent) {
         leftPercent = Math.max(-1, Math.min(1, leftPercent));
         rightPercent = Math.max(-1, Math.min(1, rightPercent));
         this.leftVoltage = leftPercent * 12;
         this.rightVoltage = rightPercent * 12;
     }
 
-    public void setVelocityControl(double leftVelocity, double rightVelocity) {
-        setPercentOutput(calculatePID(leftVelocity, drivetrainModel.getLeftVelocity(), periodTime),
-                calculatePID(rightVelocity, drivetrainModel.getRightVelocity(), periodTime));
-    }
-
     private void odometry() {
         double deltaLeftPos = (drivetrainModel.getLeftPosition() - prevLeftPos);
         double deltaRightPos = (drivetrainModel.getRightPosition() - prevRightPos);
 
         double deltaPos = (deltaLeftPos + deltaRightPos) / 2;
 
-        Rotation rotation =
-                robotTransform.getRotation()
-                        .subtract(Rotation.fromRadians(Math.atan2((deltaLeftPos - deltaRightPos),
-                                drivetrainModel.getTrackWidth())));
-
-        Position position = robotTransform.getPosition().add(new Position(rotation.cos() * deltaPos,
-                rotation.sin() * deltaPos));
-
-        robotTransform = new Transform(position, rotation);
+        //Move along the arc driven by the wheels
+        robotPose.transformByTwist(deltaPos, 0, DifferentialDriveKinematics
+                .getAngularVelocityFromWheelSpeeds(deltaLeftPos, deltaRightPos, drivetrainModel.getTrackWidth()));
 
         prevLeftPos = drivetrainModel.getLeftPosition();
         prevRightPos = drivetrainModel.getRightPosition();
     }
 
     public void setOdometry(Transform robotTransform) {
-        this.robotTransform = robotTransform;
+        robotPose.set(robotTransform);
 
         prevLeftPos = drivetrainModel.getLeftPosition();
         prevRightPos = drivetrainModel.getRightPosition();
+        if (sensors != null) {
+            sensors.reset(robotTransform);
+        }
     }
 
+    /**
+     * Returns the true {@link Transform} of the robot. Use {@link #getSensors()} for the measured one.
+     *
+     * @return the true {@link Transform} of the robot
+     */
     public Transform getRobotTransform() {
-        return robotTransform;
+        return robotPose.toTransform();
+    }
+
+    /**
+     * Returns the simulated sensors of this drivetrain, or null if none are attached.
+     *
+     * @return the {@link SimDrivetrainSensors}
+     */
+    public SimDrivetrainSensors getSensors() {
+        return sensors;
+    }
+
+    void setSensors(SimDrivetrainSensors sensors) {
+        this.sensors = sensors;
     }
 
     public void setupPIDFValues(double p, double i, double d, double f) {
-        this.p = p;
-        this.i = i;
-        this.d = d;
+        leftVelocityController.setGains(p, i, d, 0);
+        rightVelocityController.setGains(p, i, d, 0);
         this.f = f;
     }
 
+    /**
+     * Sets state space velocity controllers that replace the PIDF velocity controllers, or null to go back to PIDF.
+     * Each controller takes the measured wheel velocity and outputs a voltage.
+     *
+     * @param leftController  the {@link StateSpaceController} of the left side
+     * @param rightController the {@link StateSpaceController} of the right side
+     */
+    public void setupStateSpaceControllers(StateSpaceController leftController, StateSpaceController rightController) {
+        this.leftStateSpaceController = leftController;
+        this.rightStateSpaceController = rightController;
+    }
+
     public void setMaxPIDPercent(double maxPIDPercent) {
         this.maxPIDPercent = maxPIDPercent;
+        leftVelocityController.setOutputRange(-maxPIDPercent * 12, maxPIDPercent * 12);
+        rightVelocityController.setOutputRange(-maxPIDPercent * 12, maxPIDPercent * 12);
+        leftVelocityController.setIntegralRange(-maxPIDPercent * 12, maxPIDPercent * 12);
+        rightVelocityController.setIntegralRange(-maxPIDPercent * 12, maxPIDPercent * 12);
     }
 
-    private double calculatePID(double target, double measured, double deltaTime) {
+    private double calculateVelocityControl(PIDFController controller, StateSpaceController stateSpaceController,
+                                            double target, double measured, double deltaTime) {
         double voltage;
-
-        double FF = f * target;
-
-        double error = target - measured;
-        double FB = p * error + d * ((error - lastError) / deltaTime);
-
-        voltage = FF + FB;
+        if (stateSpaceController != null) {
+            voltage = stateSpaceController.calculate(new SimpleMatrix(new double[][]{{measured}}),
+                    new SimpleMatrix(new double[][]{{target}}), deltaTime).get(0);
+        } else {
+            controller.setSetpoint(target);
+            voltage = controller.calculate(measured, f * target, deltaTime);
+        }
 
         double maxVoltage = maxPIDPercent * 12;
+        if (Math.abs(voltage) >= maxVoltage) {
+            saturated = true;
+        }
         voltage = Math.max(-maxVoltage, Math.min(maxVoltage, voltage));
 
-        lastMeasured = measured;
-        lastError = error;
-
         return voltage / 12;
     }
 
-    @Override
-    public void run() {
+    /**
+     * Advances the drivetrain physics and odometry by one period.
+     */
+    public void update() {
         drivetrainModel.updateModel(leftVoltage, rightVoltage, periodTime);
+        timeSinceVelocityControl += periodTime;
         odometry();
+        if (sensors != null) {
+            sensors.update(periodTime);
+        }
+    }
+
+    public double getPeriodTime() {
+        return periodTime;
     }
 
     public DrivetrainModel getDrivetrainModel() {
@@ -147,4 +240,15 @@ public class SimDrivetrain extends TimerTask {
     public double getRightVoltage() {
         return rightVoltage;
     }
+
+    /**
+     * Returns whether either side of the drivetrain was held at its output limit by the last call to
+     * {@link #setPercentOutput(double, double)} or {@link #setVelocityControl(double, double)}. The limit of velocity
+     * control is the max PID percent.
+     *
+     * @return whether the last output was saturated
+     */
+    public boolean isSaturated() {
+        return saturated;
+    }
 }
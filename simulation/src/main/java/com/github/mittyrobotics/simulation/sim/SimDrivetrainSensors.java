@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+import com.github.mittyrobotics.motion.observers.TwistOdometry;
+import com.github.mittyrobotics.motion.statespace.models.DrivetrainModel;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulated encoders and gyro of a {@link SimDrivetrain}.
+ * <p>
+ * Each sensor is a {@link SimSensor} sampled every physics step, so noise, bias, quantization and delay can be set
+ * per sensor. The measured encoders and gyro also drive a {@link TwistOdometry}, giving the pose the robot code would
+ * estimate from its own sensors. Every sensor gets its own random stream split from the seed, so runs are repeatable
+ * and can run in parallel.
+ */
+public class SimDrivetrainSensors {
+    private final SimDrivetrain drivetrain;
+    private final SimSensor leftPosition;
+    private final SimSensor rightPosition;
+    private final SimSensor leftVelocity;
+    private final SimSensor rightVelocity;
+    private final SimSensor gyro;
+    private final TwistOdometry odometry = new TwistOdometry();
+    private double trueGyro;
+    private double previousLeft;
+    private double previousRight;
+
+    /**
+     * Constructs {@link SimDrivetrainSensors} with perfect sensors and attaches them to <code>drivetrain</code>.
+     *
+     * @param drivetrain the {@link SimDrivetrain} to measure
+     * @param seed       the seed of the sensor noise
+     */
+    public SimDrivetrainSensors(SimDrivetrain drivetrain, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.drivetrain = drivetrain;
+        this.leftPosition = new SimSensor(random.split());
+        this.rightPosition = new SimSensor(random.split());
+        this.leftVelocity = new SimSensor(random.split());
+        this.rightVelocity = new SimSensor(random.split());
+        this.gyro = new SimSensor(random.split());
+        drivetrain.setSensors(this);
+        reset(drivetrain.getRobotTransform());
+    }
+
+    /**
+     * Sets the same delay on every sensor.
+     *
+     * @param delay the delay in seconds, rounded to whole physics steps
+     */
+    public void setDelay(double delay) {
+        int samples = (int) Math.round(delay / drivetrain.getPeriodTime());
+        leftPosition.setDelaySamples(samples);
+        rightPosition.setDelaySamples(samples);
+        leftVelocity.setDelaySamples(samples);
+        rightVelocity.setDelaySamples(samples);
+        gyro.setDelaySamples(samples);
+    }
+
+    /**
+     * Sets the encoder resolution on the position and velocity sensors.
+     *
+     * @param countsPerMeter the encoder counts per meter of wheel travel
+     * @param velocityPeriod the time in seconds velocity is measured over, giving a velocity resolution of one count
+     *                       per period
+     */
+    public void setEncoderResolution(double countsPerMeter, double velocityPeriod) {
+        leftPosition.setQuantization(1 / countsPerMeter);
+        rightPosition.setQuantization(1 / countsPerMeter);
+        leftVelocity.setQuantization(1 / (countsPerMeter * velocityPeriod));
+        rightVelocity.setQuantization(1 / (countsPerMeter * velocityPeriod));
+    }
+
+    /**
+     * Samples every sensor and updates the measured odometry. Called by {@link SimDrivetrain#update()}.
+     *
+     * @param deltaTime the time since the last sample in seconds
+     */
+    public void update(double deltaTime) {
+        DrivetrainModel model = drivetrain.getDrivetrainModel();
+        double deltaLeft = model.getLeftPosition() - previousLeft;
+        double deltaRight = model.getRightPosition() - previousRight;
+        previousLeft = model.getLeftPosition();
+        previousRight = model.getRightPosition();
+        trueGyro += Math.toDegrees((deltaRight - deltaLeft) / model.getTrackWidth());
+
+        leftPosition.update(model.getLeftPosition(), deltaTime);
+        rightPosition.update(model.getRightPosition(), deltaTime);
+        leftVelocity.update(model.getLeftVelocity(), deltaTime);
+        rightVelocity.update(model.getRightVelocity(), deltaTime);
+        gyro.update(trueGyro, deltaTime);
+
+        odometry.update(leftPosition.getValue(), rightPosition.getValue(), gyro.getValue());
+    }
+
+    /**
+     * Resets the sensors and the measured odometry to the current drivetrain state at <code>transform</code>.
+     *
+     * @param transform the {@link Transform} of the robot
+     */
+    public void reset(Transform transform) {
+        DrivetrainModel model = drivetrain.getDrivetrainModel();
+        previousLeft = model.getLeftPosition();
+        previousRight = model.getRightPosition();
+        trueGyro = transform.getRotation().getDegrees();
+        leftPosition.reset(model.getLeftPosition());
+        rightPosition.reset(model.getRightPosition());
+        leftVelocity.reset(model.getLeftVelocity());
+        rightVelocity.reset(model.getRightVelocity());
+        gyro.reset(trueGyro);
+        odometry.zeroEncoders(leftPosition.getValue(), rightPosition.getValue());
+        odometry.setTransform(transform, gyro.getValue());
+    }
+
+    /**
+     * Returns the pose estimated from the measured encoders and gyro.
+     *
+     * @return the measured {@link Transform}
+     */
+    public Transform getMeasuredTransform() {
+        return odometry.getRobotTransform();
+    }
+
+    public double getLeftPosition() {
+        return leftPosition.getValue();
+    }
+
+    public double getRightPosition() {
+        return rightPosition.getValue();
+    }
+
+    public double getLeftVelocity() {
+        return leftVelocity.getValue();
+    }
+
+    public double getRightVelocity() {
+        return rightVelocity.getValue();
+    }
+
+    /**
+     * Returns the measured gyro angle in degrees, counterclockwise positive and continuous.
+     *
+     * @return the gyro angle in degrees
+     */
+    public double getGyro() {
+        return gyro.getValue();
+    }
+
+    public SimSensor getLeftPositionSensor() {
+        return leftPosition;
+    }
+
+    public SimSensor getRightPositionSensor() {
+        return rightPosition;
+    }
+
+    public SimSensor getLeftVelocitySensor() {
+        return leftVelocity;
+    }
+
+    public SimSensor getRightVelocitySensor() {
+        return rightVelocity;
+    }
+
+    public SimSensor getGyroSensor() {
+        return gyro;
+    }
+
+    public TwistOdometry getOdometry() {
+        return odometry;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+import com.github.mittyrobotics.visualization.RobotGraph;
+
+/**
+ * Draws the latest frame of a {@link SimStateBuffer} on a {@link RobotGraph} from its own thread at a fixed frame
+ * rate.
+ * <p>
+ * Frames published between two renders are skipped, so the simulation never waits on drawing. After the drivetrain,
+ * the {@link SimRobot} draws its own overlays from the same frame with {@link SimRobot#render(RobotGraph, double[])}.
+ */
+public class SimRenderer implements Runnable {
+    private final SimStateBuffer buffer;
+    private final RobotGraph graph;
+    private final SimRobot robot;
+    private final double trackWidth;
+    private final double drivetrainLength;
+    private final long framePeriodNanos;
+    private final double[] frame;
+    private volatile boolean running;
+    private Thread thread;
+    private long lastRendered = -1;
+    private long renderedFrames;
+    private long skippedFrames;
+
+    /**
+     * Constructs a {@link SimRenderer}.
+     *
+     * @param buffer           the {@link SimStateBuffer} of {@link RobotSimulator} frames
+     * @param graph            the {@link RobotGraph} to draw on
+     * @param robot            the {@link SimRobot} to draw the overlays of
+     * @param trackWidth       the track width of the robot
+     * @param drivetrainLength the length of the robot
+     * @param frameRate        the frames per second to draw at
+     */
+    public SimRenderer(SimStateBuffer buffer, RobotGraph graph, SimRobot robot, double trackWidth,
+                       double drivetrainLength, double frameRate) {
+        this.buffer = buffer;
+        this.graph = graph;
+        this.robot = robot;
+        this.trackWidth = trackWidth;
+        this.drivetrainLength = drivetrainLength;
+        this.framePeriodNanos = (long) (1e9 / frameRate);
+        this.frame = new double[buffer.getFrameSize()];
+    }
+
+    /**
+     * Starts drawing on a daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "SimRenderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops drawing after the current frame.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (running) {
+            renderLatest();
+            nextFrame += framePeriodNanos;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep / 1000000, (int) (sleep % 1000000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                //Fell behind, start timing again from now instead of rendering a burst of frames
+                nextFrame = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Draws the latest frame if it has not been drawn yet.
+     */
+    public void renderLatest() {
+        long sequence = buffer.readLatest(frame);
+        if (sequence <= lastRendered) {
+            return;
+        }
+        if (lastRendered >= 0) {
+            skippedFrames += sequence - lastRendered - 1;
+        }
+        lastRendered = sequence;
+        renderedFrames++;
+        graph.graphDifferentialDrive(new Transform(frame[RobotSimulator.FRAME_X], frame[RobotSimulator.FRAME_Y],
+                frame[RobotSimulator.FRAME_HEADING]), trackWidth, drivetrainLength);
+        robot.render(graph, frame);
+    }
+
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+}
@@ -24,6 +24,8 @@
 
 package com.github.mittyrobotics.simulation.sim;
 
+import com.github.mittyrobotics.visualization.RobotGraph;
+
 public class SimRobot {
     private final SimDrivetrain drivetrain;
     private RobotSimulator robotSimulator;
@@ -39,6 +41,36 @@ public class SimRobot {
     public void robotPeriodic() {
     }
 
+    /**
+     * Returns the names of the extra telemetry values this robot records alongside the drivetrain state when the
+     * {@link RobotSimulator} is recording.
+     *
+     * @return the names of the telemetry values
+     */
+    public String[] getTelemetryNames() {
+        return new String[0];
+    }
+
+    /**
+     * Writes this robot's telemetry values, in the order of {@link #getTelemetryNames()}.
+     *
+     * @param values the record to write into
+     * @param offset the index of the first value
+     */
+    public void getTelemetry(double[] values, int offset) {
+    }
+
+    /**
+     * Draws this robot's overlays on <code>graph</code>. This is called from the {@link SimRenderer} thread, so it
+     * must only read the frame, which holds the drivetrain state followed by this robot's telemetry values from
+     * index {@link RobotSimulator#FRAME_SIZE}.
+     *
+     * @param graph the {@link RobotGraph} to draw on
+     * @param frame the frame published by the {@link RobotSimulator}
+     */
+    public void render(RobotGraph graph, double[] frame) {
+    }
+
     public SimDrivetrain getDrivetrain() {
         return drivetrain;
     }
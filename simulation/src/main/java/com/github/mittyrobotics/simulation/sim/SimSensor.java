@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A simulated scalar sensor that corrupts a true value with bias, bias drift, gaussian noise, quantization and a
+ * measurement delay.
+ * <p>
+ * The sensor is sampled once per {@link #update(double, double)} and {@link #getValue()} returns the measurement from
+ * the configured number of samples ago. All randomness comes from a seeded {@link SplittableRandom}, so a simulation
+ * run is repeatable.
+ */
+public class SimSensor {
+    private final GaussianRandom random;
+    private double noise;
+    private double bias;
+    private double biasDrift;
+    private double quantization;
+    private double[] delayLine = new double[1];
+    private int delayIndex;
+
+    public SimSensor(SplittableRandom random) {
+        this.random = new GaussianRandom(random);
+    }
+
+    public SimSensor(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Samples the sensor.
+     *
+     * @param trueValue the true value being measured
+     * @param deltaTime the time since the last sample in seconds, used for the bias drift
+     */
+    public void update(double trueValue, double deltaTime) {
+        if (biasDrift != 0) {
+            bias += random.nextGaussian() * biasDrift * Math.sqrt(deltaTime);
+        }
+        double measured = trueValue + bias;
+        if (noise != 0) {
+            measured += random.nextGaussian() * noise;
+        }
+        if (quantization > 0) {
+            measured = Math.floor(measured / quantization) * quantization;
+        }
+        delayIndex = (delayIndex + 1) % delayLine.length;
+        delayLine[delayIndex] = measured;
+    }
+
+    /**
+     * Returns the measurement from {@link #getDelaySamples()} samples ago.
+     *
+     * @return the delayed measurement
+     */
+    public double getValue() {
+        return delayLine[(delayIndex + 1) % delayLine.length];
+    }
+
+    /**
+     * Fills the delay line with a value, for example when the true value is reset.
+     *
+     * @param value the value to fill with
+     */
+    public void reset(double value) {
+        Arrays.fill(delayLine, value);
+    }
+
+    public double getNoise() {
+        return noise;
+    }
+
+    /**
+     * Sets the standard deviation of the gaussian noise added to each sample.
+     *
+     * @param noise the noise standard deviation
+     * @return this sensor
+     */
+    public SimSensor setNoise(double noise) {
+        this.noise = noise;
+        return this;
+    }
+
+    public double getBias() {
+        return bias;
+    }
+
+    /**
+     * Sets the constant offset added to each sample.
+     *
+     * @param bias the bias
+     * @return this sensor
+     */
+    public SimSensor setBias(double bias) {
+        this.bias = bias;
+        return this;
+    }
+
+    public double getBiasDrift() {
+        return biasDrift;
+    }
+
+    /**
+     * Sets how fast the bias random walks, as the standard deviation of its change over one second.
+     *
+     * @param biasDrift the bias drift
+     * @return this sensor
+     */
+    public SimSensor setBiasDrift(double biasDrift) {
+        this.biasDrift = biasDrift;
+        return this;
+    }
+
+    public double getQuantization() {
+        return quantization;
+    }
+
+    /**
+     * Sets the resolution measurements are floored to, such as the distance per encoder count. 0 disables
+     * quantization.
+     *
+     * @param quantization the quantization step
+     * @return this sensor
+     */
+    public SimSensor setQuantization(double quantization) {
+        this.quantization = quantization;
+        return this;
+    }
+
+    public int getDelaySamples() {
+        return delayLine.length - 1;
+    }
+
+    /**
+     * Sets how many samples old the measurement returned by {@link #getValue()} is.
+     *
+     * @param delaySamples the delay in samples
+     * @return this sensor
+     * @throws IllegalArgumentException if <code>delaySamples</code> is negative
+     */
+    public SimSensor setDelaySamples(int delaySamples) {
+        if (delaySamples < 0) {
+            throw new IllegalArgumentException("Delay samples can not be negative");
+        }
+        double value = getValue();
+        this.delayLine = new double[delaySamples + 1];
+        this.delayIndex = 0;
+        reset(value);
+        return this;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free single producer ring buffer of fixed size simulation frames.
+ * <p>
+ * The simulation thread publishes frames of doubles without ever blocking, overwriting the oldest frames when the
+ * buffer is full. Any number of reader threads can copy the latest frame or poll frames in order, and are told when
+ * frames were dropped because they fell behind. Each slot is guarded by a sequence stamp, so a reader never sees a
+ * frame that is being overwritten.
+ */
+public class SimStateBuffer {
+    private final int frameSize;
+    private final int mask;
+    private final double[] data;
+    private final AtomicLongArray stamps;
+    private final AtomicLong published = new AtomicLong(-1);
+
+    /**
+     * Constructs a {@link SimStateBuffer}.
+     *
+     * @param capacity  the number of frames kept, rounded up to a power of two
+     * @param frameSize the number of doubles in each frame
+     */
+    public SimStateBuffer(int capacity, int frameSize) {
+        int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.frameSize = frameSize;
+        this.mask = slots - 1;
+        this.data = new double[slots * frameSize];
+        this.stamps = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            stamps.set(i, -1);
+        }
+    }
+
+    /**
+     * Publishes a frame. Must only be called from a single thread.
+     *
+     * @param frame the frame, at least {@link #getFrameSize()} long
+     * @return the sequence number of the frame
+     */
+    public long publish(double[] frame) {
+        long sequence = published.get() + 1;
+        int slot = (int) (sequence & mask);
+        //Mark the slot as being written before touching its data
+        stamps.set(slot, -1);
+        VarHandle.storeStoreFence();
+        System.arraycopy(frame, 0, data, slot * frameSize, frameSize);
+        stamps.lazySet(slot, sequence);
+        published.lazySet(sequence);
+        return sequence;
+    }
+
+    /**
+     * Copies the most recent frame into <code>out</code>.
+     *
+     * @param out array of at least {@link #getFrameSize()} elements
+     * @return the sequence number of the copied frame, or -1 if nothing has been published
+     */
+    public long readLatest(double[] out) {
+        while (true) {
+            long sequence = published.get();
+            if (sequence < 0) {
+                return -1;
+            }
+            if (read(sequence, out)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Copies the frame with the given sequence number into <code>out</code>.
+     *
+     * @param sequence the sequence number of the frame
+     * @param out      array of at least {@link #getFrameSize()} elements
+     * @return false if the frame has not been published yet or was already overwritten
+     */
+    public boolean read(long sequence, double[] out) {
+        int slot = (int) (sequence & mask);
+        if (stamps.get(slot) != sequence) {
+            return false;
+        }
+        System.arraycopy(data, slot * frameSize, out, 0, frameSize);
+        VarHandle.loadLoadFence();
+        return stamps.get(slot) == sequence;
+    }
+
+    /**
+     * Returns the oldest sequence number still in the buffer at or after <code>sequence</code>, for a reader that
+     * fell behind to skip the dropped frames.
+     *
+     * @param sequence the next sequence number the reader wants
+     * @return the sequence number to read next
+     */
+    public long getOldestAvailable(long sequence) {
+        return Math.max(sequence, published.get() - mask);
+    }
+
+    /**
+     * Returns the sequence number of the most recent frame, or -1 if nothing has been published.
+     *
+     * @return the last published sequence number
+     */
+    public long getLastPublished() {
+        return published.get();
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+}
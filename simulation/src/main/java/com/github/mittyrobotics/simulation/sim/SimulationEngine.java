@@ -0,0 +1,291 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Discrete event simulation engine running on a virtual clock.
+ * <p>
+ * Events are run in order of their scheduled time, then their priority (lower first), then the order they were
+ * scheduled in, so a simulation always runs the same way. The virtual clock only advances when events are run, so by
+ * default simulations run as fast as the CPU allows. Setting a real time factor paces the engine against the wall
+ * clock for interactive use.
+ * <p>
+ * The engine is not thread safe. Events should only be scheduled from the thread running the engine or before it is
+ * started, with the exception of {@link #stop()}.
+ */
+public class SimulationEngine {
+    /**
+     * Priority for events that read sensors and set outputs, such as the robot loop.
+     */
+    public static final int CONTROL_PRIORITY = 0;
+    /**
+     * Priority for events that advance physics, run after control events scheduled at the same time.
+     */
+    public static final int PHYSICS_PRIORITY = 10;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private long timeNanos;
+    private long eventCount;
+    private double realTimeFactor;
+    private volatile boolean stopped;
+
+    /**
+     * Schedules a task to run every <code>period</code> seconds, starting at the current time.
+     *
+     * @param task     the task to run
+     * @param period   the period of the task in seconds
+     * @param priority the priority of the task, lower runs first when events are scheduled at the same time
+     * @return the scheduled {@link Event}
+     */
+    public Event schedulePeriodic(Runnable task, double period, int priority) {
+        long periodNanos = toNanos(period);
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return add(new Event(task, timeNanos, periodNanos, priority, eventCount++));
+    }
+
+    /**
+     * Schedules a task to run once after <code>delay</code> seconds.
+     *
+     * @param task     the task to run
+     * @param delay    the delay from the current time in seconds
+     * @param priority the priority of the task, lower runs first when events are scheduled at the same time
+     * @return the scheduled {@link Event}
+     */
+    public Event schedule(Runnable task, double delay, int priority) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay can not be negative");
+        }
+        return add(new Event(task, timeNanos + toNanos(delay), 0, priority, eventCount++));
+    }
+
+    private Event add(Event event) {
+        events.add(event);
+        return event;
+    }
+
+    /**
+     * Runs the next scheduled event, advancing the clock to its time.
+     *
+     * @return false if there were no events left to run
+     */
+    public boolean step() {
+        Event event = pollNext(Long.MAX_VALUE);
+        if (event == null) {
+            return false;
+        }
+        runEvent(event);
+        return true;
+    }
+
+    /**
+     * Runs all events scheduled in the next <code>duration</code> seconds, then advances the clock to the end of the
+     * duration.
+     *
+     * @param duration the time to simulate in seconds
+     */
+    public void runFor(double duration) {
+        runUntil(() -> false, duration);
+    }
+
+    /**
+     * Runs events until <code>condition</code> is true, checked after each event, or <code>maxDuration</code>
+     * seconds have been simulated.
+     *
+     * @param condition   the condition to stop at
+     * @param maxDuration the maximum time to simulate in seconds
+     * @return whether or not the condition was met
+     */
+    public boolean runUntil(BooleanSupplier condition, double maxDuration) {
+        long endNanos = timeNanos + toNanos(maxDuration);
+        boolean met = runEvents(condition, endNanos);
+        if (!met && !stopped) {
+            timeNanos = endNanos;
+        }
+        return met;
+    }
+
+    /**
+     * Runs events until {@link #stop()} is called or no events are left.
+     */
+    public void run() {
+        runEvents(() -> false, Long.MAX_VALUE);
+    }
+
+    private boolean runEvents(BooleanSupplier condition, long endNanos) {
+        stopped = false;
+        long wallStart = System.nanoTime();
+        long virtualStart = timeNanos;
+        while (!stopped) {
+            Event event = pollNext(endNanos);
+            if (event == null) {
+                return false;
+            }
+            if (realTimeFactor > 0) {
+                waitForWallClock(wallStart + (long) ((event.time - virtualStart) / realTimeFactor));
+            }
+            runEvent(event);
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops the engine after the event currently running. Can be called from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private Event pollNext(long endNanos) {
+        while (!events.isEmpty()) {
+            Event event = events.peek();
+            if (event.cancelled) {
+                events.poll();
+                continue;
+            }
+            if (event.time > endNanos) {
+                return null;
+            }
+            return events.poll();
+        }
+        return null;
+    }
+
+    private void runEvent(Event event) {
+        timeNanos = event.time;
+        event.task.run();
+        if (event.period > 0 && !event.cancelled) {
+            event.time += event.period;
+            events.add(event);
+        }
+    }
+
+    private void waitForWallClock(long wallTarget) {
+        long remaining = wallTarget - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(remaining / 1000000, (int) (remaining % 1000000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        }
+    }
+
+    private static long toNanos(double seconds) {
+        return Math.round(seconds * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Returns the current virtual time in seconds.
+     *
+     * @return the current virtual time in seconds
+     */
+    public double getTime() {
+        return timeNanos / NANOS_PER_SECOND;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public double getRealTimeFactor() {
+        return realTimeFactor;
+    }
+
+    /**
+     * Sets how fast the virtual clock runs compared to the wall clock. 1 runs in real time, 2 runs twice as fast,
+     * and 0 runs as fast as possible, which is the default.
+     *
+     * @param realTimeFactor the real time factor
+     */
+    public void setRealTimeFactor(double realTimeFactor) {
+        if (realTimeFactor < 0) {
+            throw new IllegalArgumentException("Real time factor can not be negative");
+        }
+        this.realTimeFactor = realTimeFactor;
+    }
+
+    /**
+     * A task scheduled on a {@link SimulationEngine}.
+     */
+    public static class Event implements Comparable<Event> {
+        private final Runnable task;
+        private final long period;
+        private final int priority;
+        private final long order;
+        private long time;
+        private volatile boolean cancelled;
+
+        private Event(Runnable task, long time, long period, int priority, long order) {
+            this.task = task;
+            this.time = time;
+            this.period = period;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        /**
+         * Cancels this event so it will not run again.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns the virtual time this event will next run at in seconds.
+         *
+         * @return the next run time in seconds
+         */
+        public double getNextTime() {
+            return time / NANOS_PER_SECOND;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            if (time != other.time) {
+                return Long.compare(time, other.time);
+            }
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
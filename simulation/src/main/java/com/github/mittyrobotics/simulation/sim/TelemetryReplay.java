@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Mitty Robotics (Team 1351)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.mittyrobotics.simulation.sim;
+
+import com.github.mittyrobotics.datacollection.telemetry.TelemetryReader;
+import com.github.mittyrobotics.datatypes.positioning.Transform;
+import com.github.mittyrobotics.visualization.RobotGraph;
+import com.github.mittyrobotics.visualization.XYSeriesWithRenderer;
+
+/**
+ * Replays a telemetry log recorded by {@link RobotSimulator#startRecording(java.nio.file.Path)} onto a
+ * {@link RobotGraph}.
+ */
+public class TelemetryReplay {
+    private final TelemetryReader reader;
+    private final RobotGraph graph;
+    private final double trackWidth;
+    private final double drivetrainLength;
+    private final int timeColumn;
+    private final int xColumn;
+    private final int yColumn;
+    private final int headingColumn;
+
+    public TelemetryReplay(TelemetryReader reader, RobotGraph graph, double trackWidth, double drivetrainLength) {
+        this.reader = reader;
+        this.graph = graph;
+        this.trackWidth = trackWidth;
+        this.drivetrainLength = drivetrainLength;
+        this.timeColumn = requireColumn("time");
+        this.xColumn = requireColumn("x");
+        this.yColumn = requireColumn("y");
+        this.headingColumn = requireColumn("heading");
+    }
+
+    private int requireColumn(String name) {
+        int column = reader.getSchema().indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException("Telemetry log has no " + name + " column");
+        }
+        return column;
+    }
+
+    /**
+     * Draws the whole path the robot drove as a series.
+     *
+     * @param key the key of the series
+     */
+    public void graphTrajectory(String key) {
+        XYSeriesWithRenderer series = XYSeriesWithRenderer.withLines(key);
+        for (long i = 0; i < reader.getRecordCount(); i++) {
+            series.add(reader.get(i, xColumn), reader.get(i, yColumn));
+        }
+        graph.changeSeries(key, series);
+    }
+
+    /**
+     * Draws the robot at a record.
+     *
+     * @param record the index of the record
+     */
+    public void graphRecord(long record) {
+        graph.graphDifferentialDrive(new Transform(reader.get(record, xColumn), reader.get(record, yColumn),
+                reader.get(record, headingColumn)), trackWidth, drivetrainLength);
+    }
+
+    /**
+     * Plays the log back on the calling thread, drawing each record at its recorded time.
+     *
+     * @param speed how many times faster than real time to play
+     * @throws InterruptedException if interrupted while waiting for the next record
+     */
+    public void play(double speed) throws InterruptedException {
+        if (reader.getRecordCount() == 0) {
+            return;
+        }
+        long wallStart = System.nanoTime();
+        double logStart = reader.get(0, timeColumn);
+        for (long i = 0; i < reader.getRecordCount(); i++) {
+            long wait = wallStart + (long) ((reader.get(i, timeColumn) - logStart) / speed * 1e9) - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+            }
+            graphRecord(i);
+        }
+    }
+}